@@ -0,0 +1,53 @@
+package benchmarks;
+
+import game.AIController;
+import game.IcyTerrain;
+import game.Move;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import objects.Penguin;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the greedy AI's decision (AIController.chooseMove and its chooseAIDirection scan)
+ * and the position index lookup (IcyTerrain.getPosition).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AIBenchmark {
+
+    @Param({"10", "25", "100"})
+    public int gridSize;
+
+    @Param({"0.0", "0.15", "0.4"})
+    public double hazardDensity;
+
+    @Param({"0.2"})
+    public double foodDensity;
+
+    private IcyTerrain terrain;
+    private Penguin[] penguins;
+    private final AIController ai = new AIController();
+    private final SplittableRandom random = new SplittableRandom(7);
+    private int next;
+
+    @Setup
+    public void setup() {
+        terrain = BoardFactory.build(gridSize, hazardDensity, foodDensity, 42);
+        penguins = terrain.getPenguins().toArray(new Penguin[0]);
+    }
+
+    @Benchmark
+    public Move chooseMove() {
+        return ai.chooseMove(terrain, penguins[next++ % penguins.length], random);
+    }
+
+    @Benchmark
+    public int[] getPosition() {
+        return terrain.getPosition(penguins[next++ % penguins.length]);
+    }
+}
@@ -0,0 +1,92 @@
+package benchmarks;
+
+import game.IcyTerrain;
+import game.NullOutput;
+import interfaces.ITerrainObject;
+import java.util.SplittableRandom;
+import objects.*;
+
+/**
+ * BoardFactory builds terrains of any size and density for the benchmarks.
+ * The game itself always places 15 hazards and 20 food items; here both are given as
+ * a fraction of the cells, so the engine can be measured on sparse and crowded boards.
+ * Layouts depend only on the seed.
+ */
+public final class BoardFactory {
+
+    private BoardFactory() {
+    }
+
+    /**
+     * Builds a terrain with three penguins on edge cells, then hazards, then food.
+     * @param gridSize The number of rows and columns
+     * @param hazardDensity Fraction of the cells holding a hazard (0-1)
+     * @param foodDensity Fraction of the cells holding food (0-1)
+     * @param seed The layout seed
+     * @return A terrain that writes to NullOutput
+     */
+    public static IcyTerrain build(int gridSize, double hazardDensity, double foodDensity, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        IcyTerrain terrain = new IcyTerrain(gridSize, NullOutput.INSTANCE);
+        int cells = gridSize * gridSize;
+
+        for (int i = 1; i <= IcyTerrain.PENGUIN_COUNT; i++) {
+            Penguin p = newPenguin(random.nextInt(4), "P" + i);
+            while (true) {
+                int row = random.nextInt(gridSize);
+                int col = random.nextInt(gridSize);
+                boolean isEdge = row == 0 || row == gridSize - 1 || col == 0 || col == gridSize - 1;
+                if (isEdge && terrain.getObjectAt(row, col) == null) {
+                    terrain.addPenguin(p, row, col);
+                    break;
+                }
+            }
+        }
+
+        int free = cells - IcyTerrain.PENGUIN_COUNT;
+        int hazards = Math.min(free, (int) Math.round(cells * hazardDensity));
+        int food = Math.min(free - hazards, (int) Math.round(cells * foodDensity));
+        place(terrain, random, hazards, true);
+        place(terrain, random, food, false);
+        return terrain;
+    }
+
+    /**
+     * Places objects on random empty cells
+     * @param terrain The terrain
+     * @param random The layout random source
+     * @param count Number of objects
+     * @param hazards true for hazards (equal chance of each type), false for food
+     */
+    private static void place(IcyTerrain terrain, SplittableRandom random, int count, boolean hazards) {
+        int size = terrain.getGridSize();
+        int placed = 0;
+        while (placed < count) {
+            int row = random.nextInt(size);
+            int col = random.nextInt(size);
+            if (terrain.getObjectAt(row, col) != null) continue;
+
+            ITerrainObject obj = hazards ? newHazard(random.nextInt(4)) : new Food(random);
+            terrain.placeObject(row, col, obj);
+            placed++;
+        }
+    }
+
+    private static ITerrainObject newHazard(int type) {
+        switch (type) {
+            case 0: return new LightIceBlock();
+            case 1: return new HeavyIceBlock();
+            case 2: return new SeaLion();
+            default: return new HoleInIce();
+        }
+    }
+
+    private static Penguin newPenguin(int type, String name) {
+        switch (type) {
+            case 0: return new KingPenguin(name);
+            case 1: return new EmperorPenguin(name);
+            case 2: return new RoyalPenguin(name);
+            default: return new RockhopperPenguin(name);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package benchmarks;
+
+import enums.Direction;
+import game.IcyTerrain;
+import game.NullOutput;
+import java.util.concurrent.TimeUnit;
+import objects.KingPenguin;
+import objects.LightIceBlock;
+import objects.Penguin;
+import objects.SeaLion;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures chain reactions through handleCollision. Every row holds a penguin in the first
+ * column followed by alternating LightIceBlocks and SeaLions with one free cell between
+ * them; sliding a penguin to the right pushes the whole chain. The chain length grows with
+ * the grid size and with the fraction of the row the chain fills.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CascadeBenchmark {
+
+    @Param({"10", "25", "100"})
+    public int gridSize;
+
+    @Param({"0.2", "0.5", "1.0"})
+    public double chainDensity;
+
+    private IcyTerrain terrain;
+    private Penguin penguin;
+
+    @Setup
+    public void setup() {
+        terrain = new IcyTerrain(gridSize, NullOutput.INSTANCE);
+        int links = Math.max(1, (int) ((gridSize - 1) / 2 * chainDensity));
+        penguin = new KingPenguin("P1");
+        terrain.addPenguin(penguin, 0, 0);
+        for (int i = 0; i < links; i++) {
+            int col = 2 + 2 * i;
+            if (col >= gridSize) break;
+            terrain.placeObject(0, col, i % 2 == 0 ? new LightIceBlock() : new SeaLion());
+        }
+    }
+
+    @Benchmark
+    public long cascade() {
+        int mark = terrain.makeMove(penguin, Direction.RIGHT, false);
+        long hash = terrain.getHash();
+        terrain.unmakeMove(mark);
+        return hash;
+    }
+}
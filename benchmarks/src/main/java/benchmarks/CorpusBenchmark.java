@@ -0,0 +1,71 @@
+package benchmarks;
+
+import game.BoardCodec;
+import game.BoardCorpus;
+import game.IcyTerrain;
+import game.NullOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures loading a random board from a memory-mapped BoardCorpus against generating it
+ * with BoardFactory, and the raw slot read alone. The corpus is written to a temporary file
+ * once per trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorpusBenchmark {
+
+    @Param({"10", "50"})
+    public int gridSize;
+
+    @Param({"100000"})
+    public int boards;
+
+    private Path file;
+    private BoardCorpus corpus;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("boards", ".pbc");
+        int objects = (int) Math.round(gridSize * gridSize * 0.35) + IcyTerrain.PENGUIN_COUNT;
+        try (BoardCorpus.Writer writer = new BoardCorpus.Writer(file, gridSize,
+                BoardCorpus.strideFor(BoardCodec.maxEncodedSize(gridSize, objects)))) {
+            for (int i = 0; i < boards; i++) {
+                writer.add(BoardFactory.build(gridSize, 0.15, 0.2, i));
+            }
+        }
+        corpus = new BoardCorpus(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        corpus.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public IcyTerrain loadBoard() {
+        return corpus.load(random.nextLong(boards), NullOutput.INSTANCE);
+    }
+
+    @Benchmark
+    public IcyTerrain generateBoard() {
+        return BoardFactory.build(gridSize, 0.15, 0.2, seed++);
+    }
+
+    @Benchmark
+    public byte[] readSlot() {
+        return corpus.readSlot(random.nextLong(boards));
+    }
+}
@@ -0,0 +1,56 @@
+package benchmarks;
+
+import enums.RenderLevel;
+import game.AIController;
+import game.GameEngine;
+import game.GameResult;
+import game.NullOutput;
+import interfaces.IPenguinController;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures a full headless game through GameEngine: three greedy AIs on BoardFactory boards
+ * of every grid size and density, messages to NullOutput and rendering turned off
+ * (renderEveryMove adds the default per-move frames). Unlike GameBenchmark, the engine's
+ * own loop runs, with journaling, metrics and rendering hooks. Every invocation plays a new seed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmark {
+
+    @Param({"10", "25", "100"})
+    public int gridSize;
+
+    @Param({"0.0", "0.15", "0.4"})
+    public double hazardDensity;
+
+    @Param({"0.2"})
+    public double foodDensity;
+
+    private final AIController ai = new AIController();
+    private long seed;
+
+    @Benchmark
+    public GameResult headlessGame() {
+        return play(RenderLevel.NONE);
+    }
+
+    @Benchmark
+    public GameResult renderEveryMove() {
+        return play(RenderLevel.EVERY_MOVE);
+    }
+
+    private GameResult play(RenderLevel level) {
+        IPenguinController[] controllers = {ai, ai, ai};
+        GameEngine engine = new GameEngine(gridSize, controllers, NullOutput.INSTANCE);
+        engine.setRenderLevel(level);
+        long gameSeed = seed++;
+        engine.newGame(BoardFactory.build(gridSize, hazardDensity, foodDensity, gameSeed), gameSeed);
+        return engine.runToEnd();
+    }
+}
@@ -0,0 +1,63 @@
+package benchmarks;
+
+import game.AIController;
+import game.GameEngine;
+import game.IcyTerrain;
+import game.Move;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import objects.Penguin;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures full headless games between three greedy AIs, played with the engine's turn
+ * loop on BoardFactory boards of every grid size and density. Every invocation plays a new
+ * layout. EngineBenchmark plays the same boards through GameEngine itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+
+    @Param({"10", "25", "100"})
+    public int gridSize;
+
+    @Param({"0.0", "0.15", "0.4"})
+    public double hazardDensity;
+
+    @Param({"0.2"})
+    public double foodDensity;
+
+    private final AIController ai = new AIController();
+    private long seed;
+
+    @Benchmark
+    public int game() {
+        long gameSeed = seed++;
+        IcyTerrain terrain = BoardFactory.build(gridSize, hazardDensity, foodDensity, gameSeed);
+        SplittableRandom random = new SplittableRandom(gameSeed);
+        List<Penguin> penguins = terrain.getPenguins();
+
+        for (int turn = 1; turn <= GameEngine.MAX_TURNS; turn++) {
+            for (Penguin p : penguins) {
+                if (!p.isActive()) continue;
+                if (p.isStunned()) {
+                    terrain.clearStun(p);
+                    continue;
+                }
+                Move move = ai.chooseMove(terrain, p, random);
+                terrain.applyMove(p, move.getDirection(), move.isUseAbility());
+            }
+        }
+
+        int total = 0;
+        for (Penguin p : penguins) {
+            total += p.getTotalWeight();
+        }
+        return total;
+    }
+}
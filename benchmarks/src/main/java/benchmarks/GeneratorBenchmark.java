@@ -0,0 +1,56 @@
+package benchmarks;
+
+import game.BoardGenerator;
+import game.IcyTerrain;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures board generation in boards per second: BoardGenerator's bulk path (encoded boards,
+ * in parallel) and single boards built as terrains. Density is the fraction of cells holding
+ * a hazard or food item; hazards take 45% of it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    private static final int BULK_BOARDS = 8 * BoardGenerator.CHUNK_SIZE;
+
+    @Param({"10", "100"})
+    public int gridSize;
+
+    @Param({"0.35", "0.95"})
+    public double density;
+
+    @Param({"0", "5"})
+    public int minReachableFood;
+
+    private BoardGenerator generator;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private long seed;
+
+    @Setup
+    public void setup() {
+        double hazards = density * 0.45;
+        generator = new BoardGenerator(gridSize, IcyTerrain.PENGUIN_COUNT, hazards, density - hazards, minReachableFood);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_BOARDS)
+    public long generateBulk() throws IOException {
+        long[] bytes = {0};
+        generator.generate(BULK_BOARDS, seed++, layout -> bytes[0] += layout.length);
+        return bytes[0];
+    }
+
+    @Benchmark
+    public IcyTerrain generateTerrain() {
+        return generator.generate(random);
+    }
+}
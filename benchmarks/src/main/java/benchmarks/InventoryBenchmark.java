@@ -0,0 +1,58 @@
+package benchmarks;
+
+import game.IcyTerrain;
+import java.util.concurrent.TimeUnit;
+import objects.Food;
+import objects.Penguin;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures inventory scoring and penalty removal on large inventories: one penguin eats every
+ * food item of a BoardFactory board, so the inventory size and weights follow the grid size
+ * and food density (from 5 items up to about 100000).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryBenchmark {
+
+    @Param({"10", "100", "400"})
+    public int gridSize;
+
+    @Param({"0.15"})
+    public double hazardDensity;
+
+    @Param({"0.05", "0.2", "0.6"})
+    public double foodDensity;
+
+    private Penguin penguin;
+
+    @Setup
+    public void setup() {
+        IcyTerrain terrain = BoardFactory.build(gridSize, hazardDensity, foodDensity, 42);
+        penguin = terrain.getPenguins().get(0);
+        for (int row = 0; row < gridSize; row++) {
+            for (int col = 0; col < gridSize; col++) {
+                if (terrain.getObjectAt(row, col) instanceof Food food) {
+                    penguin.eatFood(food);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int getTotalWeight() {
+        return penguin.getTotalWeight();
+    }
+
+    @Benchmark
+    public Food removeLightestFood() {
+        // Undone right away so every invocation sees the same inventory
+        Food lost = penguin.removeLightestFood();
+        penguin.restoreFood(lost);
+        return lost;
+    }
+}
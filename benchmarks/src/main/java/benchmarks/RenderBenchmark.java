@@ -0,0 +1,59 @@
+package benchmarks;
+
+import game.ConsoleOutput;
+import game.IcyTerrain;
+import game.TerrainRenderer;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures drawing the grid: printTerrain into NullOutput (frame building only), a plain frame
+ * through a PrintStream on a null stream (with character encoding), and an ANSI differential
+ * frame of an unchanged board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+
+    @Param({"10", "25", "100"})
+    public int gridSize;
+
+    @Param({"0.0", "0.15", "0.4"})
+    public double hazardDensity;
+
+    @Param({"0.2"})
+    public double foodDensity;
+
+    private IcyTerrain terrain;
+    private ConsoleOutput nullStream;
+    private final TerrainRenderer plain = new TerrainRenderer(false);
+    private final TerrainRenderer ansi = new TerrainRenderer(true);
+
+    @Setup
+    public void setup() {
+        terrain = BoardFactory.build(gridSize, hazardDensity, foodDensity, 42);
+        nullStream = new ConsoleOutput(new PrintStream(OutputStream.nullOutputStream()));
+        ansi.render(terrain, nullStream); // First ANSI frame is a full draw
+    }
+
+    @Benchmark
+    public void printTerrain() {
+        terrain.printTerrain();
+    }
+
+    @Benchmark
+    public void plainToNullStream() {
+        plain.render(terrain, nullStream);
+    }
+
+    @Benchmark
+    public void ansiUnchanged() {
+        ansi.render(terrain, nullStream);
+    }
+}
@@ -0,0 +1,62 @@
+package benchmarks;
+
+import enums.Direction;
+import game.IcyTerrain;
+import java.util.concurrent.TimeUnit;
+import objects.Penguin;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures one penguin slide (IcyTerrain.simulateSlide through applyMove), including the
+ * collisions it runs into. Each operation is a makeMove followed by unmakeMove, so the board
+ * stays the same for every invocation; hazardDensity 0 gives empty rows that end in the water.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlideBenchmark {
+
+    @Param({"10", "25", "100"})
+    public int gridSize;
+
+    @Param({"0.0", "0.15", "0.4"})
+    public double hazardDensity;
+
+    @Param({"0.2"})
+    public double foodDensity;
+
+    private IcyTerrain terrain;
+    private Penguin[] penguins;
+    private int next; // Cycles through penguins and directions
+
+    @Setup
+    public void setup() {
+        terrain = BoardFactory.build(gridSize, hazardDensity, foodDensity, 42);
+        penguins = terrain.getPenguins().toArray(new Penguin[0]);
+    }
+
+    @Benchmark
+    public long slide() {
+        Penguin p = penguins[next % penguins.length];
+        Direction dir = Direction.values()[(next / penguins.length) & 3];
+        next++;
+        int mark = terrain.makeMove(p, dir, false);
+        long hash = terrain.getHash();
+        terrain.unmakeMove(mark);
+        return hash;
+    }
+
+    @Benchmark
+    public long slideWithAbility() {
+        Penguin p = penguins[next % penguins.length];
+        Direction dir = Direction.values()[(next / penguins.length) & 3];
+        next++;
+        int mark = terrain.makeMove(p, dir, true);
+        long hash = terrain.getHash();
+        terrain.unmakeMove(mark);
+        return hash;
+    }
+}
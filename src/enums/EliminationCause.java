@@ -0,0 +1,16 @@
+package enums;
+
+/**
+ * EliminationCause enum records how a penguin left the game.
+ */
+public enum EliminationCause {
+    /**
+     * Slid, stepped or jumped off the grid into the water
+     */
+    WATER,
+
+    /**
+     * Fell into an unplugged HoleInIce
+     */
+    HOLE
+}
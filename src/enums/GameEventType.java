@@ -0,0 +1,113 @@
+package enums;
+
+/**
+ * GameEventType names what happened in a game event published by IcyTerrain.
+ * The actor is the object the event is about; the target, when there is one, is the
+ * other object involved.
+ */
+public enum GameEventType {
+    /**
+     * A penguin starts a move (direction and ability flag set; no text)
+     */
+    MOVE,
+
+    /**
+     * A penguin starts its special ability
+     */
+    ABILITY,
+
+    /**
+     * A King or Emperor reached its step limit and stopped
+     */
+    ABILITY_STOP,
+
+    /**
+     * A Royal Walk step is blocked by the target
+     */
+    STEP_BLOCKED,
+
+    /**
+     * A Royal Walk step succeeded and the penguin slides on
+     */
+    STEP_SLIDE,
+
+    /**
+     * A Royal Walk step left the grid
+     */
+    STEP_OUT,
+
+    /**
+     * A Rockhopper found no hazard to jump over and slides normally
+     */
+    JUMP_NO_HAZARD,
+
+    /**
+     * A Rockhopper jumped over the target hazard
+     */
+    JUMP,
+
+    /**
+     * A Rockhopper jumped over the target hazard into the water
+     */
+    JUMP_INTO_WATER,
+
+    /**
+     * A Rockhopper's landing spot is taken by the target; it slides normally
+     */
+    JUMP_BLOCKED,
+
+    /**
+     * A slide was stopped by the chain reaction limit
+     */
+    CASCADE_LIMIT,
+
+    /**
+     * The actor fell off the grid or into a hole (cause set)
+     */
+    FALL,
+
+    /**
+     * A sliding hazard crushed the target food
+     */
+    CRUSH,
+
+    /**
+     * The actor slid into the target
+     */
+    COLLISION,
+
+    /**
+     * A penguin lost the target food to a HeavyIceBlock (no target if it had none)
+     */
+    PENALTY,
+
+    /**
+     * The actor plugged the target hole
+     */
+    PLUG,
+
+    /**
+     * The actor hit the target sea lion, which bounces away
+     */
+    BOUNCE,
+
+    /**
+     * The actor penguin hit the target penguin, which starts sliding
+     */
+    PUSH,
+
+    /**
+     * A penguin was eliminated (cause set)
+     */
+    ELIMINATION,
+
+    /**
+     * A penguin was stunned and will skip its next turn
+     */
+    STUN,
+
+    /**
+     * A penguin ate the target food
+     */
+    PICKUP
+}
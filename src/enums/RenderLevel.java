@@ -0,0 +1,26 @@
+package enums;
+
+/**
+ * RenderLevel enum controls how often the game engine draws the grid.
+ */
+public enum RenderLevel {
+    /**
+     * Draw the grid after every penguin's move, including stunned skips
+     */
+    EVERY_MOVE,
+
+    /**
+     * Draw the grid once at the end of each turn
+     */
+    EVERY_TURN,
+
+    /**
+     * Draw only the final grid
+     */
+    FINAL_ONLY,
+
+    /**
+     * Never draw the grid (headless batch runs)
+     */
+    NONE
+}
@@ -0,0 +1,126 @@
+package game;
+
+import enums.Direction;
+import interfaces.IPenguinController;
+import interfaces.ITerrainObject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import objects.Penguin;
+import objects.RockhopperPenguin;
+
+/**
+ * AIController is the default computer opponent.
+ * AI prioritizes: Food > Hazards (to stop safely) > Random direction
+ * AI has a 30% chance of using special ability each turn.
+ * Exception: RockhopperPenguin auto-uses ability when moving toward hazard.
+ */
+public class AIController implements IPenguinController {
+
+    private static final int AI_ABILITY_CHANCE = 30; // 30% chance for AI to use special ability
+
+    /**
+     * Chooses the AI penguin's move.
+     * @param terrain The current terrain
+     * @param p The AI penguin
+     * @param random The game's random source
+     * @return The chosen move
+     */
+    @Override
+    public Move chooseMove(IcyTerrain terrain, Penguin p, SplittableRandom random) {
+        return chooseMove(terrain, p, random, new DirectionScan(terrain, p));
+    }
+
+    /**
+     * Chooses the AI penguin's move from a scan taken earlier (see DirectionScan).
+     * With a current scan, the move is the same as chooseMove without one.
+     * @param terrain The current terrain
+     * @param p The AI penguin
+     * @param random The game's random source
+     * @param scan What the penguin sees in each direction
+     * @return The chosen move
+     */
+    public Move chooseMove(IcyTerrain terrain, Penguin p, SplittableRandom random, DirectionScan scan) {
+        // Decide whether to use special ability (30% chance, except for Rockhopper special case)
+        boolean useAbility = false;
+
+        if (!p.hasUsedSpecialAbility() && random.nextInt(100) < AI_ABILITY_CHANCE) {
+            useAbility = true;
+        }
+
+        // Choose direction based on AI logic
+        CollisionTable rules = terrain.getCollisionTable();
+        Direction chosenDirection = chooseAIDirection(scan, rules, random);
+
+        // Special case: RockhopperPenguin auto-uses ability when moving toward hazard
+        if (p instanceof RockhopperPenguin && !p.hasUsedSpecialAbility()) {
+            if (hasHazardInDirection(scan, rules, chosenDirection)) {
+                useAbility = true;
+                terrain.getOutput().println(p.getSymbol() + " will automatically USE its special action.");
+            }
+        }
+
+        return new Move(chosenDirection, useAbility);
+    }
+
+    /**
+     * AI decision making: chooses the best direction to move.
+     * Priority: Food > Hazard (to stop) > Random
+     * @param scan What the penguin sees in each direction
+     * @param rules The terrain's collision rules, which tell hazards apart
+     * @param random The game's random source
+     * @return The chosen direction
+     */
+    private Direction chooseAIDirection(DirectionScan scan, CollisionTable rules, SplittableRandom random) {
+        Direction[] directions = Direction.values();
+        List<Direction> directionsWithFood = new ArrayList<>();
+        List<Direction> directionsWithHazard = new ArrayList<>();
+
+        if (!scan.isOnGrid()) return directions[0]; // Fallback
+
+        // Sort the directions by the first object in each
+        for (Direction d : directions) {
+            classifyDirection(scan, rules, d, directionsWithFood, directionsWithHazard);
+        }
+
+        // Choose best direction based on priority
+        if (!directionsWithFood.isEmpty()) {
+            return directionsWithFood.get(random.nextInt(directionsWithFood.size()));
+        } else if (!directionsWithHazard.isEmpty()) {
+            return directionsWithHazard.get(random.nextInt(directionsWithHazard.size()));
+        } else {
+            return directions[random.nextInt(directions.length)];
+        }
+    }
+
+    /**
+     * Adds a direction to the food or hazard list, by the first object in it.
+     * @param scan What the penguin sees in each direction
+     * @param rules The terrain's collision rules
+     * @param dir The direction
+     * @param foodDirs List to add direction if food is found
+     * @param hazardDirs List to add direction if hazard is found
+     */
+    private void classifyDirection(DirectionScan scan, CollisionTable rules, Direction dir,
+                                   List<Direction> foodDirs, List<Direction> hazardDirs) {
+        // Only the first object along the direction matters
+        byte kind = scan.getKind(dir);
+        if (kind == ITerrainObject.FOOD) {
+            foodDirs.add(dir);
+        } else if (kind == ITerrainObject.PENGUIN || rules.isHazard(kind)) {
+            hazardDirs.add(dir);
+        }
+    }
+
+    /**
+     * Checks if there's a hazard in the given direction (for Rockhopper AI).
+     * @param scan What the penguin sees in each direction
+     * @param rules The terrain's collision rules
+     * @param dir The direction to check
+     * @return true if a hazard exists in that direction
+     */
+    private boolean hasHazardInDirection(DirectionScan scan, CollisionTable rules, Direction dir) {
+        // A penguin or food in front hides anything behind it
+        return rules.isHazard(scan.getKind(dir));
+    }
+}
@@ -0,0 +1,258 @@
+package game;
+
+import interfaces.IOutputSink;
+import interfaces.IPenguinController;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import objects.Penguin;
+
+/**
+ * ArenaEngine runs the large-scale variant of the game: a big grid with thousands of
+ * penguins, hazards and food, all penguins driven by one controller.
+ * It is the scale test of the engine, so it keeps per-turn work proportional to the
+ * penguins still playing: a TurnScheduler listens to the terrain and hands out slots,
+ * and the terrain is generated with a FreeCellSampler.
+ *
+ * Moves follow the normal rules and turn order; only the per-move narration of GameEngine
+ * (turn headers, AI decisions, grid frames) is left out. Terrain messages still go to the
+ * output sink, which is usually NullOutput.
+ *
+ * With parallel planning (AIController only), every round starts by taking the DirectionScan
+ * of all penguins concurrently on the common fork-join pool, while the board stands still.
+ * Moves are then applied one by one as usual; a penguin whose scanned rays were written in
+ * the meantime is scanned again first. Random draws stay on the game's thread, in turn order,
+ * so a seed plays exactly the same game with or without planning.
+ *
+ * Usage: java game.ArenaEngine [size] [penguins] [hazards] [food] [turns] [seed] [parallel]
+ */
+public class ArenaEngine {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    public static final int DEFAULT_MAX_TURNS = 10;
+    private static final int DEFAULT_SIZE = 1000;
+    private static final int DEFAULT_PENGUINS = 5000;
+    private static final int DEFAULT_HAZARDS = 50_000;
+    private static final int DEFAULT_FOOD = 100_000;
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final int gridSize;
+    private final int penguinCount;
+    private final int hazardCount;
+    private final int foodCount;
+    private final IPenguinController controller; // Drives every penguin
+    private final IOutputSink output; // Destination of the terrain's messages
+    private IcyTerrain terrain; // The current arena
+    private TurnScheduler scheduler; // Turn order of the current arena
+    private SplittableRandom random; // The current arena's random source
+    private int turn; // Turns completed so far
+    private long moves; // Moves played so far (skipped turns not included)
+    private boolean parallelPlanning; // Whether rounds start with concurrent scans
+    private DirectionScan[] scans; // Scans of the current round by penguin index, null if none
+    private int[] roundSlots; // Penguin indices planned for the current round
+    private long replans; // Planned scans that were out of date when used
+
+    // ============================================================================
+    // CONSTRUCTOR
+    // ============================================================================
+
+    /**
+     * Creates an arena engine.
+     * @param gridSize The number of rows and columns of the grid
+     * @param penguinCount Number of penguins
+     * @param hazardCount Number of hazards
+     * @param foodCount Number of food items
+     * @param controller The controller of every penguin; must not keep per-penguin state
+     * @param output The sink that receives the terrain's messages
+     */
+    public ArenaEngine(int gridSize, int penguinCount, int hazardCount, int foodCount,
+                       IPenguinController controller, IOutputSink output) {
+        this.gridSize = gridSize;
+        this.penguinCount = penguinCount;
+        this.hazardCount = hazardCount;
+        this.foodCount = foodCount;
+        this.controller = controller;
+        this.output = output;
+    }
+
+    // ============================================================================
+    // GAME LIFECYCLE
+    // ============================================================================
+
+    /**
+     * Generates a new arena. The same seed always reproduces the same arena and game.
+     * @param seed The seed of the arena's random source
+     */
+    public void newGame(long seed) {
+        random = new SplittableRandom(seed);
+        terrain = new IcyTerrain(gridSize, output);
+        terrain.populateArena(random, penguinCount, hazardCount, foodCount);
+        scheduler = new TurnScheduler(terrain.getPenguins());
+        terrain.setPenguinListener(scheduler);
+        turn = 0;
+        moves = 0;
+        replans = 0;
+        scans = new DirectionScan[penguinCount];
+        roundSlots = new int[penguinCount];
+    }
+
+    /**
+     * Plays one full turn: every penguin still in the game moves or skips once, in turn order.
+     * @return true if any penguin is left for the next turn
+     */
+    public boolean playTurn() {
+        List<Penguin> penguins = terrain.getPenguins();
+        AIController planner = parallelPlanning && controller instanceof AIController ? (AIController) controller : null;
+        if (planner != null) {
+            planRound(penguins);
+        }
+
+        int turnBase = turn * penguins.size();
+        int index;
+        while ((index = scheduler.nextSlot()) >= 0) {
+            Penguin p = penguins.get(index);
+            terrain.setTurnIndex(turnBase + index);
+            if (scheduler.isSkip(index)) {
+                terrain.clearStun(p);
+                scheduler.wake(index);
+                continue;
+            }
+
+            controller.beginTurn(turn + 1, Integer.MAX_VALUE);
+            Move move;
+            if (planner != null) {
+                DirectionScan scan = scans[index];
+                scans[index] = null;
+                if (scan == null || !scan.isCurrent(terrain)) {
+                    scan = new DirectionScan(terrain, p);
+                    replans++;
+                }
+                move = planner.chooseMove(terrain, p, random, scan);
+            } else {
+                move = controller.chooseMove(terrain, p, random);
+            }
+            terrain.applyMove(p, move.getDirection(), move.isUseAbility());
+            moves++;
+        }
+        turn++;
+        return scheduler.nextTurn();
+    }
+
+    /**
+     * Scans the surroundings of every penguin with a slot this round, concurrently.
+     * The terrain is not written while the scans run. The first planned round makes the
+     * terrain track writes, so that later moves can tell which scans are still current.
+     * @param penguins All penguins, in turn order
+     */
+    private void planRound(List<Penguin> penguins) {
+        terrain.trackWrites();
+        int count = scheduler.peekSlots(roundSlots);
+        IntStream.range(0, count).parallel().forEach(i -> {
+            int index = roundSlots[i];
+            if (!scheduler.isSkip(index)) {
+                scans[index] = new DirectionScan(terrain, penguins.get(index));
+            }
+        });
+    }
+
+    /**
+     * Plays turns until the turn limit or until every penguin is out.
+     * @param maxTurns The number of turns to play at most
+     * @return The result of the arena
+     */
+    public GameResult runToEnd(int maxTurns) {
+        while (turn < maxTurns && playTurn()) {
+            // Keep playing
+        }
+        return new GameResult(terrain.getPenguins());
+    }
+
+    // ============================================================================
+    // GETTERS
+    // ============================================================================
+
+    /**
+     * Enables or disables parallel planning for the following rounds (AIController only)
+     * @param parallelPlanning true to scan all penguins concurrently at the start of each round
+     */
+    public void setParallelPlanning(boolean parallelPlanning) {
+        this.parallelPlanning = parallelPlanning;
+    }
+
+    /**
+     * Gets the number of planned scans that had to be taken again because the board changed
+     * @return The re-plan count of the current arena
+     */
+    public long getReplans() {
+        return replans;
+    }
+
+    /**
+     * Gets the current arena's terrain
+     * @return The terrain, or null before the first newGame
+     */
+    public IcyTerrain getTerrain() {
+        return terrain;
+    }
+
+    /**
+     * Gets the current arena's turn scheduler
+     * @return The scheduler, or null before the first newGame
+     */
+    public TurnScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Gets the number of turns completed
+     * @return The turn count
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Gets the number of moves played, skipped turns not included
+     * @return The move count
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * Runs one silent AI arena from the command line and prints its statistics.
+     * @param args Grid size, penguins, hazards, food, turns and seed (all optional)
+     */
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+        int penguins = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PENGUINS;
+        int hazards = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_HAZARDS;
+        int food = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_FOOD;
+        int turns = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_MAX_TURNS;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+        boolean parallel = args.length > 6 && Boolean.parseBoolean(args[6]);
+
+        ArenaEngine arena = new ArenaEngine(size, penguins, hazards, food, new AIController(), NullOutput.INSTANCE);
+        arena.setParallelPlanning(parallel);
+        long start = System.nanoTime();
+        arena.newGame(seed);
+        long generated = System.nanoTime();
+        GameResult result = arena.runToEnd(turns);
+        long end = System.nanoTime();
+
+        System.out.println("Arena " + size + "x" + size + ": " + penguins + " penguins, " + hazards + " hazards, " + food + " food");
+        System.out.println("Generation: " + (generated - start) / 1_000_000 + " ms");
+        System.out.println("Turns: " + arena.getTurn() + ", moves: " + arena.getMoves()
+                + ", elapsed: " + (end - generated) / 1_000_000 + " ms");
+        if (parallel) {
+            System.out.println("Re-planned: " + arena.getReplans() + " of " + arena.getMoves() + " moves");
+        }
+        System.out.println("Penguins left: " + arena.getScheduler().getActiveCount()
+                + ", winning weight: " + result.getWinningWeight());
+        System.out.println("Seed: " + seed);
+    }
+}
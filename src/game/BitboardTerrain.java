@@ -0,0 +1,758 @@
+package game;
+
+import enums.Direction;
+import enums.FoodType;
+import interfaces.ITerrainObject;
+import java.util.List;
+import objects.*;
+
+/**
+ * BitboardTerrain is an alternate engine for the standard 10x10 game, meant for search-based AIs.
+ * Every object class is a 128-bit bitboard stored as two longs (cells 0-63 in the low word,
+ * cells 64-99 in the high word, cell = row * 10 + col). Food weights and types live in small
+ * side arrays, and penguin state lives in parallel primitive arrays.
+ *
+ * Slides, collisions and AI ray scans are resolved with bit operations, following exactly the
+ * rules of IcyTerrain.simulateSlide, simulateSlideWithLimit, the special abilities and
+ * handleCollision, including the chain reaction limit. No text is produced.
+ *
+ * Only the built-in object kinds and collision rules are modeled: a terrain holding a custom
+ * kind, or created after a rule was registered in CollisionTable, cannot be encoded (see supports).
+ *
+ * Instances are cheap to copy, which makes them suitable for tree search. Each instance keeps
+ * the Zobrist hash of its state, equal to IcyTerrain.getHash() without the turn index key.
+ */
+public class BitboardTerrain {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    public static final int SIZE = 10;
+    public static final int CELLS = SIZE * SIZE;
+
+    /** Object classes; each has its own bitboard */
+    public static final int PENGUIN = 0;
+    public static final int FOOD = 1;
+    public static final int LIGHT_ICE = 2;
+    public static final int HEAVY_ICE = 3;
+    public static final int SEA_LION = 4;
+    public static final int HOLE = 5;
+    public static final int PLUGGED_HOLE = 6;
+    private static final int KINDS = 7;
+    /** Returned by kindAt for an empty cell */
+    public static final int EMPTY = -1;
+
+    /** Penguin types, numbered as IcyTerrain.penguinType */
+    public static final int KING = 0;
+    public static final int EMPEROR = 1;
+    public static final int ROYAL = 2;
+    public static final int ROCKHOPPER = 3;
+
+    private static final int MAX_FOOD_WEIGHT = FoodInventory.MAX_WEIGHT;
+    /** ZobristKeys content code of each hazard class */
+    private static final int[] ZOBRIST_CODE = {
+        0, 0, ZobristKeys.LIGHT_ICE, ZobristKeys.HEAVY_ICE, ZobristKeys.SEA_LION, ZobristKeys.HOLE, ZobristKeys.PLUGGED_HOLE
+    };
+
+    /** RAY_LO/RAY_HI[dir * CELLS + cell]: the cells strictly beyond cell in direction dir */
+    private static final long[] RAY_LO = new long[4 * CELLS];
+    private static final long[] RAY_HI = new long[4 * CELLS];
+    /** Cell index step per direction ordinal */
+    private static final int[] STEP = new int[4];
+    /** EDGE_DISTANCE[dir * CELLS + cell]: cells that can be entered before leaving the grid */
+    private static final int[] EDGE_DISTANCE = new int[4 * CELLS];
+
+    static {
+        for (Direction dir : Direction.values()) {
+            int[] delta = IcyTerrain.getDirectionDelta(dir);
+            int d = dir.ordinal();
+            STEP[d] = delta[0] * SIZE + delta[1];
+            for (int cell = 0; cell < CELLS; cell++) {
+                int row = cell / SIZE + delta[0];
+                int col = cell % SIZE + delta[1];
+                int distance = 0;
+                while (row >= 0 && row < SIZE && col >= 0 && col < SIZE) {
+                    int target = row * SIZE + col;
+                    if (target < 64) {
+                        RAY_LO[d * CELLS + cell] |= 1L << target;
+                    } else {
+                        RAY_HI[d * CELLS + cell] |= 1L << (target - 64);
+                    }
+                    distance++;
+                    row += delta[0];
+                    col += delta[1];
+                }
+                EDGE_DISTANCE[d * CELLS + cell] = distance;
+            }
+        }
+    }
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final long[] lo = new long[KINDS]; // Low words of each class bitboard
+    private final long[] hi = new long[KINDS]; // High words of each class bitboard
+    private final byte[] foodWeight = new byte[CELLS]; // Weight of the food on a cell (0 if none)
+    private final byte[] foodType = new byte[CELLS]; // FoodType ordinal of the food on a cell
+
+    private final int penguinCount;
+    private final byte[] penguinType; // KING, EMPEROR, ROYAL or ROCKHOPPER
+    private final int[] penguinCell; // Cell of each penguin, -1 once it left the grid
+    private final boolean[] active;
+    private final boolean[] stunned;
+    private final boolean[] abilityUsed;
+    private final int[] score; // Total food weight of each penguin
+    private final int[] inventory; // inventory[p * 6 + w]: number of items of weight w held by p
+    private final int cascadeLimit; // Same cut-off as the source IcyTerrain
+    private int cascadeDepth; // Depth of the slide being resolved in the current chain reaction (0 = none)
+    private SlideStack pendingSlides; // Slides the current chain reaction still has to resolve, created on first use
+    private boolean resolving; // Whether the resolver loop is running
+    private long hash; // Zobrist hash of the state, without the turn index
+
+    // ============================================================================
+    // CONSTRUCTORS
+    // ============================================================================
+
+    /**
+     * Checks whether a terrain can be encoded: it is 10x10, plays by the built-in collision
+     * rules and holds built-in object kinds only
+     * @param terrain The terrain
+     * @return true if the constructor accepts it
+     */
+    public static boolean supports(IcyTerrain terrain) {
+        if (terrain.getGridSize() != SIZE || !terrain.getCollisionTable().isBuiltIn()) {
+            return false;
+        }
+        for (int cell = 0; cell < CELLS; cell++) {
+            ITerrainObject obj = terrain.getObjectAt(cell / SIZE, cell % SIZE);
+            if (obj != null && obj.getKind() >= ITerrainObject.FIRST_CUSTOM_KIND) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes the current state of a 10x10 IcyTerrain.
+     * @param terrain The terrain to encode
+     * @throws IllegalArgumentException if the terrain is not supported (see supports)
+     */
+    public BitboardTerrain(IcyTerrain terrain) {
+        if (!supports(terrain)) {
+            throw new IllegalArgumentException("Bitboards only support " + SIZE + "x" + SIZE
+                    + " terrains with the built-in objects and collision rules");
+        }
+
+        List<Penguin> penguins = terrain.getPenguins();
+        cascadeLimit = terrain.getCascadeLimit();
+        penguinCount = penguins.size();
+        penguinType = new byte[penguinCount];
+        penguinCell = new int[penguinCount];
+        active = new boolean[penguinCount];
+        stunned = new boolean[penguinCount];
+        abilityUsed = new boolean[penguinCount];
+        score = new int[penguinCount];
+        inventory = new int[penguinCount * (MAX_FOOD_WEIGHT + 1)];
+
+        for (int p = 0; p < penguinCount; p++) {
+            Penguin penguin = penguins.get(p);
+            penguinType[p] = (byte) IcyTerrain.penguinType(penguin);
+            int[] pos = terrain.getPosition(penguin);
+            penguinCell[p] = pos == null ? -1 : pos[0] * SIZE + pos[1];
+            active[p] = penguin.isActive();
+            stunned[p] = penguin.isStunned();
+            abilityUsed[p] = penguin.hasUsedSpecialAbility();
+            FoodInventory held = penguin.getFoodInventory();
+            for (int w = 1; w <= MAX_FOOD_WEIGHT; w++) {
+                inventory[p * (MAX_FOOD_WEIGHT + 1) + w] = held.countByWeight(w);
+            }
+            score[p] = held.getTotalWeight();
+        }
+
+        for (int cell = 0; cell < CELLS; cell++) {
+            ITerrainObject obj = terrain.getObjectAt(cell / SIZE, cell % SIZE);
+            if (obj == null) continue;
+
+            switch (obj.getKind()) {
+                case ITerrainObject.PENGUIN:
+                    setBit(PENGUIN, cell);
+                    break;
+                case ITerrainObject.FOOD: {
+                    Food food = (Food) obj;
+                    setBit(FOOD, cell);
+                    foodWeight[cell] = (byte) food.getWeight();
+                    foodType[cell] = (byte) food.getType().ordinal();
+                    break;
+                }
+                case ITerrainObject.LIGHT_ICE:
+                    setBit(LIGHT_ICE, cell);
+                    break;
+                case ITerrainObject.HEAVY_ICE:
+                    setBit(HEAVY_ICE, cell);
+                    break;
+                case ITerrainObject.SEA_LION:
+                    setBit(SEA_LION, cell);
+                    break;
+                case ITerrainObject.HOLE:
+                    setBit(((HoleInIce) obj).isPlugged() ? PLUGGED_HOLE : HOLE, cell);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported terrain object: " + obj.getSymbol());
+            }
+        }
+        hash = terrain.getHash() ^ ZobristKeys.turn(terrain.getTurnIndex());
+    }
+
+    /**
+     * Creates an independent copy of another bitboard state.
+     * @param other The state to copy
+     */
+    public BitboardTerrain(BitboardTerrain other) {
+        System.arraycopy(other.lo, 0, lo, 0, KINDS);
+        System.arraycopy(other.hi, 0, hi, 0, KINDS);
+        System.arraycopy(other.foodWeight, 0, foodWeight, 0, CELLS);
+        System.arraycopy(other.foodType, 0, foodType, 0, CELLS);
+        cascadeLimit = other.cascadeLimit;
+        penguinCount = other.penguinCount;
+        penguinType = other.penguinType.clone();
+        penguinCell = other.penguinCell.clone();
+        active = other.active.clone();
+        stunned = other.stunned.clone();
+        abilityUsed = other.abilityUsed.clone();
+        score = other.score.clone();
+        inventory = other.inventory.clone();
+        hash = other.hash;
+    }
+
+    // ============================================================================
+    // MOVES
+    // ============================================================================
+
+    /**
+     * Executes one penguin move, as IcyTerrain.applyMove does.
+     * @param p The penguin index (turn order)
+     * @param dir The direction to move
+     * @param useAbility true to use the special ability (ignored if already used)
+     */
+    public void applyMove(int p, Direction dir, boolean useAbility) {
+        if (useAbility && !abilityUsed[p]) {
+            abilityUsed[p] = true;
+            hash ^= ZobristKeys.flag(p, ZobristKeys.ABILITY_USED);
+            switch (penguinType[p]) {
+                case KING:       slideWithLimit(p, dir, 5); break;
+                case EMPEROR:    slideWithLimit(p, dir, 3); break;
+                case ROYAL:      royalWalk(p, dir); break;
+                case ROCKHOPPER: rockhopperJump(p, dir); break;
+            }
+        } else {
+            slide(PENGUIN, penguinCell[p], p, dir);
+        }
+    }
+
+    /**
+     * Clears a penguin's stun, as the engine does when a stunned penguin skips its turn.
+     * @param p The penguin index
+     */
+    public void clearStun(int p) {
+        if (stunned[p]) {
+            hash ^= ZobristKeys.flag(p, ZobristKeys.STUNNED);
+        }
+        stunned[p] = false;
+    }
+
+    /**
+     * Royal Walk: one safe step, then a normal slide.
+     * @param p The penguin index
+     * @param dir The direction to move
+     */
+    private void royalWalk(int p, Direction dir) {
+        int cell = penguinCell[p];
+        if (cell < 0) return;
+
+        int d = dir.ordinal();
+        if (EDGE_DISTANCE[d * CELLS + cell] == 0) {
+            removeObject(PENGUIN, cell, p);
+            eliminate(p);
+            return;
+        }
+
+        int next = cell + STEP[d];
+        int kind = kindAt(next);
+        if (kind == EMPTY) {
+            moveObject(PENGUIN, cell, next, p);
+            slide(PENGUIN, next, p, dir);
+        } else if (kind == FOOD) {
+            eat(p, next);
+            moveObject(PENGUIN, cell, next, p);
+        }
+        // Any other object: the penguin cannot step and stays in place
+    }
+
+    /**
+     * Rockhopper jump: hop over the first object in the path if it is a hazard.
+     * @param p The penguin index
+     * @param dir The direction to jump
+     */
+    private void rockhopperJump(int p, Direction dir) {
+        int cell = penguinCell[p];
+        if (cell < 0) return;
+
+        int d = dir.ordinal();
+        int hazard = nearestOccupied(cell, d);
+        if (hazard < 0 || !isHazard(kindAt(hazard))) {
+            slide(PENGUIN, cell, p, dir);
+            return;
+        }
+
+        if (EDGE_DISTANCE[d * CELLS + hazard] == 0) {
+            removeObject(PENGUIN, cell, p);
+            eliminate(p);
+            return;
+        }
+
+        int landing = hazard + STEP[d];
+        int kind = kindAt(landing);
+        if (kind == EMPTY || kind == FOOD) {
+            if (kind == FOOD) {
+                eat(p, landing);
+            }
+            moveObject(PENGUIN, cell, landing, p);
+        } else {
+            slide(PENGUIN, cell, p, dir);
+        }
+    }
+
+    // ============================================================================
+    // SLIDING PHYSICS
+    // ============================================================================
+
+    /**
+     * Slides an object until it stops, falls or collides, with the chain reaction limit.
+     * Like IcyTerrain.simulateSlide, follow-up slides are queued and resolved by a loop.
+     * A penguin's task keeps its index and reads its cell when the task runs.
+     * @param kind The sliding object's class
+     * @param cell The sliding object's cell
+     * @param p The penguin index if a penguin slides, -1 otherwise
+     * @param dir The direction of sliding
+     */
+    private void slide(int kind, int cell, int p, Direction dir) {
+        if (pendingSlides == null) {
+            pendingSlides = new SlideStack();
+        }
+        pendingSlides.push(null, kind, p >= 0 ? p : cell, dir, cascadeDepth + 1);
+        if (resolving) {
+            return;
+        }
+
+        resolving = true;
+        try {
+            while (pendingSlides.size() > 0) {
+                int task = pendingSlides.pop();
+                int taskKind = pendingSlides.kindAt(task);
+                int arg = pendingSlides.argAt(task);
+                int depth = pendingSlides.depthAt(task);
+                int taskPenguin = taskKind == PENGUIN ? arg : -1;
+                int taskCell = taskPenguin >= 0 ? penguinCell[taskPenguin] : arg;
+                if (taskCell < 0 || depth > cascadeLimit) {
+                    continue;
+                }
+
+                cascadeDepth = depth;
+                int mark = pendingSlides.size();
+                slideUntilStopped(taskKind, taskCell, taskPenguin, pendingSlides.directionAt(task));
+                pendingSlides.reverseFrom(mark);
+            }
+        } finally {
+            pendingSlides.clear();
+            cascadeDepth = 0;
+            resolving = false;
+        }
+    }
+
+    private void slideUntilStopped(int kind, int cell, int p, Direction dir) {
+        int d = dir.ordinal();
+        while (true) {
+            int next = nearestOccupied(cell, d);
+
+            // Nothing until the edge: fall into the water
+            if (next < 0) {
+                removeObject(kind, cell, p);
+                if (p >= 0) eliminate(p);
+                return;
+            }
+
+            int stop = next - STEP[d];
+            if (stop != cell) {
+                moveObject(kind, cell, stop, p);
+                cell = stop;
+            }
+
+            int nextKind = kindAt(next);
+            if (nextKind == FOOD) {
+                if (p >= 0) {
+                    eat(p, next); // Penguins stop at food
+                    moveObject(kind, cell, next, p);
+                    return;
+                }
+                clearFood(next); // Hazards crush food and keep sliding
+                moveObject(kind, cell, next, p);
+                cell = next;
+                continue;
+            }
+
+            collide(kind, cell, p, nextKind, next, dir);
+            return;
+        }
+    }
+
+    /**
+     * Slides a penguin at most maxSteps squares (King and Emperor abilities).
+     * @param p The penguin index
+     * @param dir The direction
+     * @param maxSteps Maximum number of squares to slide
+     */
+    private void slideWithLimit(int p, Direction dir, int maxSteps) {
+        int d = dir.ordinal();
+        int steps = 0;
+        int cell = penguinCell[p];
+
+        while (steps < maxSteps) {
+            if (cell < 0) return;
+
+            int next = nearestOccupied(cell, d);
+            int free = next < 0 ? EDGE_DISTANCE[d * CELLS + cell] : distance(cell, next) - 1;
+            int jump = Math.min(free, maxSteps - steps);
+            if (jump > 0) {
+                int dest = cell + STEP[d] * jump;
+                moveObject(PENGUIN, cell, dest, p);
+                cell = dest;
+                steps += jump;
+                continue;
+            }
+
+            if (next < 0) {
+                removeObject(PENGUIN, cell, p);
+                eliminate(p);
+                return;
+            }
+
+            int nextKind = kindAt(next);
+            if (nextKind == FOOD) {
+                eat(p, next);
+                moveObject(PENGUIN, cell, next, p);
+                return;
+            }
+
+            collide(PENGUIN, cell, p, nextKind, next, dir);
+            return;
+        }
+    }
+
+    /**
+     * Resolves a collision between a sliding object and the object in front of it.
+     */
+    private void collide(int kind, int cell, int p, int stationaryKind, int stationaryCell, Direction dir) {
+        switch (stationaryKind) {
+            case HOLE:
+                removeObject(kind, cell, p);
+                if (p >= 0) {
+                    eliminate(p);
+                } else {
+                    clearBit(HOLE, stationaryCell); // Hazards plug the hole
+                    setBit(PLUGGED_HOLE, stationaryCell);
+                    hash ^= ZobristKeys.cell(stationaryCell, ZobristKeys.HOLE) ^ ZobristKeys.cell(stationaryCell, ZobristKeys.PLUGGED_HOLE);
+                }
+                break;
+            case HEAVY_ICE:
+                if (p >= 0) removeLightestFood(p);
+                break;
+            case LIGHT_ICE:
+                if (p >= 0 && !stunned[p]) {
+                    stunned[p] = true;
+                    hash ^= ZobristKeys.flag(p, ZobristKeys.STUNNED);
+                }
+                slide(LIGHT_ICE, stationaryCell, -1, dir);
+                break;
+            case SEA_LION:
+                slide(SEA_LION, stationaryCell, -1, dir);
+                if (p >= 0) {
+                    slide(PENGUIN, penguinCell[p], p, IcyTerrain.getOppositeDirection(dir));
+                }
+                break;
+            case PENGUIN:
+                if (p >= 0) {
+                    int other = penguinAt(stationaryCell);
+                    slide(PENGUIN, stationaryCell, other, dir);
+                }
+                break;
+            default:
+                // Plugged holes and anything else simply stop the slider
+                break;
+        }
+    }
+
+    // ============================================================================
+    // PENGUIN STATE
+    // ============================================================================
+
+    private void eat(int p, int cell) {
+        int weight = foodWeight[cell];
+        inventory[p * (MAX_FOOD_WEIGHT + 1) + weight]++;
+        score[p] += weight;
+        clearFood(cell);
+    }
+
+    private void removeLightestFood(int p) {
+        int base = p * (MAX_FOOD_WEIGHT + 1);
+        for (int w = 1; w <= MAX_FOOD_WEIGHT; w++) {
+            if (inventory[base + w] > 0) {
+                inventory[base + w]--;
+                score[p] -= w;
+                return;
+            }
+        }
+    }
+
+    private void eliminate(int p) {
+        if (active[p]) {
+            hash ^= ZobristKeys.flag(p, ZobristKeys.ACTIVE);
+        }
+        active[p] = false;
+        penguinCell[p] = -1;
+    }
+
+    private int penguinAt(int cell) {
+        for (int p = 0; p < penguinCount; p++) {
+            if (penguinCell[p] == cell) return p;
+        }
+        return -1;
+    }
+
+    // ============================================================================
+    // BIT OPERATIONS
+    // ============================================================================
+
+    private void setBit(int kind, int cell) {
+        if (cell < 64) lo[kind] |= 1L << cell;
+        else hi[kind] |= 1L << (cell - 64);
+    }
+
+    private void clearBit(int kind, int cell) {
+        if (cell < 64) lo[kind] &= ~(1L << cell);
+        else hi[kind] &= ~(1L << (cell - 64));
+    }
+
+    private void clearFood(int cell) {
+        hash ^= ZobristKeys.cell(cell, ZobristKeys.food(foodType[cell], foodWeight[cell]));
+        clearBit(FOOD, cell);
+        foodWeight[cell] = 0;
+        foodType[cell] = 0;
+    }
+
+    private void moveObject(int kind, int from, int to, int p) {
+        int code = zobristCode(kind, p);
+        hash ^= ZobristKeys.cell(from, code) ^ ZobristKeys.cell(to, code);
+        clearBit(kind, from);
+        setBit(kind, to);
+        if (p >= 0) penguinCell[p] = to;
+    }
+
+    private void removeObject(int kind, int cell, int p) {
+        hash ^= ZobristKeys.cell(cell, zobristCode(kind, p));
+        clearBit(kind, cell);
+    }
+
+    private static int zobristCode(int kind, int p) {
+        return kind == PENGUIN ? ZobristKeys.penguin(p) : ZOBRIST_CODE[kind];
+    }
+
+    private long occupiedLo() {
+        long bits = 0;
+        for (int k = 0; k < KINDS; k++) bits |= lo[k];
+        return bits;
+    }
+
+    private long occupiedHi() {
+        long bits = 0;
+        for (int k = 0; k < KINDS; k++) bits |= hi[k];
+        return bits;
+    }
+
+    /**
+     * Finds the nearest occupied cell beyond a cell with one mask and one bit scan.
+     * @param cell The starting cell
+     * @param d The direction ordinal
+     * @return The nearest occupied cell, or -1 if the ray reaches the edge
+     */
+    private int nearestOccupied(int cell, int d) {
+        long rayLo = occupiedLo() & RAY_LO[d * CELLS + cell];
+        long rayHi = occupiedHi() & RAY_HI[d * CELLS + cell];
+        if (STEP[d] > 0) {
+            // Increasing cell index: lowest set bit
+            if (rayLo != 0) return Long.numberOfTrailingZeros(rayLo);
+            if (rayHi != 0) return 64 + Long.numberOfTrailingZeros(rayHi);
+        } else {
+            // Decreasing cell index: highest set bit
+            if (rayHi != 0) return 127 - Long.numberOfLeadingZeros(rayHi);
+            if (rayLo != 0) return 63 - Long.numberOfLeadingZeros(rayLo);
+        }
+        return -1;
+    }
+
+    private static int distance(int from, int to) {
+        int diff = Math.abs(to - from);
+        return diff >= SIZE ? diff / SIZE : diff;
+    }
+
+    private static boolean isHazard(int kind) {
+        return kind == LIGHT_ICE || kind == HEAVY_ICE || kind == SEA_LION || kind == HOLE || kind == PLUGGED_HOLE;
+    }
+
+    // ============================================================================
+    // QUERIES
+    // ============================================================================
+
+    /**
+     * Gets the class of the object on a cell
+     * @param cell The cell index
+     * @return One of the class constants, or EMPTY
+     */
+    public int kindAt(int cell) {
+        long mask = 1L << (cell & 63);
+        boolean low = cell < 64;
+        for (int k = 0; k < KINDS; k++) {
+            if (((low ? lo[k] : hi[k]) & mask) != 0) return k;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * AI ray scan: the class of the first object beyond a penguin in a direction
+     * @param p The penguin index
+     * @param dir The direction
+     * @return The class constant of the first object, or EMPTY if the ray reaches the edge
+     */
+    public int firstKindInDirection(int p, Direction dir) {
+        int next = firstCellInDirection(p, dir);
+        return next < 0 ? EMPTY : kindAt(next);
+    }
+
+    /**
+     * AI ray scan: the cell of the first object beyond a penguin in a direction
+     * @param p The penguin index
+     * @param dir The direction
+     * @return The cell index of the first object, or -1 if the ray reaches the edge
+     */
+    public int firstCellInDirection(int p, Direction dir) {
+        int cell = penguinCell[p];
+        if (cell < 0) return -1;
+        return nearestOccupied(cell, dir.ordinal());
+    }
+
+    /**
+     * Checks whether a class is a hazard
+     * @param kind A class constant
+     * @return true for ice blocks, sea lions and holes
+     */
+    public static boolean isHazardKind(int kind) {
+        return isHazard(kind);
+    }
+
+    /**
+     * Gets the weight of the food on a cell
+     * @param cell The cell index
+     * @return The weight, or 0 if there is no food
+     */
+    public int getFoodWeight(int cell) {
+        return foodWeight[cell];
+    }
+
+    /**
+     * Gets the type of the food on a cell
+     * @param cell The cell index
+     * @return The food type, or null if there is no food
+     */
+    public FoodType getFoodType(int cell) {
+        return foodWeight[cell] == 0 ? null : FoodType.values()[foodType[cell]];
+    }
+
+    /**
+     * Gets the Zobrist hash of the state
+     * @return The hash, equal to IcyTerrain.getHash() of the same state without the turn index key
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets the number of penguins
+     * @return The penguin count
+     */
+    public int getPenguinCount() {
+        return penguinCount;
+    }
+
+    /**
+     * Gets a penguin's type
+     * @param p The penguin index
+     * @return KING, EMPEROR, ROYAL or ROCKHOPPER
+     */
+    public int getPenguinType(int p) {
+        return penguinType[p];
+    }
+
+    /**
+     * Gets a penguin's cell
+     * @param p The penguin index
+     * @return The cell index, or -1 if the penguin left the grid
+     */
+    public int getPenguinCell(int p) {
+        return penguinCell[p];
+    }
+
+    /**
+     * Checks if a penguin is still in the game
+     * @param p The penguin index
+     * @return true if not eliminated
+     */
+    public boolean isActive(int p) {
+        return active[p];
+    }
+
+    /**
+     * Checks if a penguin is stunned
+     * @param p The penguin index
+     * @return true if it will skip its next turn
+     */
+    public boolean isStunned(int p) {
+        return stunned[p];
+    }
+
+    /**
+     * Checks if a penguin has used its special ability
+     * @param p The penguin index
+     * @return true if already used
+     */
+    public boolean hasUsedAbility(int p) {
+        return abilityUsed[p];
+    }
+
+    /**
+     * Gets a penguin's total food weight
+     * @param p The penguin index
+     * @return The score
+     */
+    public int getScore(int p) {
+        return score[p];
+    }
+
+    /**
+     * Gets the number of food items of one weight a penguin holds
+     * @param p The penguin index
+     * @param weight The weight (1-5)
+     * @return The item count
+     */
+    public int getFoodCount(int p, int weight) {
+        return inventory[p * (MAX_FOOD_WEIGHT + 1) + weight];
+    }
+}
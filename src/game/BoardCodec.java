@@ -0,0 +1,314 @@
+package game;
+
+import enums.FoodType;
+import interfaces.IOutputSink;
+import interfaces.ITerrainObject;
+import java.nio.ByteBuffer;
+import java.util.List;
+import objects.*;
+
+/**
+ * BoardCodec encodes the layout of an IcyTerrain in a few bytes per object, so boards can
+ * be stored by the million (see BoardCorpus) and rebuilt without generating them again.
+ * GameJournal stores the initial layout of a recorded game in the same format.
+ *
+ * A layout is every object on the grid: penguin types and cells in turn order, hazard kinds,
+ * hole plug state, food type and weight. Inventories, stuns and the turn are not included;
+ * a decoded board is a fresh game. Penguins that are not on the grid are left out.
+ *
+ * Format (the grid size is stored by the container, not here; varints as in Varint):
+ * - varint penguin count, varint count of other objects
+ * - per penguin, in turn order: varint cell, tag byte
+ * - per other object, in cell order: varint distance to the previous object's cell
+ *   (to cell 0 for the first one), tag byte
+ *
+ * A tag byte names the object and its state: 0-3 penguin type (King, Emperor, Royal,
+ * Rockhopper), 4 LightIceBlock, 5 HeavyIceBlock, 6 SeaLion, 7 open hole, 8 plugged hole,
+ * 9 + type * 5 + (weight - 1) food. A standard 10x10 board takes 78 bytes.
+ */
+public final class BoardCodec {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    static final byte NO_OBJECT = -1; // Tag of an empty cell in a tag grid (never encoded)
+    private static final byte TAG_LIGHT_ICE = 4;
+    private static final byte TAG_HEAVY_ICE = 5;
+    private static final byte TAG_SEA_LION = 6;
+    private static final byte TAG_HOLE = 7;
+    private static final byte TAG_PLUGGED_HOLE = 8;
+    private static final byte TAG_FOOD = 9;
+    private static final int FOOD_WEIGHTS = 5; // Weights 1 to 5
+    private static final FoodType[] FOOD_TYPES = FoodType.values();
+    private static final int TAG_COUNT = TAG_FOOD + FOOD_TYPES.length * FOOD_WEIGHTS;
+
+    private BoardCodec() {
+    }
+
+    // ============================================================================
+    // ENCODING
+    // ============================================================================
+
+    /**
+     * Encodes the layout of a terrain
+     * @param terrain The terrain
+     * @return The encoded layout
+     * @throws IllegalArgumentException if the terrain holds an object the format does not know
+     */
+    public static byte[] encode(IcyTerrain terrain) {
+        int size = terrain.getGridSize();
+        ByteBuffer buffer = ByteBuffer.allocate(maxEncodedSize(size, size * size));
+        encode(terrain, buffer);
+        byte[] bytes = new byte[buffer.position()];
+        buffer.get(0, bytes);
+        return bytes;
+    }
+
+    /**
+     * Encodes the layout of a terrain at the buffer's position, advancing it
+     * @param terrain The terrain
+     * @param buffer The destination; needs maxEncodedSize bytes remaining
+     * @throws IllegalArgumentException if the terrain holds an object the format does not know
+     */
+    public static void encode(IcyTerrain terrain, ByteBuffer buffer) {
+        int size = terrain.getGridSize();
+        byte[] cellTags = tagGrid(terrain);
+        List<Penguin> penguins = terrain.getPenguins();
+        int[] penguinCells = new int[penguins.size()];
+        int penguinCount = 0;
+        for (Penguin p : penguins) {
+            int[] pos = terrain.getPosition(p);
+            if (pos != null) {
+                penguinCells[penguinCount++] = pos[0] * size + pos[1];
+            }
+        }
+        encode(size, cellTags, penguinCells, penguinCount, buffer);
+    }
+
+    /**
+     * Encodes a layout given as a grid of tags, at the buffer's position, advancing it
+     * @param gridSize The grid size
+     * @param cellTags The tag of the object on each cell, NO_OBJECT if empty
+     * @param penguinCells The cells of the penguins, in turn order
+     * @param penguinCount Number of entries of penguinCells in use
+     * @param buffer The destination; needs maxEncodedSize bytes remaining
+     */
+    static void encode(int gridSize, byte[] cellTags, int[] penguinCells, int penguinCount, ByteBuffer buffer) {
+        int cells = gridSize * gridSize;
+        int objectCount = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (cellTags[cell] >= TAG_LIGHT_ICE) {
+                objectCount++;
+            }
+        }
+
+        Varint.write(buffer, penguinCount);
+        Varint.write(buffer, objectCount);
+        for (int i = 0; i < penguinCount; i++) {
+            Varint.write(buffer, penguinCells[i]);
+            buffer.put(cellTags[penguinCells[i]]);
+        }
+        int previousCell = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (cellTags[cell] >= TAG_LIGHT_ICE) {
+                Varint.write(buffer, cell - previousCell);
+                buffer.put(cellTags[cell]);
+                previousCell = cell;
+            }
+        }
+    }
+
+    /**
+     * Gets an upper bound of the encoded size of a layout
+     * @param gridSize The grid size
+     * @param objects The number of objects on the grid
+     * @return The largest number of bytes encode may write for such a layout
+     */
+    public static int maxEncodedSize(int gridSize, int objects) {
+        int cells = gridSize * gridSize;
+        return 2 * Varint.size(objects) + objects * (Varint.size(cells) + 1);
+    }
+
+    /**
+     * Gets the tags of all cells of a terrain
+     * @param terrain The terrain
+     * @return The tag of the object on each cell, NO_OBJECT if empty
+     * @throws IllegalArgumentException if the terrain holds an object the format does not know
+     */
+    static byte[] tagGrid(IcyTerrain terrain) {
+        int size = terrain.getGridSize();
+        byte[] cellTags = new byte[size * size];
+        for (int cell = 0; cell < cellTags.length; cell++) {
+            ITerrainObject obj = terrain.getObjectAt(cell / size, cell % size);
+            cellTags[cell] = obj == null ? NO_OBJECT : tagOf(obj);
+        }
+        return cellTags;
+    }
+
+    /**
+     * Gets the tag byte of an object
+     * @param obj The object
+     * @return Its tag
+     * @throws IllegalArgumentException if the format does not know the object
+     */
+    private static byte tagOf(ITerrainObject obj) {
+        switch (obj.getKind()) {
+            case ITerrainObject.PENGUIN:
+                return penguinTag(IcyTerrain.penguinType((Penguin) obj));
+            case ITerrainObject.LIGHT_ICE:
+                return TAG_LIGHT_ICE;
+            case ITerrainObject.HEAVY_ICE:
+                return TAG_HEAVY_ICE;
+            case ITerrainObject.SEA_LION:
+                return TAG_SEA_LION;
+            case ITerrainObject.HOLE:
+                return ((HoleInIce) obj).isPlugged() ? TAG_PLUGGED_HOLE : TAG_HOLE;
+            case ITerrainObject.FOOD: {
+                Food food = (Food) obj;
+                return foodTag(food.getType().ordinal(), food.getWeight());
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported terrain object: " + obj.getSymbol());
+        }
+    }
+
+    /**
+     * Gets the tag of a penguin
+     * @param type 0 = King, 1 = Emperor, 2 = Royal, 3 = Rockhopper (as IcyTerrain.createPenguin)
+     * @return The tag
+     */
+    static byte penguinTag(int type) {
+        return (byte) type;
+    }
+
+    /**
+     * Gets the tag of a new hazard
+     * @param type 0 = LightIceBlock, 1 = HeavyIceBlock, 2 = SeaLion, 3 = HoleInIce (as IcyTerrain.createHazard)
+     * @return The tag
+     */
+    static byte hazardTag(int type) {
+        return (byte) (TAG_LIGHT_ICE + type);
+    }
+
+    /**
+     * Gets the tag of a food item
+     * @param type The FoodType ordinal
+     * @param weight The weight (1-5)
+     * @return The tag
+     */
+    static byte foodTag(int type, int weight) {
+        return (byte) (TAG_FOOD + type * FOOD_WEIGHTS + weight - 1);
+    }
+
+    /**
+     * Gets the kind code of the object a tag names
+     * @param tag A valid tag
+     * @return The ITerrainObject kind code
+     */
+    static byte kindOf(byte tag) {
+        if (tag < TAG_LIGHT_ICE) return ITerrainObject.PENGUIN;
+        switch (tag) {
+            case TAG_LIGHT_ICE: return ITerrainObject.LIGHT_ICE;
+            case TAG_HEAVY_ICE: return ITerrainObject.HEAVY_ICE;
+            case TAG_SEA_LION: return ITerrainObject.SEA_LION;
+            case TAG_HOLE:
+            case TAG_PLUGGED_HOLE: return ITerrainObject.HOLE;
+            default: return ITerrainObject.FOOD;
+        }
+    }
+
+    // ============================================================================
+    // DECODING
+    // ============================================================================
+
+    /**
+     * Rebuilds a terrain from an encoded layout
+     * @param bytes The encoded layout
+     * @param gridSize The grid size of the encoded terrain
+     * @param output The sink for the terrain's messages
+     * @return A new terrain with the layout
+     * @throws IllegalArgumentException if the bytes are not a valid layout for the grid size
+     */
+    public static IcyTerrain decode(byte[] bytes, int gridSize, IOutputSink output) {
+        return decode(ByteBuffer.wrap(bytes), 0, gridSize, output);
+    }
+
+    /**
+     * Rebuilds a terrain from an encoded layout at a given offset of a buffer.
+     * Only absolute reads are used, so any number of threads may decode from one buffer.
+     * @param buffer The buffer holding the layout
+     * @param offset Index of the layout's first byte
+     * @param gridSize The grid size of the encoded terrain
+     * @param output The sink for the terrain's messages
+     * @return A new terrain with the layout
+     * @throws IllegalArgumentException if the bytes are not a valid layout for the grid size
+     */
+    public static IcyTerrain decode(ByteBuffer buffer, int offset, int gridSize, IOutputSink output) {
+        int cells = gridSize * gridSize;
+        int[] pos = {offset};
+        int penguinCount = Varint.read(buffer, pos);
+        int objectCount = Varint.read(buffer, pos);
+        if (penguinCount < 0 || objectCount < 0 || (long) penguinCount + objectCount > cells) {
+            throw new IllegalArgumentException("Corrupt board: " + (penguinCount + objectCount) + " objects");
+        }
+        IcyTerrain terrain = new IcyTerrain(gridSize, output, penguinCount + objectCount);
+
+        for (int i = 1; i <= penguinCount; i++) {
+            int cell = Varint.read(buffer, pos);
+            int tag = buffer.get(pos[0]++);
+            if (tag < 0 || tag >= TAG_LIGHT_ICE) {
+                throw new IllegalArgumentException("Corrupt board: penguin tag " + tag);
+            }
+            checkFree(terrain, cell, cells);
+            terrain.addPenguin(IcyTerrain.createPenguin(tag, "P" + i), cell / gridSize, cell % gridSize);
+        }
+        int cell = 0;
+        for (int i = 0; i < objectCount; i++) {
+            cell += Varint.read(buffer, pos);
+            int tag = buffer.get(pos[0]++);
+            checkFree(terrain, cell, cells);
+            terrain.placeObject(cell / gridSize, cell % gridSize, objectOf(tag));
+        }
+        return terrain;
+    }
+
+    /**
+     * Creates the object a tag names
+     * @param tag A tag of a hazard or food item
+     * @return A new object
+     * @throws IllegalArgumentException if the tag is not one
+     */
+    private static ITerrainObject objectOf(int tag) {
+        switch (tag) {
+            case TAG_LIGHT_ICE: return new LightIceBlock();
+            case TAG_HEAVY_ICE: return new HeavyIceBlock();
+            case TAG_SEA_LION: return new SeaLion();
+            case TAG_HOLE: return new HoleInIce();
+            case TAG_PLUGGED_HOLE: {
+                HoleInIce hole = new HoleInIce();
+                hole.setPlugged(true);
+                return hole;
+            }
+            default:
+                if (tag < TAG_FOOD || tag >= TAG_COUNT) {
+                    throw new IllegalArgumentException("Corrupt board: object tag " + tag);
+                }
+                int food = tag - TAG_FOOD;
+                return new Food(FOOD_TYPES[food / FOOD_WEIGHTS], food % FOOD_WEIGHTS + 1);
+        }
+    }
+
+    /**
+     * Checks that a decoded cell is on the grid and still empty
+     * @param terrain The terrain being rebuilt
+     * @param cell The cell index
+     * @param cells The number of cells of the grid
+     * @throws IllegalArgumentException if it is not
+     */
+    private static void checkFree(IcyTerrain terrain, int cell, int cells) {
+        int size = terrain.getGridSize();
+        if (cell < 0 || cell >= cells || terrain.getObjectAt(cell / size, cell % size) != null) {
+            throw new IllegalArgumentException("Corrupt board: cell " + cell);
+        }
+    }
+}
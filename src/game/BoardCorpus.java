@@ -0,0 +1,334 @@
+package game;
+
+import interfaces.IOutputSink;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+/**
+ * BoardCorpus is a read-only file of board layouts (see BoardCodec), all of one grid size,
+ * for benchmarks and tournaments that replay preset boards instead of generating them.
+ *
+ * Every board sits in a slot of the same power-of-two stride, so board #n is found by
+ * arithmetic alone: it starts at (n + 1) * stride, the first slot holding the header.
+ * The stride is at most PAGE_SIZE, so a slot never crosses a page boundary and loading a
+ * board touches exactly one page of the file. The file is read through memory mappings of at most
+ * MAPPING_SIZE bytes each; the operating system pages boards in on demand and shares them
+ * between processes. Reads are thread-safe.
+ *
+ * File format (big-endian): header slot with int magic "PBC1", int grid size, int stride,
+ * long board count; then one slot per board holding its encoded layout, zero padded.
+ *
+ * Usage: java game.BoardCorpus write [file] [boards] [seed]
+ *        java game.BoardCorpus show [file] [board]
+ */
+public class BoardCorpus implements AutoCloseable {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    private static final int MAGIC = 0x50424331; // "PBC1"
+    private static final int HEADER_SIZE = 20;
+    private static final int MIN_STRIDE = 32; // Room for the header
+    public static final int PAGE_SIZE = 4096; // Largest stride that keeps one board in one page
+    private static final int MAPPING_SHIFT = 30;
+    private static final long MAPPING_SIZE = 1L << MAPPING_SHIFT; // Bytes per mapping, a multiple of every stride
+    private static final String DEFAULT_FILE = "boards.pbc";
+    private static final int DEFAULT_BOARDS = 1_000_000;
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final FileChannel channel;
+    private final MappedByteBuffer[] mappings; // Consecutive MAPPING_SIZE windows of the file
+    private final int gridSize;
+    private final int stride; // Bytes per slot
+    private final int strideShift; // log2(stride)
+    private final long size; // Number of boards
+
+    // ============================================================================
+    // CONSTRUCTOR
+    // ============================================================================
+
+    /**
+     * Opens a corpus file and maps it into memory
+     * @param file The corpus file
+     * @throws IOException if the file cannot be read or is not a corpus
+     */
+    public BoardCorpus(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // Keep reading the header
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException("Not a board corpus: " + file);
+            }
+            gridSize = header.getInt();
+            stride = header.getInt();
+            size = header.getLong();
+            if (gridSize < 1 || !isValidStride(stride) || size < 0 || size >= channel.size() / stride) {
+                throw new IOException("Corrupt board corpus header: " + file);
+            }
+            strideShift = Integer.numberOfTrailingZeros(stride);
+
+            long length = (size + 1) * stride;
+            mappings = new MappedByteBuffer[(int) ((length + MAPPING_SIZE - 1) >>> MAPPING_SHIFT)];
+            for (int m = 0; m < mappings.length; m++) {
+                long start = (long) m << MAPPING_SHIFT;
+                mappings[m] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(MAPPING_SIZE, length - start));
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // ============================================================================
+    // READING
+    // ============================================================================
+
+    /**
+     * Rebuilds board #index
+     * @param index The board index, 0 to size() - 1
+     * @param output The sink for the terrain's messages
+     * @return A new terrain with the board's layout
+     * @throws IndexOutOfBoundsException if there is no such board
+     */
+    public IcyTerrain load(long index, IOutputSink output) {
+        long offset = slotOffset(index);
+        return BoardCodec.decode(mappings[(int) (offset >>> MAPPING_SHIFT)], (int) (offset & (MAPPING_SIZE - 1)), gridSize, output);
+    }
+
+    /**
+     * Copies the slot of board #index (encoded layout plus padding)
+     * @param index The board index, 0 to size() - 1
+     * @return A new array of stride bytes
+     * @throws IndexOutOfBoundsException if there is no such board
+     */
+    public byte[] readSlot(long index) {
+        long offset = slotOffset(index);
+        byte[] slot = new byte[stride];
+        mappings[(int) (offset >>> MAPPING_SHIFT)].get((int) (offset & (MAPPING_SIZE - 1)), slot);
+        return slot;
+    }
+
+    private long slotOffset(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Board " + index + " of " + size);
+        }
+        return (index + 1) << strideShift;
+    }
+
+    // ============================================================================
+    // ACCESSORS
+    // ============================================================================
+
+    /**
+     * Gets the number of boards
+     * @return The board count
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Gets the grid size of every board
+     * @return The grid size
+     */
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    /**
+     * Gets the slot size
+     * @return The stride in bytes
+     */
+    public int getStride() {
+        return stride;
+    }
+
+    /**
+     * Closes the file. The mappings stay valid until they are garbage collected,
+     * but the corpus must not be used any more.
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // ============================================================================
+    // WRITING
+    // ============================================================================
+
+    /**
+     * Gets the smallest valid stride for boards of a given encoded size
+     * @param maxBoardBytes The largest encoded layout to store
+     * @return A power of two from MIN_STRIDE to PAGE_SIZE bytes
+     * @throws IllegalArgumentException if such boards do not fit in one page
+     */
+    public static int strideFor(int maxBoardBytes) {
+        if (maxBoardBytes > PAGE_SIZE) {
+            throw new IllegalArgumentException("Boards of " + maxBoardBytes + " bytes do not fit in a " + PAGE_SIZE + "-byte page");
+        }
+        return Math.max(MIN_STRIDE, Integer.highestOneBit(Math.max(1, maxBoardBytes - 1)) << 1);
+    }
+
+    private static boolean isValidStride(int stride) {
+        return stride >= MIN_STRIDE && stride <= PAGE_SIZE && Integer.bitCount(stride) == 1;
+    }
+
+    /**
+     * Writer appends boards to a new corpus file. The board count in the header is
+     * written when the writer is closed. Not thread-safe.
+     */
+    public static class Writer implements AutoCloseable {
+        private static final int BUFFER_SIZE = 1 << 16;
+
+        private final FileChannel channel;
+        private final int gridSize;
+        private final int stride;
+        private final ByteBuffer buffer; // Slots not yet written to the file
+        private long count;
+
+        /**
+         * Creates (or replaces) a corpus file
+         * @param file The corpus file
+         * @param gridSize The grid size of every board
+         * @param stride The slot size: a power of two from MIN_STRIDE to PAGE_SIZE (see strideFor)
+         * @throws IOException if the file cannot be created
+         */
+        public Writer(Path file, int gridSize, int stride) throws IOException {
+            if (gridSize < 1) {
+                throw new IllegalArgumentException("Grid size must be positive: " + gridSize);
+            }
+            if (!isValidStride(stride)) {
+                throw new IllegalArgumentException("Stride must be a power of two from " + MIN_STRIDE + " to " + PAGE_SIZE + ": " + stride);
+            }
+            this.gridSize = gridSize;
+            this.stride = stride;
+            buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_SIZE, stride));
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buffer.put(new byte[stride]); // Header slot, filled in on close
+        }
+
+        /**
+         * Appends a board
+         * @param terrain The board; must have the corpus's grid size
+         * @return The board's index
+         * @throws IOException if writing fails
+         * @throws IllegalArgumentException if the board does not fit the corpus
+         */
+        public long add(IcyTerrain terrain) throws IOException {
+            if (terrain.getGridSize() != gridSize) {
+                throw new IllegalArgumentException("Board is " + terrain.getGridSize() + "x" + terrain.getGridSize()
+                        + ", corpus is " + gridSize + "x" + gridSize);
+            }
+            return add(BoardCodec.encode(terrain));
+        }
+
+        /**
+         * Appends an encoded board
+         * @param layout A layout encoded by BoardCodec for the corpus's grid size
+         * @return The board's index
+         * @throws IOException if writing fails
+         * @throws IllegalArgumentException if the layout is longer than the stride
+         */
+        public long add(byte[] layout) throws IOException {
+            if (layout.length > stride) {
+                throw new IllegalArgumentException("Board of " + layout.length + " bytes exceeds the stride of " + stride);
+            }
+            if (buffer.remaining() < stride) {
+                drain();
+            }
+            int slotEnd = buffer.position() + stride;
+            buffer.put(layout);
+            while (buffer.position() < slotEnd) {
+                buffer.put((byte) 0);
+            }
+            return count++;
+        }
+
+        /**
+         * Gets the number of boards written so far
+         * @return The board count
+         */
+        public long size() {
+            return count;
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * Writes the remaining boards and the header, then closes the file
+         * @throws IOException if writing fails
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(gridSize).putInt(stride).putLong(count).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    // ============================================================================
+    // COMMAND LINE
+    // ============================================================================
+
+    /**
+     * Writes a corpus of standard random boards, or prints one board of a corpus.
+     * @param args "write" with file, board count and seed, or "show" with file and board index
+     * @throws IOException if the file cannot be written or read
+     */
+    public static void main(String[] args) throws IOException {
+        String command = args.length > 0 ? args[0] : "write";
+        Path file = Path.of(args.length > 1 ? args[1] : DEFAULT_FILE);
+
+        if (command.equals("show")) {
+            try (BoardCorpus corpus = new BoardCorpus(file)) {
+                long index = args.length > 2 ? Long.parseLong(args[2]) : 0;
+                System.out.println("Board " + index + " of " + corpus.size() + " (" + corpus.getGridSize() + "x"
+                        + corpus.getGridSize() + ", " + corpus.getStride() + "-byte slots):");
+                corpus.load(index, new ConsoleOutput()).printTerrain();
+            }
+            return;
+        }
+
+        int boards = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_BOARDS;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        int gridSize = IcyTerrain.DEFAULT_GRID_SIZE;
+        int objects = IcyTerrain.PENGUIN_COUNT + IcyTerrain.HAZARD_COUNT + IcyTerrain.FOOD_COUNT;
+        long start = System.nanoTime();
+        try (Writer writer = new Writer(file, gridSize, strideFor(BoardCodec.maxEncodedSize(gridSize, objects)))) {
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int i = 0; i < boards; i++) {
+                IcyTerrain terrain = new IcyTerrain(gridSize, NullOutput.INSTANCE);
+                terrain.populate(random.split());
+                writer.add(terrain);
+            }
+        }
+        System.out.println("Wrote " + boards + " boards to " + file + " in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms (seed " + seed + ")");
+    }
+}
@@ -0,0 +1,435 @@
+package game;
+
+import enums.Direction;
+import enums.FoodType;
+import interfaces.ITerrainObject;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+import objects.Penguin;
+
+/**
+ * BoardGenerator produces random boards in bulk, e.g. to fill a BoardCorpus.
+ * Unlike IcyTerrain.populate, which retries random cells until one fits, it never draws
+ * an occupied cell: penguins take distinct cells from a precomputed list of edge cells,
+ * and everything else is drawn from a FreeCellSampler. A board costs O(objects) draws at
+ * any density.
+ *
+ * Boards are drawn as a grid of BoardCodec tags in a reusable Workspace and encoded from
+ * there; no IcyTerrain or object is created unless generate(random) is asked for one.
+ *
+ * Boards can be constrained by density and by a minimum number of reachable food items
+ * (see countReachableFood); boards that miss the constraint are drawn again.
+ *
+ * generate(count, seed, sink) spreads the work over the common fork-join pool in chunks
+ * of CHUNK_SIZE boards. Each chunk gets its own stream split from the master random
+ * source, so the boards, and their order, do not depend on the number of cores.
+ * A generator can be shared between threads; each thread draws into its own Workspace.
+ *
+ * Usage: java game.BoardGenerator [boards] [size] [hazard density] [food density] [min reachable food] [file] [seed]
+ */
+public class BoardGenerator {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    public static final int CHUNK_SIZE = 1024; // Boards per independently seeded chunk
+    public static final int MAX_ATTEMPTS = 1000; // Draws of one board before a constraint is given up
+    private static final int BATCH_CHUNKS = 64; // Chunks generated in parallel before they are handed out
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int FOOD_TYPES = FoodType.values().length;
+    private static final double STANDARD_HAZARD_DENSITY = 0.15; // The game's 15 hazards on 10x10
+    private static final double STANDARD_FOOD_DENSITY = 0.2; // The game's 20 food items on 10x10
+    private static final int DEFAULT_BOARDS = 1_000_000;
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final int gridSize;
+    private final int penguinCount; // Penguins per board, all on edge cells
+    private final int hazardCount; // Hazards per board
+    private final int foodCount; // Food items per board
+    private final int minReachableFood; // Boards with fewer reachable food items are drawn again
+    private final int[] edgeCells; // Every edge cell, in cell order
+    private final LongAdder rejected = new LongAdder(); // Boards drawn again for a constraint
+    private final ThreadLocal<Workspace> workspaces; // Scratch arrays of each generating thread
+
+    // ============================================================================
+    // CONSTRUCTOR
+    // ============================================================================
+
+    /**
+     * Creates a generator
+     * @param gridSize The number of rows and columns of every board
+     * @param penguinCount Penguins per board, placed on edge cells
+     * @param hazardDensity Fraction of the cells holding a hazard (0-1)
+     * @param foodDensity Fraction of the cells holding food (0-1)
+     * @param minReachableFood Least number of food items the penguins must be able to reach
+     * @throws IllegalArgumentException if the objects do not fit on the grid
+     */
+    public BoardGenerator(int gridSize, int penguinCount, double hazardDensity, double foodDensity, int minReachableFood) {
+        int cells = gridSize * gridSize;
+        this.gridSize = gridSize;
+        this.penguinCount = penguinCount;
+        this.hazardCount = (int) Math.round(cells * hazardDensity);
+        this.foodCount = (int) Math.round(cells * foodDensity);
+        this.minReachableFood = minReachableFood;
+        this.edgeCells = collectEdgeCells(gridSize);
+        this.workspaces = ThreadLocal.withInitial(() -> new Workspace(gridSize, edgeCells));
+
+        if (gridSize < 1 || penguinCount < 0 || hazardCount < 0 || foodCount < 0) {
+            throw new IllegalArgumentException("Invalid board: size " + gridSize + ", " + penguinCount + " penguins, "
+                    + hazardCount + " hazards, " + foodCount + " food");
+        }
+        if (penguinCount > edgeCells.length) {
+            throw new IllegalArgumentException(penguinCount + " penguins do not fit on " + edgeCells.length + " edge cells");
+        }
+        if ((long) penguinCount + hazardCount + foodCount > cells) {
+            throw new IllegalArgumentException((penguinCount + hazardCount + foodCount) + " objects do not fit on "
+                    + cells + " cells");
+        }
+        if (minReachableFood > foodCount) {
+            throw new IllegalArgumentException("Cannot reach " + minReachableFood + " of " + foodCount + " food items");
+        }
+    }
+
+    /**
+     * Lists the edge cells of a grid
+     * @param gridSize The number of rows and columns
+     * @return The edge cells, in cell order
+     */
+    private static int[] collectEdgeCells(int gridSize) {
+        int[] edge = new int[Math.max(0, gridSize == 1 ? 1 : 4 * gridSize - 4)];
+        int count = 0;
+        for (int row = 0; row < gridSize; row++) {
+            for (int col = 0; col < gridSize; col++) {
+                if (row == 0 || row == gridSize - 1 || col == 0 || col == gridSize - 1) {
+                    edge[count++] = row * gridSize + col;
+                }
+            }
+        }
+        return edge;
+    }
+
+    // ============================================================================
+    // GENERATION
+    // ============================================================================
+
+    /**
+     * Generates one board that meets the constraints
+     * @param random The board's random source
+     * @return A new terrain writing to NullOutput
+     * @throws IllegalStateException if no board met the constraints in MAX_ATTEMPTS draws
+     */
+    public IcyTerrain generate(SplittableRandom random) {
+        return BoardCodec.decode(generateLayout(workspaces.get(), random), gridSize, NullOutput.INSTANCE);
+    }
+
+    /**
+     * Generates one encoded board that meets the constraints
+     * @param work The calling thread's workspace
+     * @param random The board's random source
+     * @return The encoded board
+     * @throws IllegalStateException if no board met the constraints in MAX_ATTEMPTS draws
+     */
+    private byte[] generateLayout(Workspace work, SplittableRandom random) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            draw(work, random);
+            if (minReachableFood == 0 || work.countReachableFood() >= minReachableFood) {
+                work.buffer.clear();
+                BoardCodec.encode(gridSize, work.tags, work.penguinCells, penguinCount, work.buffer);
+                byte[] layout = new byte[work.buffer.position()];
+                work.buffer.get(0, layout);
+                return layout;
+            }
+            rejected.increment();
+        }
+        throw new IllegalStateException("No board with " + minReachableFood + " reachable food items in "
+                + MAX_ATTEMPTS + " attempts");
+    }
+
+    /**
+     * Draws one board into a workspace, without checking the constraints
+     * @param work The workspace; its previous board is cleared
+     * @param random The board's random source
+     */
+    private void draw(Workspace work, SplittableRandom random) {
+        work.clear();
+        byte[] tags = work.tags;
+        FreeCellSampler free = work.free;
+
+        // Partial Fisher-Yates over the edge cells: distinct edge cells, no retries
+        int[] edge = work.edge;
+        for (int i = 0; i < penguinCount; i++) {
+            int pick = i + random.nextInt(edge.length - i);
+            int cell = edge[pick];
+            edge[pick] = edge[i];
+            edge[i] = cell;
+            free.take(cell);
+            tags[cell] = BoardCodec.penguinTag(random.nextInt(4));
+            work.penguinCells[work.penguinCount++] = cell;
+        }
+        for (int i = 0; i < hazardCount; i++) {
+            tags[free.sample(random)] = BoardCodec.hazardTag(random.nextInt(4));
+        }
+        for (int i = 0; i < foodCount; i++) {
+            int weight = random.nextInt(5) + 1; // Same draws as new Food(random)
+            tags[free.sample(random)] = BoardCodec.foodTag(random.nextInt(FOOD_TYPES), weight);
+        }
+    }
+
+    /**
+     * Generates boards in parallel and hands them out encoded, in board order.
+     * The same seed always produces the same boards.
+     * @param count Number of boards
+     * @param seed The master seed
+     * @param sink Receives each encoded board (see BoardCodec), on the calling thread
+     * @throws IOException if the sink fails
+     */
+    public void generate(long count, long seed, BoardSink sink) throws IOException {
+        SplittableRandom master = new SplittableRandom(seed);
+        long chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        for (long first = 0; first < chunks; first += BATCH_CHUNKS) {
+            int batch = (int) Math.min(BATCH_CHUNKS, chunks - first);
+            SplittableRandom[] randoms = new SplittableRandom[batch];
+            for (int c = 0; c < batch; c++) {
+                randoms[c] = master.split();
+            }
+            long batchStart = first * CHUNK_SIZE;
+            byte[][][] layouts = IntStream.range(0, batch)
+                    .parallel()
+                    .mapToObj(c -> generateChunk(randoms[c], (int) Math.min(CHUNK_SIZE, count - batchStart - (long) c * CHUNK_SIZE)))
+                    .toArray(byte[][][]::new);
+            for (byte[][] chunk : layouts) {
+                for (byte[] layout : chunk) {
+                    sink.accept(layout);
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates a chunk of boards on the calling thread
+     * @param random The chunk's random stream
+     * @param boards Number of boards in the chunk
+     * @return The encoded boards
+     */
+    private byte[][] generateChunk(SplittableRandom random, int boards) {
+        Workspace work = workspaces.get();
+        byte[][] layouts = new byte[boards][];
+        for (int i = 0; i < boards; i++) {
+            layouts[i] = generateLayout(work, random);
+        }
+        return layouts;
+    }
+
+    /**
+     * BoardSink receives the encoded boards of a bulk generation.
+     */
+    @FunctionalInterface
+    public interface BoardSink {
+        /**
+         * Takes the next board
+         * @param layout The encoded board
+         * @throws IOException if storing it fails
+         */
+        void accept(byte[] layout) throws IOException;
+    }
+
+    // ============================================================================
+    // CONSTRAINTS
+    // ============================================================================
+
+    /**
+     * Counts the food items some penguin can collect within GameEngine.MAX_TURNS of its own
+     * moves, without abilities and with every other object standing still. Hazards and other
+     * penguins stop a slide in front of them; water and holes end it.
+     * @param terrain The board
+     * @return The number of distinct reachable food items
+     */
+    public static int countReachableFood(IcyTerrain terrain) {
+        int size = terrain.getGridSize();
+        Workspace work = new Workspace(size, new int[0]);
+        System.arraycopy(BoardCodec.tagGrid(terrain), 0, work.tags, 0, size * size);
+        List<Penguin> penguins = terrain.getPenguins();
+        work.penguinCells = new int[penguins.size()];
+        for (Penguin p : penguins) {
+            int[] pos = terrain.getPosition(p);
+            if (pos != null) {
+                work.penguinCells[work.penguinCount++] = pos[0] * size + pos[1];
+            }
+        }
+        return work.countReachableFood();
+    }
+
+    /**
+     * Workspace holds one thread's scratch arrays, reused for every board it draws.
+     */
+    private static final class Workspace {
+        private final int size;
+        private final byte[] tags; // BoardCodec tag per cell, NO_OBJECT if empty
+        private final FreeCellSampler free;
+        private final int[] edgeCells; // Every edge cell, in cell order
+        private final int[] edge; // Copy of edgeCells shuffled by the penguin draws
+        private int[] penguinCells; // Penguin cells in turn order
+        private int penguinCount;
+        private final ByteBuffer buffer; // Encoding scratch
+        private final boolean[] counted; // Reachability: food already counted
+        private final int[] seen; // Reachability: stamp of the last penguin that reached a cell
+        private int[] frontier;
+        private int[] next;
+
+        Workspace(int size, int[] edgeCells) {
+            int cells = size * size;
+            this.size = size;
+            tags = new byte[cells];
+            free = new FreeCellSampler(size);
+            this.edgeCells = edgeCells;
+            edge = edgeCells.clone();
+            penguinCells = new int[edgeCells.length];
+            buffer = ByteBuffer.allocate(BoardCodec.maxEncodedSize(size, cells));
+            counted = new boolean[cells];
+            seen = new int[cells];
+            frontier = new int[cells];
+            next = new int[cells];
+        }
+
+        /**
+         * Empties the grid. Every board starts from the same state, so boards depend only
+         * on their random stream and not on what the thread drew before.
+         */
+        void clear() {
+            Arrays.fill(tags, BoardCodec.NO_OBJECT);
+            System.arraycopy(edgeCells, 0, edge, 0, edge.length);
+            free.reset();
+            penguinCount = 0;
+        }
+
+        /**
+         * Counts the reachable food items of the board in the workspace (see countReachableFood)
+         * @return The number of distinct reachable food items
+         */
+        int countReachableFood() {
+            Arrays.fill(counted, false);
+            Arrays.fill(seen, 0);
+            int reachable = 0;
+
+            for (int k = 0; k < penguinCount; k++) {
+                int start = penguinCells[k];
+                int stamp = k + 1;
+                seen[start] = stamp;
+                frontier[0] = start;
+                int frontierSize = 1;
+
+                for (int move = 0; move < GameEngine.MAX_TURNS && frontierSize > 0; move++) {
+                    int nextSize = 0;
+                    for (int f = 0; f < frontierSize; f++) {
+                        for (Direction d : DIRECTIONS) {
+                            int[] delta = IcyTerrain.getDirectionDelta(d);
+                            int row = frontier[f] / size + delta[0];
+                            int col = frontier[f] % size + delta[1];
+                            // Slide over empty cells; the penguin's own starting cell is empty once it left
+                            while (row >= 0 && row < size && col >= 0 && col < size
+                                    && (tags[row * size + col] == BoardCodec.NO_OBJECT || row * size + col == start)) {
+                                row += delta[0];
+                                col += delta[1];
+                            }
+                            if (row < 0 || row >= size || col < 0 || col >= size) continue; // Into the water
+
+                            int hit = row * size + col;
+                            int stop;
+                            byte kind = BoardCodec.kindOf(tags[hit]);
+                            if (kind == ITerrainObject.FOOD) {
+                                if (!counted[hit]) {
+                                    counted[hit] = true;
+                                    reachable++;
+                                }
+                                stop = hit; // Penguins stop on the food they eat
+                            } else if (kind == ITerrainObject.HOLE) {
+                                continue; // Into the hole
+                            } else {
+                                stop = hit - delta[0] * size - delta[1];
+                            }
+                            if (seen[stop] != stamp) {
+                                seen[stop] = stamp;
+                                next[nextSize++] = stop;
+                            }
+                        }
+                    }
+                    int[] swap = frontier;
+                    frontier = next;
+                    next = swap;
+                    frontierSize = nextSize;
+                }
+            }
+            return reachable;
+        }
+    }
+
+    // ============================================================================
+    // ACCESSORS
+    // ============================================================================
+
+    /**
+     * Gets the grid size of the boards
+     * @return The grid size
+     */
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    /**
+     * Gets the number of objects on every board
+     * @return Penguins, hazards and food together
+     */
+    public int getObjectCount() {
+        return penguinCount + hazardCount + foodCount;
+    }
+
+    /**
+     * Gets the number of boards drawn again because they missed a constraint
+     * @return The rejected board count, over the generator's lifetime
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Generates boards from the command line, optionally into a BoardCorpus, and prints the throughput.
+     * @param args Boards, grid size, hazard and food density, minimum reachable food, corpus file and seed (all optional)
+     * @throws IOException if the corpus cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        long boards = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_BOARDS;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : IcyTerrain.DEFAULT_GRID_SIZE;
+        double hazards = args.length > 2 ? Double.parseDouble(args[2]) : STANDARD_HAZARD_DENSITY;
+        double food = args.length > 3 ? Double.parseDouble(args[3]) : STANDARD_FOOD_DENSITY;
+        int minReachable = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+        String file = args.length > 5 && !args[5].equals("-") ? args[5] : null;
+        long seed = args.length > 6 ? Long.parseLong(args[6]) : System.nanoTime();
+
+        BoardGenerator generator = new BoardGenerator(size, IcyTerrain.PENGUIN_COUNT, hazards, food, minReachable);
+        long start = System.nanoTime();
+        if (file != null) {
+            int stride = BoardCorpus.strideFor(BoardCodec.maxEncodedSize(size, generator.getObjectCount()));
+            try (BoardCorpus.Writer writer = new BoardCorpus.Writer(Path.of(file), size, stride)) {
+                generator.generate(boards, seed, writer::add);
+            }
+        } else {
+            long[] bytes = {0};
+            generator.generate(boards, seed, layout -> bytes[0] += layout.length);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("Generated " + boards + " " + size + "x" + size + " boards"
+                + (file != null ? " into " + file : "") + " in " + Math.round(seconds * 1000) + " ms on "
+                + Runtime.getRuntime().availableProcessors() + " cores");
+        System.out.printf("Throughput: %.0f boards/s, rejected: %d%n", boards / seconds, generator.getRejected());
+        System.out.println("Seed: " + seed);
+    }
+}
@@ -0,0 +1,377 @@
+package game;
+
+import enums.Direction;
+import interfaces.IOutputSink;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import objects.Penguin;
+
+/**
+ * BoardSymmetry maps boards onto each other under the 8 symmetries of the square grid
+ * (4 rotations, each with or without a mirror). The rules do not care how the grid is
+ * turned: a board played with every Direction remapped the same way plays the same game.
+ *
+ * canonicalize picks, among the 8 transforms of a board's layout, the smallest one (tag
+ * grid first, then penguin cells in turn order), and returns it encoded with BoardCodec
+ * together with the transform used. Equivalent boards share one canonical layout, so a
+ * cache, corpus or search table keyed by it holds up to 8 times fewer entries. Moves found
+ * on the canonical board map back with Canonical.fromCanonical.
+ *
+ * A transform t applies a mirror (column c becomes size - 1 - c) if bit 2 is set, then
+ * t & 3 quarter turns clockwise. Transform 0 is the identity.
+ *
+ * Usage: java game.BoardSymmetry [boards] [seed]
+ */
+public final class BoardSymmetry {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    public static final int IDENTITY = 0;
+    public static final int TRANSFORM_COUNT = 8;
+    private static final int MIRROR = 4;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final Direction[][] DIRECTION_MAP = new Direction[TRANSFORM_COUNT][DIRECTIONS.length]; // By transform, direction ordinal
+    private static final int DEFAULT_BOARDS = 100_000;
+
+    static {
+        for (int t = 0; t < TRANSFORM_COUNT; t++) {
+            for (Direction dir : DIRECTIONS) {
+                int[] delta = IcyTerrain.getDirectionDelta(dir);
+                int dr = delta[0];
+                int dc = (t & MIRROR) != 0 ? -delta[1] : delta[1];
+                for (int turn = 0; turn < (t & 3); turn++) {
+                    int turned = -dr;
+                    dr = dc;
+                    dc = turned;
+                }
+                DIRECTION_MAP[t][dir.ordinal()] = directionOf(dr, dc);
+            }
+        }
+    }
+
+    private BoardSymmetry() {
+    }
+
+    // ============================================================================
+    // TRANSFORMS
+    // ============================================================================
+
+    /**
+     * Maps a cell under a transform
+     * @param t The transform (0-7)
+     * @param cell The cell index (row * gridSize + col)
+     * @param gridSize The grid size
+     * @return The index of the cell it lands on
+     */
+    public static int mapCell(int t, int cell, int gridSize) {
+        int row = cell / gridSize;
+        int col = cell % gridSize;
+        if ((t & MIRROR) != 0) {
+            col = gridSize - 1 - col;
+        }
+        for (int turn = 0; turn < (t & 3); turn++) {
+            int turned = gridSize - 1 - row;
+            row = col;
+            col = turned;
+        }
+        return row * gridSize + col;
+    }
+
+    /**
+     * Maps a direction under a transform
+     * @param t The transform (0-7)
+     * @param dir The direction
+     * @return The direction it points to on the transformed board
+     */
+    public static Direction mapDirection(int t, Direction dir) {
+        return DIRECTION_MAP[t][dir.ordinal()];
+    }
+
+    /**
+     * Gets the transform that undoes another
+     * @param t The transform (0-7)
+     * @return Its inverse
+     */
+    public static int inverse(int t) {
+        // Mirrored transforms undo themselves; rotations undo by turning the rest of the way
+        return (t & MIRROR) != 0 ? t : (4 - t) & 3;
+    }
+
+    /**
+     * Builds the board a terrain's layout becomes under a transform
+     * @param terrain The terrain
+     * @param t The transform (0-7)
+     * @param output The sink for the new terrain's messages
+     * @return A new terrain with the transformed layout, as BoardCodec would decode it
+     * @throws IllegalArgumentException if the transform is not 0-7, or the terrain holds an
+     *         object BoardCodec does not know
+     */
+    public static IcyTerrain transform(IcyTerrain terrain, int t, IOutputSink output) {
+        checkTransform(t);
+        Layout layout = new Layout(terrain);
+        layout.apply(t);
+        return BoardCodec.decode(layout.encode(), terrain.getGridSize(), output);
+    }
+
+    // ============================================================================
+    // CANONICALIZATION
+    // ============================================================================
+
+    /**
+     * Finds the canonical form of a terrain's layout
+     * @param terrain The terrain
+     * @return The smallest of the 8 transformed layouts, and the transform that gives it
+     * @throws IllegalArgumentException if the terrain holds an object BoardCodec does not know
+     */
+    public static Canonical canonicalize(IcyTerrain terrain) {
+        Layout layout = new Layout(terrain);
+        int best = IDENTITY;
+        for (int t = 1; t < TRANSFORM_COUNT; t++) {
+            if (layout.compare(t, best) < 0) {
+                best = t;
+            }
+        }
+        layout.apply(best);
+        return new Canonical(layout.encode(), best);
+    }
+
+    /**
+     * Checks that a transform number is valid
+     * @param t The transform
+     * @throws IllegalArgumentException if it is not 0-7
+     */
+    private static void checkTransform(int t) {
+        if (t < 0 || t >= TRANSFORM_COUNT) {
+            throw new IllegalArgumentException("Transform must be 0-" + (TRANSFORM_COUNT - 1) + ": " + t);
+        }
+    }
+
+    /**
+     * Gets the direction of a unit step
+     * @param dr Row step
+     * @param dc Column step
+     * @return The direction whose delta it is
+     */
+    private static Direction directionOf(int dr, int dc) {
+        for (Direction dir : DIRECTIONS) {
+            int[] delta = IcyTerrain.getDirectionDelta(dir);
+            if (delta[0] == dr && delta[1] == dc) {
+                return dir;
+            }
+        }
+        throw new IllegalStateException("No direction for step " + dr + "," + dc);
+    }
+
+    // ============================================================================
+    // LAYOUT
+    // ============================================================================
+
+    /**
+     * The tag grid and penguin cells of a terrain, as BoardCodec encodes them
+     */
+    private static final class Layout {
+        private final int gridSize;
+        private byte[] cellTags;
+        private int[] penguinCells; // In turn order, penguins on the grid only
+        private final int penguinCount;
+
+        Layout(IcyTerrain terrain) {
+            gridSize = terrain.getGridSize();
+            cellTags = BoardCodec.tagGrid(terrain);
+            List<Penguin> penguins = terrain.getPenguins();
+            penguinCells = new int[penguins.size()];
+            int count = 0;
+            for (Penguin p : penguins) {
+                int[] pos = terrain.getPosition(p);
+                if (pos != null) {
+                    penguinCells[count++] = pos[0] * gridSize + pos[1];
+                }
+            }
+            penguinCount = count;
+        }
+
+        /**
+         * Gets the tag a transformed layout has on a cell
+         * @param t The transform
+         * @param cell The cell of the transformed layout
+         * @return The tag
+         */
+        byte tagAt(int t, int cell) {
+            return cellTags[mapCell(inverse(t), cell, gridSize)];
+        }
+
+        /**
+         * Orders two transformed layouts: tag grid first, then penguin cells in turn order
+         * @param a The first transform
+         * @param b The second transform
+         * @return A negative number, zero or a positive number as layout a is smaller, equal or greater
+         */
+        int compare(int a, int b) {
+            int cells = cellTags.length;
+            for (int cell = 0; cell < cells; cell++) {
+                int diff = tagAt(a, cell) - tagAt(b, cell);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            for (int i = 0; i < penguinCount; i++) {
+                int diff = mapCell(a, penguinCells[i], gridSize) - mapCell(b, penguinCells[i], gridSize);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Replaces the layout with its transform
+         * @param t The transform
+         */
+        void apply(int t) {
+            if (t == IDENTITY) {
+                return;
+            }
+            byte[] moved = new byte[cellTags.length];
+            for (int cell = 0; cell < moved.length; cell++) {
+                moved[mapCell(t, cell, gridSize)] = cellTags[cell];
+            }
+            cellTags = moved;
+            int[] cells = Arrays.copyOf(penguinCells, penguinCount);
+            for (int i = 0; i < penguinCount; i++) {
+                cells[i] = mapCell(t, cells[i], gridSize);
+            }
+            penguinCells = cells;
+        }
+
+        /**
+         * Encodes the layout with BoardCodec
+         * @return The encoded layout
+         */
+        byte[] encode() {
+            ByteBuffer buffer = ByteBuffer.allocate(BoardCodec.maxEncodedSize(gridSize, cellTags.length));
+            BoardCodec.encode(gridSize, cellTags, penguinCells, penguinCount, buffer);
+            byte[] bytes = new byte[buffer.position()];
+            buffer.get(0, bytes);
+            return bytes;
+        }
+    }
+
+    // ============================================================================
+    // CANONICAL
+    // ============================================================================
+
+    /**
+     * The canonical layout of a board and the transform that maps the board onto it
+     */
+    public static final class Canonical {
+        private final byte[] layout;
+        private final int transform;
+
+        private Canonical(byte[] layout, int transform) {
+            this.layout = layout;
+            this.transform = transform;
+        }
+
+        /**
+         * Gets the canonical layout, encoded with BoardCodec
+         * @return The layout bytes; equal for all equivalent boards
+         */
+        public byte[] getLayout() {
+            return layout.clone();
+        }
+
+        /**
+         * Gets the transform from the original board to the canonical one
+         * @return The transform (0-7)
+         */
+        public int getTransform() {
+            return transform;
+        }
+
+        /**
+         * Maps a direction on the original board to the canonical board
+         * @param dir The direction on the original board
+         * @return The same move on the canonical board
+         */
+        public Direction toCanonical(Direction dir) {
+            return mapDirection(transform, dir);
+        }
+
+        /**
+         * Maps a direction on the canonical board back to the original board
+         * @param dir The direction on the canonical board
+         * @return The same move on the original board
+         */
+        public Direction fromCanonical(Direction dir) {
+            return mapDirection(inverse(transform), dir);
+        }
+
+        /**
+         * Maps a cell of the canonical board back to the original board
+         * @param cell The cell index on the canonical board
+         * @param gridSize The grid size
+         * @return The cell index on the original board
+         */
+        public int cellFromCanonical(int cell, int gridSize) {
+            return mapCell(inverse(transform), cell, gridSize);
+        }
+
+        /**
+         * Equal canonical forms mean equivalent boards
+         * @param o The other object
+         * @return true if o is a Canonical with the same layout
+         */
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Canonical && Arrays.equals(layout, ((Canonical) o).layout);
+        }
+
+        /**
+         * Hashes the layout only, so equivalent boards share a hash
+         * @return The hash code
+         */
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(layout);
+        }
+    }
+
+    // ============================================================================
+    // COMMAND LINE
+    // ============================================================================
+
+    /**
+     * Generates random standard boards together with a random transform of each, and counts
+     * the distinct layouts with and without canonicalization.
+     * @param args Number of boards and seed (both optional)
+     */
+    public static void main(String[] args) {
+        int boards = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BOARDS;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+
+        SplittableRandom random = new SplittableRandom(seed);
+        Set<ByteBuffer> raw = new HashSet<>();
+        Set<Canonical> canonical = new HashSet<>();
+        long start = System.nanoTime();
+        for (int b = 0; b < boards; b++) {
+            IcyTerrain board = new IcyTerrain(IcyTerrain.DEFAULT_GRID_SIZE, NullOutput.INSTANCE);
+            board.populate(random.split());
+            IcyTerrain turned = transform(board, random.nextInt(TRANSFORM_COUNT), NullOutput.INSTANCE);
+            for (IcyTerrain t : new IcyTerrain[] {board, turned}) {
+                raw.add(ByteBuffer.wrap(BoardCodec.encode(t)));
+                canonical.add(canonicalize(t));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println("Boards: " + 2 * boards + " (" + boards + " random, each also transformed)");
+        System.out.println("Distinct layouts: " + raw.size() + ", distinct canonical layouts: " + canonical.size());
+        System.out.println("Elapsed: " + elapsed / 1_000_000 + " ms");
+        System.out.println("Seed: " + seed);
+    }
+}
@@ -0,0 +1,111 @@
+package game;
+
+import java.util.Arrays;
+
+/**
+ * ChangeLog is the undo log of IcyTerrain.makeMove: one entry per cell write,
+ * hole plug and penguin field change, in the order they happened.
+ * Entries live in parallel arrays that only grow, so a search that reuses the log
+ * stops allocating once the arrays are large enough.
+ */
+class ChangeLog {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    /** A cell was written: arg = cell index, ref = previous content (null if empty) */
+    static final byte CELL = 0;
+    /** A hole was plugged: ref = the hole */
+    static final byte PLUG = 1;
+    /** A penguin was stunned: ref = the penguin */
+    static final byte STUN = 2;
+    /** A penguin's stun was cleared: ref = the penguin */
+    static final byte UNSTUN = 3;
+    /** A penguin used its ability: ref = the penguin */
+    static final byte ABILITY = 4;
+    /** A penguin was eliminated: ref = the penguin */
+    static final byte ELIMINATE = 5;
+    /** A penguin ate food: ref = the penguin */
+    static final byte EAT = 6;
+    /** A penguin lost food as penalty: ref = the penguin, ref2 = the food */
+    static final byte PENALTY = 7;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private byte[] ops = new byte[INITIAL_CAPACITY];
+    private int[] args = new int[INITIAL_CAPACITY];
+    private Object[] refs = new Object[INITIAL_CAPACITY];
+    private Object[] refs2 = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    // ============================================================================
+    // OPERATIONS
+    // ============================================================================
+
+    /**
+     * Appends an entry
+     * @param op The entry type
+     * @param arg The integer argument (see the entry types)
+     * @param ref The first reference argument
+     * @param ref2 The second reference argument
+     */
+    void push(byte op, int arg, Object ref, Object ref2) {
+        if (size == ops.length) {
+            grow();
+        }
+        ops[size] = op;
+        args[size] = arg;
+        refs[size] = ref;
+        refs2[size] = ref2;
+        size++;
+    }
+
+    /**
+     * Removes the last entry
+     */
+    void pop() {
+        size--;
+        refs[size] = null; // Let undone objects be collected
+        refs2[size] = null;
+    }
+
+    /**
+     * Removes every entry
+     */
+    void clear() {
+        Arrays.fill(refs, 0, size, null);
+        Arrays.fill(refs2, 0, size, null);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte opAt(int i) {
+        return ops[i];
+    }
+
+    int argAt(int i) {
+        return args[i];
+    }
+
+    Object refAt(int i) {
+        return refs[i];
+    }
+
+    Object ref2At(int i) {
+        return refs2[i];
+    }
+
+    private void grow() {
+        int capacity = ops.length * 2;
+        ops = Arrays.copyOf(ops, capacity);
+        args = Arrays.copyOf(args, capacity);
+        refs = Arrays.copyOf(refs, capacity);
+        refs2 = Arrays.copyOf(refs2, capacity);
+    }
+}
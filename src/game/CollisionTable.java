@@ -0,0 +1,173 @@
+package game;
+
+import interfaces.ICollisionHandler;
+import interfaces.ITerrainObject;
+import java.util.Arrays;
+import objects.HoleInIce;
+import objects.Penguin;
+
+/**
+ * CollisionTable is the moving-kind x stationary-kind dispatch matrix of collision rules.
+ * IcyTerrain.handleCollision reads the two kind codes from the grid and calls the handler in
+ * one array slot, instead of classifying both objects with instanceof chains.
+ *
+ * The built-in rules are set up once, when the class is loaded:
+ * - any object into an open HoleInIce falls in (penguins are eliminated, others plug it)
+ * - a penguin into a HeavyIceBlock loses its lightest food
+ * - anything into a LightIceBlock pushes it; a penguin is also stunned
+ * - anything into a SeaLion pushes it; a penguin also bounces back
+ * - a penguin into a penguin pushes the other penguin
+ * Every other pair stops the moving object.
+ *
+ * New object types pick a kind code from ITerrainObject.FIRST_CUSTOM_KIND upwards and
+ * register their kind and rules here; the engine needs no change.
+ *
+ * A table is immutable. Registering publishes a changed copy as the current table, and every
+ * IcyTerrain keeps the table that was current when it was created. Rules registered later
+ * apply to new terrains only, so a game never sees its rules change, and terrains on any
+ * thread read their table without synchronization.
+ */
+public final class CollisionTable {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    private static final int KINDS = ITerrainObject.KIND_COUNT;
+
+    /** The moving object stops in front of the stationary one */
+    public static final ICollisionHandler STOP = (terrain, moving, stationary, dir, mr, mc, sr, sc) -> { };
+
+    private static volatile CollisionTable current = builtIn(); // The table new terrains take
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final ICollisionHandler[] handlers; // handlers[moving * KINDS + stationary]
+    private final boolean[] hazard; // Kinds the AI treats as hazards
+    private final boolean builtIn; // Whether the table holds the built-in rules only
+
+    private CollisionTable(ICollisionHandler[] handlers, boolean[] hazard, boolean builtIn) {
+        this.handlers = handlers;
+        this.hazard = hazard;
+        this.builtIn = builtIn;
+    }
+
+    /**
+     * Creates the table of the built-in rules
+     * @return The table
+     */
+    private static CollisionTable builtIn() {
+        ICollisionHandler[] handlers = new ICollisionHandler[KINDS * KINDS];
+        Arrays.fill(handlers, STOP);
+        boolean[] hazard = new boolean[KINDS];
+
+        setForAll(handlers, ITerrainObject.HOLE, (terrain, moving, stationary, dir, mr, mc, sr, sc) ->
+                terrain.handleHoleCollision(moving, (HoleInIce) stationary, mr, mc));
+
+        handlers[ITerrainObject.PENGUIN * KINDS + ITerrainObject.HEAVY_ICE] = (terrain, moving, stationary, dir, mr, mc, sr, sc) ->
+                terrain.handleHeavyIcePenalty((Penguin) moving);
+
+        setForAll(handlers, ITerrainObject.LIGHT_ICE, (terrain, moving, stationary, dir, mr, mc, sr, sc) ->
+                terrain.pushObject(stationary, dir));
+        handlers[ITerrainObject.PENGUIN * KINDS + ITerrainObject.LIGHT_ICE] = (terrain, moving, stationary, dir, mr, mc, sr, sc) -> {
+            terrain.stunPenguin((Penguin) moving);
+            terrain.pushObject(stationary, dir);
+        };
+
+        setForAll(handlers, ITerrainObject.SEA_LION, (terrain, moving, stationary, dir, mr, mc, sr, sc) ->
+                terrain.handleSeaLionCollision(moving, stationary, dir));
+
+        handlers[ITerrainObject.PENGUIN * KINDS + ITerrainObject.PENGUIN] = (terrain, moving, stationary, dir, mr, mc, sr, sc) ->
+                terrain.handlePenguinCollision((Penguin) moving, (Penguin) stationary, dir);
+
+        hazard[ITerrainObject.LIGHT_ICE] = true;
+        hazard[ITerrainObject.HEAVY_ICE] = true;
+        hazard[ITerrainObject.SEA_LION] = true;
+        hazard[ITerrainObject.HOLE] = true;
+        return new CollisionTable(handlers, hazard, true);
+    }
+
+    // ============================================================================
+    // REGISTRATION
+    // ============================================================================
+
+    /**
+     * Sets the rule for one pair of kinds, for terrains created from now on
+     * @param movingKind The sliding object's kind
+     * @param stationaryKind The kind of the object being hit
+     * @param handler The rule
+     */
+    public static synchronized void register(int movingKind, int stationaryKind, ICollisionHandler handler) {
+        ICollisionHandler[] handlers = current.handlers.clone();
+        handlers[movingKind * KINDS + stationaryKind] = handler;
+        current = new CollisionTable(handlers, current.hazard, false);
+    }
+
+    /**
+     * Sets the rule for hitting one kind, whatever the moving object is, for terrains created from now on
+     * @param stationaryKind The kind of the object being hit
+     * @param handler The rule
+     */
+    public static synchronized void registerForAll(int stationaryKind, ICollisionHandler handler) {
+        ICollisionHandler[] handlers = current.handlers.clone();
+        setForAll(handlers, stationaryKind, handler);
+        current = new CollisionTable(handlers, current.hazard, false);
+    }
+
+    /**
+     * Declares how the AI sees a kind, for terrains created from now on
+     * @param kind The kind code
+     * @param hazard true if the AI should treat objects of this kind as hazards
+     */
+    public static synchronized void registerKind(int kind, boolean hazard) {
+        boolean[] hazards = current.hazard.clone();
+        hazards[kind] = hazard;
+        current = new CollisionTable(current.handlers, hazards, false);
+    }
+
+    /**
+     * Gets the table new terrains take
+     * @return The built-in rules plus everything registered so far
+     */
+    public static CollisionTable current() {
+        return current;
+    }
+
+    private static void setForAll(ICollisionHandler[] handlers, int stationaryKind, ICollisionHandler handler) {
+        for (int moving = 0; moving < KINDS; moving++) {
+            handlers[moving * KINDS + stationaryKind] = handler;
+        }
+    }
+
+    // ============================================================================
+    // LOOKUP
+    // ============================================================================
+
+    /**
+     * Gets the rule for a pair of kinds
+     * @param movingKind The sliding object's kind
+     * @param stationaryKind The kind of the object being hit
+     * @return The rule (STOP if none was registered)
+     */
+    public ICollisionHandler get(int movingKind, int stationaryKind) {
+        return handlers[movingKind * KINDS + stationaryKind];
+    }
+
+    /**
+     * Checks whether a kind is a hazard
+     * @param kind The kind code
+     * @return true for ice blocks, sea lions, holes and registered custom hazards
+     */
+    public boolean isHazard(int kind) {
+        return hazard[kind];
+    }
+
+    /**
+     * Checks whether the table holds the built-in rules only, i.e. nothing was registered
+     * before it was taken. Only such terrains can be played on BitboardTerrain.
+     * @return true if no rule or kind was registered
+     */
+    public boolean isBuiltIn() {
+        return builtIn;
+    }
+}
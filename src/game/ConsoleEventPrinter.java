@@ -0,0 +1,139 @@
+package game;
+
+import interfaces.IGameEventListener;
+import interfaces.IOutputSink;
+import interfaces.ITerrainObject;
+import objects.*;
+
+/**
+ * ConsoleEventPrinter turns game events back into the terrain's console messages and writes
+ * them to an IOutputSink. IcyTerrain subscribes one whenever its output is not NullOutput,
+ * so games print exactly what they always did.
+ */
+public final class ConsoleEventPrinter implements IGameEventListener {
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final IOutputSink output;
+
+    // ============================================================================
+    // CONSTRUCTOR
+    // ============================================================================
+
+    /**
+     * Creates a printer
+     * @param output The sink that receives the messages
+     */
+    public ConsoleEventPrinter(IOutputSink output) {
+        this.output = output;
+    }
+
+    /**
+     * Gets the sink the messages go to
+     * @return The output sink
+     */
+    public IOutputSink getOutput() {
+        return output;
+    }
+
+    // ============================================================================
+    // IGameEventListener
+    // ============================================================================
+
+    /**
+     * Writes the message of an event, if it has one
+     * @param event The event
+     */
+    @Override
+    public void onEvent(GameEvent event) {
+        ITerrainObject actor = event.getActor();
+        ITerrainObject target = event.getTarget();
+        switch (event.getType()) {
+            case MOVE:
+                break;
+            case ABILITY:
+                if (actor instanceof KingPenguin) {
+                    output.println(actor.getSymbol() + " uses King Ability (stops at 5th square).");
+                } else if (actor instanceof EmperorPenguin) {
+                    output.println(actor.getSymbol() + " uses Emperor Ability (stops at 3rd square).");
+                } else if (actor instanceof RoyalPenguin) {
+                    output.println(actor.getSymbol() + " moves 1 square (Royal Walk).");
+                } else {
+                    output.println(actor.getSymbol() + " prepares to jump over a hazard.");
+                }
+                break;
+            case ABILITY_STOP:
+                output.println(actor.getSymbol() + " stopped early using special ability.");
+                break;
+            case STEP_BLOCKED:
+                output.println(actor.getSymbol() + " cannot step onto " + target.getSymbol() + "!");
+                break;
+            case STEP_SLIDE:
+                output.println(actor.getSymbol() + " now slides from the new position.");
+                break;
+            case STEP_OUT:
+                output.println(actor.getSymbol() + " stepped out of the grid!");
+                break;
+            case JUMP_NO_HAZARD:
+                output.println("No hazard to jump over. " + actor.getSymbol() + " slides normally.");
+                break;
+            case JUMP:
+                output.println(actor.getSymbol() + " jumps over " + target.getSymbol() + "!");
+                break;
+            case JUMP_INTO_WATER:
+                output.println(actor.getSymbol() + " jumps over " + target.getSymbol() + " but lands in water!");
+                break;
+            case JUMP_BLOCKED:
+                output.println("Jump failed! Landing spot occupied by " + target.getSymbol() + ".");
+                output.println(actor.getSymbol() + " slides normally instead.");
+                break;
+            case CASCADE_LIMIT:
+                output.println(actor.getSymbol() + " stops: chain reaction limit reached.");
+                break;
+            case FALL:
+                switch (event.getCause()) {
+                    case HOLE:
+                        output.println(actor.getSymbol() + " fell into the hole!");
+                        break;
+                    default:
+                        output.println(actor.getSymbol() + " fell into the water!");
+                }
+                break;
+            case CRUSH:
+                output.println(actor.getSymbol() + " crushed " + target.getSymbol() + "!");
+                break;
+            case COLLISION:
+                output.println(actor.getSymbol() + " hit " + target.getSymbol() + "!");
+                break;
+            case PENALTY:
+                if (target != null) {
+                    Food lost = (Food) target;
+                    output.println(actor.getSymbol() + " lost " + lost.getType() + " (" + lost.getWeight() + " units) as penalty!");
+                } else {
+                    output.println(actor.getSymbol() + " has no food to lose!");
+                }
+                break;
+            case PLUG:
+                output.println("The hole is now PLUGGED.");
+                break;
+            case BOUNCE:
+                output.println("BOING! " + target.getSymbol() + " bounces away!");
+                break;
+            case PUSH:
+                output.println("Penguin collision! " + target.getSymbol() + " starts sliding!");
+                break;
+            case ELIMINATION:
+                output.println(actor.getSymbol() + " has been removed from the game!");
+                break;
+            case STUN:
+                output.println(actor.getSymbol() + " is stunned and will skip the next turn!");
+                break;
+            case PICKUP: {
+                Food food = (Food) target;
+                output.println(actor.getSymbol() + " takes the " + food.getType() + " on the ground. (Weight=" + food.getWeight() + " units)");
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package game;
+
+import interfaces.IOutputSink;
+import java.io.PrintStream;
+
+/**
+ * ConsoleOutput writes game messages to a PrintStream (System.out by default).
+ */
+public class ConsoleOutput implements IOutputSink {
+
+    private final PrintStream out;
+
+    /**
+     * Creates a sink that writes to System.out
+     */
+    public ConsoleOutput() {
+        this(System.out);
+    }
+
+    /**
+     * Creates a sink that writes to the given stream
+     * @param out The destination stream
+     */
+    public ConsoleOutput(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void print(String text) {
+        out.print(text);
+    }
+
+    @Override
+    public void println(String text) {
+        out.println(text);
+    }
+}
@@ -0,0 +1,86 @@
+package game;
+
+import enums.Direction;
+import interfaces.IPenguinController;
+import java.io.PrintStream;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+import objects.Penguin;
+
+/**
+ * ConsolePlayerController reads the player's decisions from a Scanner.
+ * Asks whether to use special ability and which direction to move.
+ */
+public class ConsolePlayerController implements IPenguinController {
+
+    private final Scanner scanner; // For player input
+    private final PrintStream prompts; // Where the questions are printed
+
+    /**
+     * Creates a controller reading System.in and prompting on System.out
+     */
+    public ConsolePlayerController() {
+        this(new Scanner(System.in), System.out);
+    }
+
+    /**
+     * Creates a controller with the given input and prompt streams
+     * @param scanner The source of player answers
+     * @param prompts The stream the questions are printed to
+     */
+    public ConsolePlayerController(Scanner scanner, PrintStream prompts) {
+        this.scanner = scanner;
+        this.prompts = prompts;
+    }
+
+    /**
+     * Handles a player's turn by prompting for input.
+     * @param terrain The current terrain
+     * @param p The player's penguin
+     * @param random Unused; the player decides
+     * @return The move the player entered
+     */
+    @Override
+    public Move chooseMove(IcyTerrain terrain, Penguin p, SplittableRandom random) {
+        // Ask if player wants to use special ability (only if not already used)
+        boolean useAbility = false;
+        if (!p.hasUsedSpecialAbility()) {
+            String answer;
+            do {
+                prompts.print("Will " + p.getSymbol() + " use its special action? Answer with Y or N --> ");
+                answer = scanner.next().trim().toUpperCase();
+            } while(!answer.equals("Y") && !answer.equals("N"));
+
+            useAbility = answer.equals("Y");
+        }
+
+        // Ask for movement direction
+        String dirInput;
+        do {
+            prompts.print("Which direction will " + p.getSymbol() + " move? Answer with U (Up), D (Down), L (Left), R (Right) --> ");
+            dirInput = scanner.next().trim().toUpperCase();
+        } while(!dirInput.equals("U") && !dirInput.equals("D") && !dirInput.equals("L") && !dirInput.equals("R"));
+
+        return new Move(parseDirection(dirInput), useAbility);
+    }
+
+    @Override
+    public boolean isHuman() {
+        return true;
+    }
+
+    /**
+     * Parses direction from user input string.
+     * @param input The input string (U/D/L/R)
+     * @return The corresponding Direction enum value
+     */
+    static Direction parseDirection(String input) {
+        switch(input.toUpperCase()) {
+            case "U": return Direction.UP;
+            case "D": return Direction.DOWN;
+            case "L": return Direction.LEFT;
+            case "R": return Direction.RIGHT;
+            default: return Direction.UP;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package game;
+
+import enums.Direction;
+import interfaces.ITerrainObject;
+import objects.Penguin;
+
+/**
+ * DirectionScan is what AIController looks at before moving: for each direction, the
+ * first object a penguin would meet (or the edge), captured at one moment.
+ * Scans only read the terrain, so the scans of many penguins can be taken concurrently
+ * while nothing moves, e.g. at the start of an arena round. A scan also remembers the
+ * terrain's write tick, and isCurrent tells whether its rays were written since; that needs
+ * the terrain to track writes (IcyTerrain.trackWrites), otherwise no scan is ever current.
+ * Instances are immutable.
+ */
+public final class DirectionScan {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final int row; // The penguin's row, -1 if it is not on the grid
+    private final int col;
+    private final int[] cells = new int[DIRECTIONS.length]; // First occupied cell per direction, -1 = edge
+    private final byte[] kinds = new byte[DIRECTIONS.length]; // Kind of that cell, EMPTY at the edge
+    private final long tick; // Terrain write tick when the scan was taken, -1 if writes were not tracked
+
+    // ============================================================================
+    // CONSTRUCTOR
+    // ============================================================================
+
+    /**
+     * Scans the four directions around a penguin
+     * @param terrain The terrain; must not be written during the scan
+     * @param p The penguin
+     */
+    public DirectionScan(IcyTerrain terrain, Penguin p) {
+        tick = terrain.getWriteTick();
+        int[] pos = terrain.getPosition(p);
+        if (pos == null) {
+            row = -1;
+            col = -1;
+            return;
+        }
+
+        row = pos[0];
+        col = pos[1];
+        for (Direction d : DIRECTIONS) {
+            int cell = terrain.findNextCell(row, col, d);
+            cells[d.ordinal()] = cell;
+            kinds[d.ordinal()] = cell < 0 ? ITerrainObject.EMPTY : terrain.getKindAt(cell);
+        }
+    }
+
+    // ============================================================================
+    // QUERIES
+    // ============================================================================
+
+    /**
+     * Checks whether the penguin was on the grid when scanned
+     * @return true if it was
+     */
+    public boolean isOnGrid() {
+        return row >= 0;
+    }
+
+    /**
+     * Gets the kind of the first object in a direction
+     * @param dir The direction
+     * @return The kind code, or ITerrainObject.EMPTY if nothing is in the way
+     */
+    public byte getKind(Direction dir) {
+        return kinds[dir.ordinal()];
+    }
+
+    /**
+     * Checks whether the scan still describes the terrain: the penguin's cell and every
+     * ray up to its first object were not written since the scan.
+     * @param terrain The terrain that was scanned
+     * @return true if the scan can still be used (false may also mean a nearby write,
+     *         or that the terrain does not track writes)
+     */
+    public boolean isCurrent(IcyTerrain terrain) {
+        if (!isOnGrid() || tick < 0) {
+            return false;
+        }
+        for (Direction d : DIRECTIONS) {
+            if (!terrain.isRayUnchanged(row, col, d, cells[d.ordinal()], tick)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
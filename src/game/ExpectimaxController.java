@@ -0,0 +1,372 @@
+package game;
+
+import enums.Direction;
+import interfaces.IPenguinController;
+import java.util.List;
+import java.util.SplittableRandom;
+import objects.FoodInventory;
+import objects.Penguin;
+
+/**
+ * ExpectimaxController is a search-based computer opponent.
+ * It plays the remaining turns forward on BitboardTerrain copies: its own moves are maximized over
+ * all four directions with and without the special ability, and every other penguin's move is a
+ * chance node weighted like AIController plays (food first, then hazards, 30% ability chance).
+ *
+ * The search deepens one penguin move (ply) at a time until the end of the game is reached or the
+ * per-move time budget runs out; the best move of the deepest completed search is played.
+ * Results are cached in a TranspositionTable keyed by the Zobrist hash of the state, the
+ * turn index and the scores, so positions reached through different move orders, and the
+ * shallower iterations of iterative deepening, are searched once.
+ * Terrains BitboardTerrain cannot hold (other than 10x10, or with custom object kinds or
+ * collision rules) are handed to AIController.
+ */
+public class ExpectimaxController implements IPenguinController {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    public static final long DEFAULT_BUDGET_MILLIS = 50;
+
+    private static final double OPPONENT_ABILITY_CHANCE = 0.30; // Matches AIController
+    private static final double VISIBLE_FOOD_FACTOR = 0.5; // Value of food in sight at a cut-off, per weight unit
+    private static final double TIE_EPSILON = 1e-6; // Cached values are floats
+    private static final int TABLE_CAPACITY = 1 << 16;
+    private static final int TIME_CHECK_INTERVAL = 1024; // Nodes between clock reads
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final long budgetNanos; // Time budget per move
+    private final int maxDepth; // Deepest search in plies
+    private final AIController fallback = new AIController(); // Used when bitboards don't apply
+    private int turn = 1; // Turn being played, from beginTurn
+    private int maxTurns = GameEngine.MAX_TURNS;
+    private final TranspositionTable table = new TranspositionTable(TABLE_CAPACITY);
+    private int tableOwner = -1; // Penguin index the cached values are for
+
+    // State of the running search
+    private int me; // Index of the searching penguin
+    private int[] plies; // plies[i]: penguin moving at ply i (ply 0 is the searching penguin)
+    private int firstTurnIndex; // Turn index of ply 0
+    private long deadline;
+    private int nodes;
+    private boolean aborted;
+    private int completedDepth; // Depth of the last completed iteration
+
+    // ============================================================================
+    // CONSTRUCTORS
+    // ============================================================================
+
+    /**
+     * Creates a controller with the default time budget and no depth limit
+     */
+    public ExpectimaxController() {
+        this(DEFAULT_BUDGET_MILLIS, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a controller.
+     * @param budgetMillis Time budget per move in milliseconds
+     * @param maxDepth Deepest search in plies (penguin moves); a fixed depth with a generous
+     *                 budget makes the choices reproducible
+     */
+    public ExpectimaxController(long budgetMillis, int maxDepth) {
+        if (budgetMillis <= 0 || maxDepth < 1) {
+            throw new IllegalArgumentException("Budget and depth must be positive");
+        }
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.maxDepth = maxDepth;
+    }
+
+    // ============================================================================
+    // MOVE SELECTION
+    // ============================================================================
+
+    /**
+     * Remembers the turn being played
+     * @param turn The turn number (1-based)
+     * @param maxTurns The number of turns in the game
+     */
+    @Override
+    public void beginTurn(int turn, int maxTurns) {
+        this.turn = turn;
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Chooses the move with the best expected outcome found within the time budget.
+     * @param terrain The current terrain
+     * @param p The AI penguin
+     * @param random The game's random source, used to break ties
+     * @return The chosen move
+     */
+    @Override
+    public Move chooseMove(IcyTerrain terrain, Penguin p, SplittableRandom random) {
+        if (!BitboardTerrain.supports(terrain)) {
+            return fallback.chooseMove(terrain, p, random);
+        }
+
+        long start = System.nanoTime();
+        deadline = start + budgetNanos;
+        BitboardTerrain root = new BitboardTerrain(terrain);
+        List<Penguin> penguins = terrain.getPenguins();
+        me = penguins.indexOf(p);
+        plies = buildPlies(penguins.size());
+        firstTurnIndex = (turn - 1) * penguins.size() + me;
+        if (tableOwner != me) {
+            table.clear(); // Values are relative to the searching penguin
+            tableOwner = me;
+        }
+
+        int moveCount = root.hasUsedAbility(me) ? 4 : 8;
+        double[] values = new double[moveCount];
+        double[] completed = new double[moveCount];
+        completedDepth = 0;
+        aborted = false;
+        nodes = 0;
+
+        int depthLimit = Math.min(maxDepth, plies.length);
+        for (int depth = 1; depth <= depthLimit; depth++) {
+            for (int m = 0; m < moveCount && !aborted; m++) {
+                BitboardTerrain child = new BitboardTerrain(root);
+                child.applyMove(me, DIRECTIONS[m & 3], m >= 4);
+                values[m] = search(child, 1, depth - 1);
+            }
+            if (aborted) {
+                break;
+            }
+            System.arraycopy(values, 0, completed, 0, moveCount);
+            completedDepth = depth;
+            if (System.nanoTime() > deadline) {
+                break;
+            }
+        }
+
+        int best = pickBest(completed, moveCount, random);
+        return new Move(DIRECTIONS[best & 3], best >= 4);
+    }
+
+    /**
+     * Gets the depth reached by the last search
+     * @return The depth in plies of the last completed iteration
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Picks the highest valued move, breaking ties at random.
+     * Plain slides come first, so a tie between a move with and without the ability
+     * keeps the ability for later.
+     * @param values Value of each move
+     * @param moveCount Number of moves
+     * @param random The game's random source
+     * @return The move index (direction m % 4, ability if m >= 4)
+     */
+    private static int pickBest(double[] values, int moveCount, SplittableRandom random) {
+        double best = Double.NEGATIVE_INFINITY;
+        for (int m = 0; m < moveCount; m++) {
+            best = Math.max(best, values[m]);
+        }
+        // Among the best moves, only consider ability moves if no plain slide is as good
+        int first = 0;
+        int last = moveCount;
+        for (int m = 0; m < 4; m++) {
+            if (values[m] >= best - TIE_EPSILON) {
+                last = 4;
+                break;
+            }
+        }
+        if (last == moveCount && moveCount > 4) {
+            first = 4;
+        }
+
+        int ties = 0;
+        int chosen = first;
+        for (int m = first; m < last; m++) {
+            if (values[m] < best - TIE_EPSILON) continue;
+            ties++;
+            if (random.nextInt(ties) == 0) {
+                chosen = m;
+            }
+        }
+        return chosen;
+    }
+
+    // ============================================================================
+    // SEARCH
+    // ============================================================================
+
+    /**
+     * Lists the penguins that move after the searching one until the end of the game.
+     * @param penguinCount Number of penguins
+     * @return The ply order, starting with the searching penguin
+     */
+    private int[] buildPlies(int penguinCount) {
+        int remaining = (penguinCount - me) + penguinCount * Math.max(0, maxTurns - turn);
+        int[] order = new int[remaining];
+        int index = me;
+        for (int i = 0; i < remaining; i++) {
+            order[i] = index;
+            index = (index + 1) % penguinCount;
+        }
+        return order;
+    }
+
+    /**
+     * Expectimax value of a state for the searching penguin.
+     * @param state The state before ply
+     * @param ply The next ply to play
+     * @param depthLeft Plies still to expand before evaluating
+     * @return The expected value
+     */
+    private double search(BitboardTerrain state, int ply, int depthLeft) {
+        if (++nodes % TIME_CHECK_INTERVAL == 0 && completedDepth > 0 && System.nanoTime() > deadline) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        if (ply == plies.length) {
+            return evaluate(state, true);
+        }
+
+        int p = plies[ply];
+        if (!state.isActive(p)) {
+            return search(state, ply + 1, depthLeft); // Eliminated penguins don't play
+        }
+        if (depthLeft == 0) {
+            return evaluate(state, false);
+        }
+        if (state.isStunned(p)) {
+            BitboardTerrain child = new BitboardTerrain(state);
+            child.clearStun(p);
+            return search(child, ply + 1, depthLeft - 1);
+        }
+
+        long key = tableKey(state, ply);
+        long entry = table.probe(key);
+        if (entry != TranspositionTable.MISS && TranspositionTable.depthOf(entry) >= depthLeft) {
+            return TranspositionTable.valueOf(entry);
+        }
+
+        double value = p == me ? maxNode(state, ply, depthLeft) : chanceNode(state, p, ply, depthLeft);
+        if (!aborted) {
+            table.store(key, (float) value, depthLeft, 0);
+        }
+        return value;
+    }
+
+    /**
+     * Builds the cache key of a state: its hash, the turn index of the ply and how many items
+     * of each weight every penguin holds. The hash leaves inventories out, but the value
+     * depends on them: they give the scores, and a later HeavyIceBlock penalty takes the
+     * lightest item held.
+     * @param state The state
+     * @param ply The ply about to be played
+     * @return The key
+     */
+    private long tableKey(BitboardTerrain state, int ply) {
+        long key = state.getHash() ^ ZobristKeys.turn(firstTurnIndex + ply);
+        for (int q = 0; q < state.getPenguinCount(); q++) {
+            for (int w = 1; w <= FoodInventory.MAX_WEIGHT; w++) {
+                key ^= ZobristKeys.inventory(q, w, state.getFoodCount(q, w));
+            }
+        }
+        return key;
+    }
+
+    /**
+     * The searching penguin picks its best move.
+     */
+    private double maxNode(BitboardTerrain state, int ply, int depthLeft) {
+        int moveCount = state.hasUsedAbility(me) ? 4 : 8;
+        double best = Double.NEGATIVE_INFINITY;
+        for (int m = 0; m < moveCount; m++) {
+            best = Math.max(best, child(state, me, m, ply, depthLeft));
+        }
+        return best;
+    }
+
+    /**
+     * Another penguin moves the way AIController would: a random direction among those with food
+     * in sight, else among those with a hazard or penguin in sight, else among all four; the
+     * ability is used 30% of the time, and always by a Rockhopper facing a hazard.
+     */
+    private double chanceNode(BitboardTerrain state, int p, int ply, int depthLeft) {
+        int foodDirs = 0;
+        int blockedDirs = 0;
+        for (int d = 0; d < 4; d++) {
+            int kind = state.firstKindInDirection(p, DIRECTIONS[d]);
+            if (kind == BitboardTerrain.FOOD) {
+                foodDirs |= 1 << d;
+            } else if (kind != BitboardTerrain.EMPTY) {
+                blockedDirs |= 1 << d;
+            }
+        }
+        int candidates = foodDirs != 0 ? foodDirs : blockedDirs != 0 ? blockedDirs : 0x0F;
+        double dirWeight = 1.0 / Integer.bitCount(candidates);
+
+        double expected = 0;
+        for (int d = 0; d < 4; d++) {
+            if ((candidates & (1 << d)) == 0) continue;
+
+            double abilityChance = 0;
+            if (!state.hasUsedAbility(p)) {
+                boolean autoJump = state.getPenguinType(p) == BitboardTerrain.ROCKHOPPER
+                        && BitboardTerrain.isHazardKind(state.firstKindInDirection(p, DIRECTIONS[d]));
+                abilityChance = autoJump ? 1.0 : OPPONENT_ABILITY_CHANCE;
+            }
+
+            double value = 0;
+            if (abilityChance < 1.0) {
+                value += (1.0 - abilityChance) * child(state, p, d, ply, depthLeft);
+            }
+            if (abilityChance > 0) {
+                value += abilityChance * child(state, p, d + 4, ply, depthLeft);
+            }
+            expected += dirWeight * value;
+        }
+        return expected;
+    }
+
+    /**
+     * Plays move m (direction m % 4, ability if m >= 4) on a copy and searches on.
+     */
+    private double child(BitboardTerrain state, int p, int m, int ply, int depthLeft) {
+        BitboardTerrain next = new BitboardTerrain(state);
+        next.applyMove(p, DIRECTIONS[m & 3], m >= 4);
+        return search(next, ply + 1, depthLeft - 1);
+    }
+
+    /**
+     * Scores a state: the searching penguin's lead over the best other penguin.
+     * Below the horizon, food in sight is counted at a discount.
+     * @param state The state
+     * @param terminal true if the game is over in this state
+     * @return The value
+     */
+    private double evaluate(BitboardTerrain state, boolean terminal) {
+        int bestOther = 0;
+        for (int q = 0; q < state.getPenguinCount(); q++) {
+            if (q != me) {
+                bestOther = Math.max(bestOther, state.getScore(q));
+            }
+        }
+        double value = state.getScore(me) - bestOther;
+
+        if (!terminal && state.isActive(me)) {
+            int visible = 0;
+            for (Direction d : DIRECTIONS) {
+                int cell = state.firstCellInDirection(me, d);
+                if (cell >= 0) {
+                    visible = Math.max(visible, state.getFoodWeight(cell));
+                }
+            }
+            value += VISIBLE_FOOD_FACTOR * visible;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,155 @@
+package game;
+
+import enums.Direction;
+import interfaces.IGridStorage;
+import interfaces.ITerrainObject;
+
+/**
+ * FlatGrid stores the terrain in one flat object array plus a parallel
+ * byte array of cell kinds. The grid size is chosen at construction time,
+ * which allows very large terrains without the overhead of nested lists.
+ *
+ * Occupancy is also kept as one bitset per row and one per column, so the
+ * next occupied cell along any direction is found with a bit scan instead of
+ * a cell-by-cell walk.
+ */
+public class FlatGrid implements IGridStorage {
+
+    private final int size;
+    private final ITerrainObject[] cells;
+    private final byte[] kinds;
+    private final int words; // Longs per row or column bitset
+    private final long[] rowBits; // Bit c of row r's bitset is set if (r, c) is occupied
+    private final long[] colBits; // Bit r of column c's bitset is set if (r, c) is occupied
+
+    /**
+     * Creates an empty square grid.
+     * @param size The number of rows and columns
+     */
+    public FlatGrid(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive: " + size);
+        }
+        this.size = size;
+        this.cells = new ITerrainObject[size * size];
+        this.kinds = new byte[size * size];
+        this.words = (size + 63) >>> 6;
+        this.rowBits = new long[size * words];
+        this.colBits = new long[size * words];
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public ITerrainObject get(int cell) {
+        return cells[cell];
+    }
+
+    @Override
+    public byte getKind(int cell) {
+        return kinds[cell];
+    }
+
+    @Override
+    public ITerrainObject set(int cell, ITerrainObject obj) {
+        ITerrainObject previous = cells[cell];
+        cells[cell] = obj;
+        kinds[cell] = obj == null ? ITerrainObject.EMPTY : obj.getKind();
+        if (obj != null) {
+            setOccupied(cell);
+        } else {
+            clearOccupied(cell);
+        }
+        return previous;
+    }
+
+    @Override
+    public ITerrainObject clear(int cell) {
+        ITerrainObject previous = cells[cell];
+        cells[cell] = null;
+        kinds[cell] = ITerrainObject.EMPTY;
+        clearOccupied(cell);
+        return previous;
+    }
+
+    @Override
+    public int nextOccupied(int row, int col, Direction dir) {
+        switch (dir) {
+            case RIGHT: {
+                int c = nextSetBit(rowBits, row * words, col + 1);
+                return c < 0 ? -1 : row * size + c;
+            }
+            case LEFT: {
+                int c = previousSetBit(rowBits, row * words, col - 1);
+                return c < 0 ? -1 : row * size + c;
+            }
+            case DOWN: {
+                int r = nextSetBit(colBits, col * words, row + 1);
+                return r < 0 ? -1 : r * size + col;
+            }
+            case UP: {
+                int r = previousSetBit(colBits, col * words, row - 1);
+                return r < 0 ? -1 : r * size + col;
+            }
+            default:
+                return -1;
+        }
+    }
+
+    private void setOccupied(int cell) {
+        int row = cell / size;
+        int col = cell % size;
+        rowBits[row * words + (col >>> 6)] |= 1L << col;
+        colBits[col * words + (row >>> 6)] |= 1L << row;
+    }
+
+    private void clearOccupied(int cell) {
+        int row = cell / size;
+        int col = cell % size;
+        rowBits[row * words + (col >>> 6)] &= ~(1L << col);
+        colBits[col * words + (row >>> 6)] &= ~(1L << row);
+    }
+
+    /**
+     * Finds the lowest set bit at or above a position in one line's bitset.
+     * @param bits The row or column bitsets
+     * @param base Index of the line's first word
+     * @param from The first bit position to consider
+     * @return The bit position, or -1 if none is set
+     */
+    private int nextSetBit(long[] bits, int base, int from) {
+        if (from >= size) return -1;
+        int w = from >>> 6;
+        long word = bits[base + w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == words) return -1;
+            word = bits[base + w];
+        }
+    }
+
+    /**
+     * Finds the highest set bit at or below a position in one line's bitset.
+     * @param bits The row or column bitsets
+     * @param base Index of the line's first word
+     * @param from The first bit position to consider
+     * @return The bit position, or -1 if none is set
+     */
+    private int previousSetBit(long[] bits, int base, int from) {
+        if (from < 0) return -1;
+        int w = from >>> 6;
+        long word = bits[base + w] & (-1L >>> (63 - (from & 63)));
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + 63 - Long.numberOfLeadingZeros(word);
+            }
+            if (w-- == 0) return -1;
+            word = bits[base + w];
+        }
+    }
+}
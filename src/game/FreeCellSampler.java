@@ -0,0 +1,118 @@
+package game;
+
+import java.util.SplittableRandom;
+
+/**
+ * FreeCellSampler draws distinct random empty cells of a terrain in O(1) each.
+ * The free cells are kept in a dense array; taking one swaps the last entry into its place,
+ * so placement never retries occupied cells however full the grid gets.
+ * An inverse index also lets a given cell be taken out in O(1).
+ */
+public class FreeCellSampler {
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final int[] cells; // cells[0 .. count-1] are the free cells
+    private final int[] slotOf; // slotOf[cell]: position of the cell in cells, -1 once taken
+    private int count; // Number of free cells left
+
+    // ============================================================================
+    // CONSTRUCTOR
+    // ============================================================================
+
+    /**
+     * Starts with every cell of an empty grid free
+     * @param gridSize The number of rows and columns of the grid
+     */
+    public FreeCellSampler(int gridSize) {
+        cells = new int[gridSize * gridSize];
+        slotOf = new int[gridSize * gridSize];
+        for (int cell = 0; cell < cells.length; cell++) {
+            slotOf[cell] = cell;
+            cells[cell] = cell;
+        }
+        count = cells.length;
+    }
+
+    /**
+     * Collects the empty cells of a terrain
+     * @param terrain The terrain
+     */
+    public FreeCellSampler(IcyTerrain terrain) {
+        int size = terrain.getGridSize();
+        cells = new int[size * size];
+        slotOf = new int[size * size];
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (terrain.getObjectAt(cell / size, cell % size) == null) {
+                slotOf[cell] = count;
+                cells[count++] = cell;
+            } else {
+                slotOf[cell] = -1;
+            }
+        }
+    }
+
+    // ============================================================================
+    // SAMPLING
+    // ============================================================================
+
+    /**
+     * Takes a uniformly random free cell
+     * @param random The random source
+     * @return The cell index (row * size + col), or -1 if no free cell is left
+     */
+    public int sample(SplittableRandom random) {
+        if (count == 0) {
+            return -1;
+        }
+        int cell = cells[random.nextInt(count)];
+        take(cell);
+        return cell;
+    }
+
+    /**
+     * Marks a cell as no longer free
+     * @param cell The cell index
+     * @return true if the cell was free
+     */
+    public boolean take(int cell) {
+        int slot = slotOf[cell];
+        if (slot < 0) {
+            return false;
+        }
+        int last = cells[--count];
+        cells[slot] = last;
+        slotOf[last] = slot;
+        slotOf[cell] = -1;
+        return true;
+    }
+
+    /**
+     * Makes every cell of the grid free again
+     */
+    public void reset() {
+        for (int cell = 0; cell < cells.length; cell++) {
+            slotOf[cell] = cell;
+            cells[cell] = cell;
+        }
+        count = cells.length;
+    }
+
+    /**
+     * Checks whether a cell is still free
+     * @param cell The cell index
+     * @return true if the cell has not been taken
+     */
+    public boolean isFree(int cell) {
+        return slotOf[cell] >= 0;
+    }
+
+    /**
+     * Gets the number of free cells left
+     * @return The free cell count
+     */
+    public int remaining() {
+        return count;
+    }
+}
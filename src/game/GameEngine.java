@@ -0,0 +1,382 @@
+package game;
+
+import enums.Direction;
+import enums.RenderLevel;
+import interfaces.IOutputSink;
+import interfaces.IPenguinController;
+import java.util.List;
+import java.util.SplittableRandom;
+import objects.Penguin;
+
+/**
+ * GameEngine runs the turn-based game loop without any console dependency.
+ * Each penguin is driven by an IPenguinController and all text goes to an IOutputSink,
+ * so the same engine serves the console game and headless batch runs.
+ *
+ * Usage: newGame(seed), then either step() repeatedly or runToEnd().
+ * With journaling enabled, every game also records a GameJournal for replay.
+ * The render level decides how often the grid is drawn; batch runs use RenderLevel.NONE
+ * so no frames are built at all.
+ */
+public class GameEngine {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    public static final int MAX_TURNS = 4;
+    public static final String GAME_OVER = "***** GAME OVER *****"; // Printed once, when a game ends
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final int gridSize; // Grid size of every new game
+    private final IPenguinController[] controllers; // Controller of penguin i is controllers[i]
+    private final IOutputSink output; // Destination of all game messages
+    private IcyTerrain terrain; // The current game's terrain
+    private SplittableRandom random; // The current game's random source
+    private Penguin playerPenguin; // The human-controlled penguin, or null
+    private int turn; // Current turn (1-based)
+    private int nextPenguin; // Index of the penguin that moves next
+    private boolean gameOver;
+    private boolean journaling; // Whether new games record a journal
+    private GameJournal journal; // The current game's journal, or null
+    private RenderLevel renderLevel = RenderLevel.EVERY_MOVE; // How often the grid is drawn
+    private TerrainRenderer renderer = new TerrainRenderer(false); // Draws the grid frames
+    private final GameMetrics metrics = GameMetrics.active(); // Metrics registry, null when disabled
+    private long gameStartNanos; // Metrics: when the current game started
+
+    // ============================================================================
+    // CONSTRUCTOR
+    // ============================================================================
+
+    /**
+     * Creates a game engine.
+     * @param gridSize The number of rows and columns of the grid
+     * @param controllers One controller per penguin, in turn order (P1, P2, P3)
+     * @param output The sink that receives all game messages
+     */
+    public GameEngine(int gridSize, IPenguinController[] controllers, IOutputSink output) {
+        if (controllers.length != IcyTerrain.PENGUIN_COUNT) {
+            throw new IllegalArgumentException("Expected " + IcyTerrain.PENGUIN_COUNT + " controllers, got " + controllers.length);
+        }
+        this.gridSize = gridSize;
+        this.controllers = controllers.clone();
+        this.output = output;
+        this.gameOver = true;
+    }
+
+    // ============================================================================
+    // GAME LIFECYCLE
+    // ============================================================================
+
+    /**
+     * Starts a new game: generates the terrain and displays the initial state.
+     * The same seed always reproduces the same game, given the same controllers.
+     * @param seed The seed of the game's random source
+     */
+    public void newGame(long seed) {
+        start(new SplittableRandom(seed), seed, null);
+    }
+
+    /**
+     * Starts a new game drawing all randomness (generation and AI choices) from the given source.
+     * @param random The game's random source; the engine becomes its only user
+     */
+    public void newGame(SplittableRandom random) {
+        start(random, 0, null);
+    }
+
+    /**
+     * Starts a new game on a preset board, e.g. one loaded from a BoardCorpus.
+     * The seed only drives the AI choices, so a board and a seed always reproduce the same game.
+     * @param board A fresh terrain of this engine's grid size with one penguin per controller;
+     *              the engine takes it over and redirects its messages to the engine's output
+     * @param seed The seed of the game's random source
+     * @throws IllegalArgumentException if the board does not fit the engine
+     */
+    public void newGame(IcyTerrain board, long seed) {
+        if (board.getGridSize() != gridSize || board.getPenguins().size() != controllers.length) {
+            throw new IllegalArgumentException("Board has " + board.getPenguins().size() + " penguins on a "
+                    + board.getGridSize() + "x" + board.getGridSize() + " grid, expected " + controllers.length
+                    + " on " + gridSize + "x" + gridSize);
+        }
+        start(new SplittableRandom(seed), seed, board);
+    }
+
+    /**
+     * Generates (or takes over) and announces a new game.
+     * @param random The game's random source
+     * @param seed The seed recorded in the journal (0 if unknown)
+     * @param board The preset terrain, or null to generate one from the random source
+     */
+    private void start(SplittableRandom random, long seed, IcyTerrain board) {
+        this.random = random;
+        gameStartNanos = metrics != null ? System.nanoTime() : 0;
+
+        if (board == null) {
+            terrain = new IcyTerrain(gridSize, output);
+            terrain.populate(random);
+        } else {
+            terrain = board;
+            terrain.setOutput(output);
+        }
+        journal = journaling ? GameJournal.begin(terrain, seed) : null;
+        renderer.reset();
+
+        // A differential renderer clears the screen once to pin the grid, so it draws before any text
+        boolean pinned = renderer.isDifferential() && renderLevel != RenderLevel.NONE;
+        if (pinned) {
+            renderer.render(terrain, output);
+        }
+        if (board == null) {
+            output.println("Welcome to Sliding Penguins Puzzle Game App. An " + gridSize + "x" + gridSize + " icy terrain grid is being generated.");
+            output.println("Penguins, Hazards, and Food items are also being generated.");
+        } else {
+            output.println("Welcome to Sliding Penguins Puzzle Game App. A preset " + gridSize + "x" + gridSize + " icy terrain grid is being loaded.");
+        }
+
+        playerPenguin = null;
+        List<Penguin> penguins = terrain.getPenguins();
+        for (int i = 0; i < penguins.size(); i++) {
+            if (controllers[i].isHuman()) {
+                playerPenguin = penguins.get(i);
+                break;
+            }
+        }
+
+        if (renderLevel != RenderLevel.NONE && !pinned) {
+            printGridHeader("The initial icy terrain grid:");
+            renderer.render(terrain, output);
+        }
+
+        terrain.printPenguinInfo(playerPenguin);
+
+        turn = 1;
+        nextPenguin = 0;
+        gameOver = false;
+    }
+
+    /**
+     * Plays the next penguin's turn, in order P1, P2, P3 each turn.
+     * Eliminated penguins are skipped; stunned penguins lose this turn.
+     * When the last turn finishes, the game-over scoreboard is printed.
+     * @return true if the game continues, false if it is over
+     */
+    public boolean step() {
+        if (gameOver) {
+            return false;
+        }
+
+        List<Penguin> penguins = terrain.getPenguins();
+        while (turn <= MAX_TURNS) {
+            int index = nextPenguin;
+            int turnNumber = turn;
+            Penguin p = penguins.get(index);
+            advance(penguins.size());
+
+            // Skip eliminated penguins
+            if (!p.isActive()) {
+                continue;
+            }
+
+            long turnStart = metrics != null ? System.nanoTime() : 0;
+            playTurn(p, index, turnNumber);
+            if (metrics != null) {
+                metrics.recordTurn(System.nanoTime() - turnStart);
+            }
+            if (turn <= MAX_TURNS) {
+                return true;
+            }
+        }
+
+        // Game over - display results
+        gameOver = true;
+        if (metrics != null) {
+            metrics.recordGame(System.nanoTime() - gameStartNanos);
+        }
+        if (renderLevel == RenderLevel.FINAL_ONLY) {
+            printGridHeader("The final icy terrain grid:");
+            renderer.render(terrain, output);
+            output.println();
+        }
+        output.println(GAME_OVER);
+        terrain.printScoreboard(playerPenguin);
+        renderer.finish(output);
+        return false;
+    }
+
+    /**
+     * Plays the current game until it is over.
+     * @return The result of the game
+     */
+    public GameResult runToEnd() {
+        while (step()) {
+            // Keep playing
+        }
+        return getResult();
+    }
+
+    /**
+     * Gets the result of the current game
+     * @return The result, reflecting the scores so far if the game is still running
+     */
+    public GameResult getResult() {
+        return new GameResult(terrain.getPenguins());
+    }
+
+    /**
+     * Checks whether the current game has finished
+     * @return true if no game is running
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Enables or disables journaling for the following games
+     * @param journaling true to record a GameJournal of each new game
+     */
+    public void setJournaling(boolean journaling) {
+        this.journaling = journaling;
+    }
+
+    /**
+     * Gets the current game's journal
+     * @return The journal, or null if journaling was off when the game started
+     */
+    public GameJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Sets how often the grid is drawn
+     * @param renderLevel The render level (EVERY_MOVE by default)
+     */
+    public void setRenderLevel(RenderLevel renderLevel) {
+        this.renderLevel = renderLevel;
+    }
+
+    /**
+     * Sets the renderer that draws the grid, e.g. a differential ANSI renderer for terminals
+     * @param renderer The renderer (plain full frames by default)
+     */
+    public void setRenderer(TerrainRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    /**
+     * Gets the current game's terrain
+     * @return The terrain, or null before the first newGame
+     */
+    public IcyTerrain getTerrain() {
+        return terrain;
+    }
+
+    // ============================================================================
+    // TURN HANDLING
+    // ============================================================================
+
+    /**
+     * Plays one penguin's turn.
+     * @param p The penguin
+     * @param index The penguin's index in turn order
+     * @param turnNumber The turn being played
+     */
+    private void playTurn(Penguin p, int index, int turnNumber) {
+        IPenguinController controller = controllers[index];
+        String role = (p == playerPenguin) ? " (Your Penguin)" : "";
+        output.println("*** Turn " + turnNumber + " - " + p.getSymbol() + role + ":");
+        terrain.setTurnIndex((turnNumber - 1) * terrain.getPenguins().size() + index);
+
+        // Check if penguin is stunned from previous turn
+        if (p.isStunned()) {
+            output.println(p.getSymbol() + " is stunned and skips this turn!");
+            terrain.clearStun(p); // Clear stun for next turn
+            if (journal != null) {
+                journal.recordSkip(turnNumber, index);
+            }
+        } else {
+            controller.beginTurn(turnNumber, MAX_TURNS);
+            Move move = controller.chooseMove(terrain, p, random);
+
+            // Display AI decision
+            if (!controller.isHuman()) {
+                if (move.isUseAbility() && !p.hasUsedSpecialAbility()) {
+                    output.println(p.getSymbol() + " chooses to USE its special action.");
+                } else if (!p.hasUsedSpecialAbility()) {
+                    output.println(p.getSymbol() + " does NOT use its special action.");
+                }
+                output.println(p.getSymbol() + " chooses to move " + directionToString(move.getDirection()) + ".");
+            }
+
+            if (journal != null) {
+                journal.recordMove(turnNumber, index, move.getDirection(), move.isUseAbility());
+            }
+            terrain.applyMove(p, move.getDirection(), move.isUseAbility());
+        }
+
+        // Display updated grid
+        if (renderLevel == RenderLevel.EVERY_MOVE) {
+            printGridHeader("New state of the grid:");
+            renderer.render(terrain, output);
+            output.println();
+        } else if (renderLevel == RenderLevel.EVERY_TURN && isLastActiveInTurn(index)) {
+            printGridHeader("State of the grid after turn " + turnNumber + ":");
+            renderer.render(terrain, output);
+            output.println();
+        }
+    }
+
+    /**
+     * Checks if no active penguin moves after the given one in the current turn
+     * @param index The index of the penguin that just moved
+     * @return true if the turn ends with this penguin
+     */
+    private boolean isLastActiveInTurn(int index) {
+        List<Penguin> penguins = terrain.getPenguins();
+        for (int i = index + 1; i < penguins.size(); i++) {
+            if (penguins.get(i).isActive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Prints the caption above a grid frame.
+     * Differential renderers keep the grid in place, so the caption is left out.
+     * @param caption The caption
+     */
+    private void printGridHeader(String caption) {
+        if (!renderer.isDifferential()) {
+            output.println(caption);
+        }
+    }
+
+    /**
+     * Moves the turn cursor to the next penguin, wrapping into the next turn.
+     * @param penguinCount Number of penguins in the game
+     */
+    private void advance(int penguinCount) {
+        nextPenguin++;
+        if (nextPenguin == penguinCount) {
+            nextPenguin = 0;
+            turn++;
+        }
+    }
+
+    /**
+     * Converts direction to readable string for display.
+     * @param dir The direction
+     * @return A display string (e.g., "UPWARDS", "to the LEFT")
+     */
+    private static String directionToString(Direction dir) {
+        switch(dir) {
+            case UP:    return "UPWARDS";
+            case DOWN:  return "DOWNWARDS";
+            case LEFT:  return "to the LEFT";
+            case RIGHT: return "to the RIGHT";
+            default:    return "UPWARDS";
+        }
+    }
+}
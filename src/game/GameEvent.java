@@ -0,0 +1,120 @@
+package game;
+
+import enums.Direction;
+import enums.EliminationCause;
+import enums.GameEventType;
+import interfaces.ITerrainObject;
+
+/**
+ * GameEvent is one slot of a GameEventBus ring. Slots are allocated once and overwritten
+ * for every event published, so a subscriber must copy what it needs before returning and
+ * must not keep the slot.
+ */
+public final class GameEvent {
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private GameEventType type;
+    private long sequence; // Position of the event in its bus, from 0
+    private int turnIndex; // Penguin moves played before the event
+    private ITerrainObject actor; // The object the event is about
+    private ITerrainObject target; // The other object involved, or null
+    private Direction direction; // MOVE only
+    private boolean useAbility; // MOVE only
+    private EliminationCause cause; // FALL and ELIMINATION only
+
+    GameEvent() {
+    }
+
+    /**
+     * Overwrites the slot with a new event
+     * @param type What happened
+     * @param sequence Position of the event in its bus
+     * @param turnIndex The terrain's turn index
+     * @param actor The object the event is about
+     * @param target The other object involved, or null
+     * @param direction The direction of a MOVE, or null
+     * @param useAbility Whether a MOVE asked for the special ability
+     * @param cause The cause of a FALL or ELIMINATION, or null
+     */
+    void set(GameEventType type, long sequence, int turnIndex, ITerrainObject actor, ITerrainObject target,
+             Direction direction, boolean useAbility, EliminationCause cause) {
+        this.type = type;
+        this.sequence = sequence;
+        this.turnIndex = turnIndex;
+        this.actor = actor;
+        this.target = target;
+        this.direction = direction;
+        this.useAbility = useAbility;
+        this.cause = cause;
+    }
+
+    // ============================================================================
+    // GETTERS
+    // ============================================================================
+
+    /**
+     * Gets what happened
+     * @return The event type
+     */
+    public GameEventType getType() {
+        return type;
+    }
+
+    /**
+     * Gets the position of the event in the bus's stream
+     * @return The sequence number, from 0
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the terrain's turn index when the event happened
+     * @return The number of penguin moves played before it
+     */
+    public int getTurnIndex() {
+        return turnIndex;
+    }
+
+    /**
+     * Gets the object the event is about
+     * @return The actor
+     */
+    public ITerrainObject getActor() {
+        return actor;
+    }
+
+    /**
+     * Gets the other object involved
+     * @return The target, or null if there is none
+     */
+    public ITerrainObject getTarget() {
+        return target;
+    }
+
+    /**
+     * Gets the direction of a MOVE
+     * @return The direction, or null for other events
+     */
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Checks whether a MOVE asked for the special ability
+     * @return true if it did
+     */
+    public boolean isUseAbility() {
+        return useAbility;
+    }
+
+    /**
+     * Gets where the actor of a FALL or ELIMINATION went
+     * @return The cause, or null for other events
+     */
+    public EliminationCause getCause() {
+        return cause;
+    }
+}
@@ -0,0 +1,165 @@
+package game;
+
+import enums.Direction;
+import enums.EliminationCause;
+import enums.GameEventType;
+import interfaces.IGameEventListener;
+import interfaces.ITerrainObject;
+import java.util.Arrays;
+
+/**
+ * GameEventBus carries the events of one terrain to its subscribers.
+ * Events are written into a ring of preallocated GameEvent slots and handed to every
+ * subscriber right away, on the publishing thread. The ring also keeps the most recent
+ * events, which get can read back by sequence number.
+ *
+ * Publishing allocates nothing. The slots are created with the first subscriber, so a bus
+ * nobody listens to costs almost nothing; callers should check hasSubscribers first and
+ * skip the event altogether, as IcyTerrain does.
+ * A bus belongs to the thread playing the game; subscribing is not thread-safe.
+ */
+public final class GameEventBus {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    public static final int DEFAULT_CAPACITY = 256;
+    private static final IGameEventListener[] NO_LISTENERS = new IGameEventListener[0];
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final int capacity;
+    private GameEvent[] ring; // Event slots, reused in turn; null until the first subscriber
+    private long sequence; // Number of events published so far
+    private IGameEventListener[] listeners = NO_LISTENERS; // Replaced, never modified, on (un)subscribe
+
+    // ============================================================================
+    // CONSTRUCTORS
+    // ============================================================================
+
+    /**
+     * Creates a bus that keeps the last DEFAULT_CAPACITY events
+     */
+    public GameEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a bus
+     * @param capacity Number of recent events kept; a power of two
+     * @throws IllegalArgumentException if capacity is not a positive power of two
+     */
+    public GameEventBus(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    // ============================================================================
+    // SUBSCRIBERS
+    // ============================================================================
+
+    /**
+     * Adds a subscriber; it receives the events published from now on
+     * @param listener The subscriber
+     */
+    public void subscribe(IGameEventListener listener) {
+        if (ring == null) {
+            ring = new GameEvent[capacity];
+            for (int i = 0; i < capacity; i++) {
+                ring[i] = new GameEvent();
+            }
+        }
+        IGameEventListener[] grown = Arrays.copyOf(listeners, listeners.length + 1);
+        grown[listeners.length] = listener;
+        listeners = grown;
+    }
+
+    /**
+     * Removes a subscriber
+     * @param listener The subscriber
+     * @return true if it was subscribed
+     */
+    public boolean unsubscribe(IGameEventListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                IGameEventListener[] shrunk = new IGameEventListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, shrunk, 0, i);
+                System.arraycopy(listeners, i + 1, shrunk, i, shrunk.length - i);
+                listeners = shrunk.length == 0 ? NO_LISTENERS : shrunk;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether anyone listens
+     * @return true if there is at least one subscriber
+     */
+    public boolean hasSubscribers() {
+        return listeners.length > 0;
+    }
+
+    // ============================================================================
+    // PUBLISHING
+    // ============================================================================
+
+    /**
+     * Writes an event into the next slot and hands it to every subscriber.
+     * Does nothing if there is no subscriber.
+     * @param type What happened
+     * @param turnIndex The terrain's turn index
+     * @param actor The object the event is about
+     * @param target The other object involved, or null
+     * @param direction The direction of a MOVE, or null
+     * @param useAbility Whether a MOVE asked for the special ability
+     * @param cause The cause of a FALL or ELIMINATION, or null
+     */
+    public void publish(GameEventType type, int turnIndex, ITerrainObject actor, ITerrainObject target,
+                        Direction direction, boolean useAbility, EliminationCause cause) {
+        if (listeners.length == 0) {
+            return;
+        }
+        GameEvent event = ring[(int) sequence & (capacity - 1)];
+        event.set(type, sequence, turnIndex, actor, target, direction, useAbility, cause);
+        sequence++;
+        for (IGameEventListener listener : listeners) {
+            listener.onEvent(event);
+        }
+    }
+
+    // ============================================================================
+    // HISTORY
+    // ============================================================================
+
+    /**
+     * Gets the number of events published so far, i.e. the sequence of the next one
+     * @return The sequence counter
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Reads a recent event back
+     * @param sequence The event's sequence number
+     * @return The slot holding it, or null if it was not published yet or was overwritten
+     */
+    public GameEvent get(long sequence) {
+        if (sequence < 0 || sequence >= this.sequence || sequence < this.sequence - capacity) {
+            return null;
+        }
+        return ring[(int) sequence & (capacity - 1)];
+    }
+
+    /**
+     * Gets the number of recent events the ring keeps
+     * @return The capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,367 @@
+package game;
+
+import enums.Direction;
+import interfaces.IOutputSink;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+
+/**
+ * GameJournal is a compact binary record of one game: the seed, the initial layout,
+ * and one record per penguin turn (direction and ability flag, or a stunned skip).
+ * ReplayEngine re-simulates a journal deterministically from the layout and the moves,
+ * so no rendering output needs to be kept.
+ *
+ * File format (big-endian, varints as in Varint):
+ * - int magic "PGJ2", varint grid size, long seed
+ * - varint layout length, layout bytes in the BoardCodec format
+ * - varint record count, varint records length, record bytes: a flags byte
+ *   (bits 0-1 direction ordinal, bit 2 ability, bit 3 stunned skip, bit 4 first record of a turn)
+ *   followed by a varint penguin index
+ *
+ * readFrom checks every length, count and record against the data actually present, so a
+ * truncated or corrupt file fails with an IOException rather than a huge allocation or a
+ * failure later during replay.
+ */
+public class GameJournal {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    private static final int MAGIC = 0x50474A32; // "PGJ2"
+
+    private static final int FLAG_ABILITY = 1 << 2;
+    private static final int FLAG_SKIP = 1 << 3;
+    private static final int FLAG_NEW_TURN = 1 << 4;
+    private static final int RECORD_FLAGS = 0x03 | FLAG_ABILITY | FLAG_SKIP | FLAG_NEW_TURN; // Bits a flags byte may use
+    private static final int MIN_RECORD_BYTES = 2; // Flags byte and a one-byte penguin index
+    private static final int MAX_GRID_SIZE = 1 << 10; // Larger grid sizes are taken as corruption
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final int gridSize;
+    private final long seed; // Seed given to GameEngine.newGame(long), 0 if unknown
+    private final byte[] layout; // Initial layout, encoded by BoardCodec
+    private final ByteArrayOutputStream records; // Encoded turn records
+    private int recordCount;
+    private int lastTurn; // Turn of the most recent record
+
+    private GameJournal(int gridSize, long seed, byte[] layout) {
+        this.gridSize = gridSize;
+        this.seed = seed;
+        this.layout = layout;
+        this.records = new ByteArrayOutputStream();
+    }
+
+    // ============================================================================
+    // RECORDING
+    // ============================================================================
+
+    /**
+     * Starts a journal from a freshly generated terrain.
+     * @param terrain The terrain in its initial state
+     * @param seed The game's seed
+     * @return An empty journal holding the initial layout
+     */
+    public static GameJournal begin(IcyTerrain terrain, long seed) {
+        return new GameJournal(terrain.getGridSize(), seed, BoardCodec.encode(terrain));
+    }
+
+    /**
+     * Records a penguin's move
+     * @param turn The turn number (1-based)
+     * @param penguin The penguin index in turn order
+     * @param dir The direction moved
+     * @param useAbility Whether the special ability was requested
+     */
+    public void recordMove(int turn, int penguin, Direction dir, boolean useAbility) {
+        record(turn, penguin, dir.ordinal() | (useAbility ? FLAG_ABILITY : 0));
+    }
+
+    /**
+     * Records that a stunned penguin skipped its turn
+     * @param turn The turn number (1-based)
+     * @param penguin The penguin index in turn order
+     */
+    public void recordSkip(int turn, int penguin) {
+        record(turn, penguin, FLAG_SKIP);
+    }
+
+    private void record(int turn, int penguin, int flags) {
+        if (turn != lastTurn) {
+            flags |= FLAG_NEW_TURN;
+            lastTurn = turn;
+        }
+        records.write(flags);
+        Varint.write(records, penguin);
+        recordCount++;
+    }
+
+    // ============================================================================
+    // REPLAY SUPPORT
+    // ============================================================================
+
+    /**
+     * Rebuilds the initial terrain described by the journal.
+     * @param output The sink for the rebuilt terrain's messages
+     * @return A terrain in the journal's initial state
+     * @throws IllegalArgumentException if the layout is corrupt
+     */
+    public IcyTerrain buildInitialTerrain(IOutputSink output) {
+        return BoardCodec.decode(layout, gridSize, output);
+    }
+
+    /**
+     * Returns a cursor over the turn records, from the first one
+     * @return A new cursor
+     */
+    public Cursor cursor() {
+        return new Cursor(ByteBuffer.wrap(records.toByteArray()), recordCount);
+    }
+
+    /**
+     * Cursor reads turn records in order.
+     */
+    public static class Cursor {
+        private final ByteBuffer data;
+        private final int count;
+        private final int[] pos = {0};
+        private int read;
+        private int turn;
+        private int penguin;
+        private int flags;
+
+        private Cursor(ByteBuffer data, int count) {
+            this.data = data;
+            this.count = count;
+        }
+
+        /**
+         * Checks if more records follow
+         * @return true if next() can be called
+         */
+        public boolean hasNext() {
+            return read < count;
+        }
+
+        /**
+         * Peeks at the turn of the next record without consuming it
+         * @return The next record's turn number
+         * @throws NoSuchElementException if no record follows
+         */
+        public int peekTurn() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more journal records");
+            }
+            return (data.get(pos[0]) & FLAG_NEW_TURN) != 0 ? turn + 1 : turn;
+        }
+
+        /**
+         * Advances to the next record
+         * @throws NoSuchElementException if no record follows
+         */
+        public void next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more journal records");
+            }
+            flags = data.get(pos[0]++);
+            if ((flags & FLAG_NEW_TURN) != 0) {
+                turn++;
+            }
+            penguin = Varint.read(data, pos);
+            read++;
+        }
+
+        /**
+         * Gets the current record's turn
+         * @return The turn number (1-based)
+         */
+        public int getTurn() {
+            return turn;
+        }
+
+        /**
+         * Gets the current record's penguin
+         * @return The penguin index in turn order
+         */
+        public int getPenguin() {
+            return penguin;
+        }
+
+        /**
+         * Checks if the current record is a stunned skip
+         * @return true if the penguin was stunned and skipped the turn
+         */
+        public boolean isSkip() {
+            return (flags & FLAG_SKIP) != 0;
+        }
+
+        /**
+         * Gets the current record's direction
+         * @return The direction moved
+         */
+        public Direction getDirection() {
+            return Direction.values()[flags & 0x03];
+        }
+
+        /**
+         * Checks if the current record requested the special ability
+         * @return true if the ability was requested
+         */
+        public boolean isUseAbility() {
+            return (flags & FLAG_ABILITY) != 0;
+        }
+    }
+
+    // ============================================================================
+    // SERIALIZATION
+    // ============================================================================
+
+    /**
+     * Writes the journal in its binary format
+     * @param out The destination
+     * @throws IOException if writing fails
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        Varint.write(header, gridSize);
+        out.writeInt(MAGIC);
+        header.writeTo(out);
+        out.writeLong(seed);
+
+        ByteArrayOutputStream lengths = new ByteArrayOutputStream();
+        Varint.write(lengths, layout.length);
+        lengths.writeTo(out);
+        out.write(layout);
+
+        lengths.reset();
+        Varint.write(lengths, recordCount);
+        Varint.write(lengths, records.size());
+        lengths.writeTo(out);
+        records.writeTo(out);
+    }
+
+    /**
+     * Reads a journal written by writeTo
+     * @param in The source
+     * @return The journal
+     * @throws IOException if reading fails or the data is not a valid journal
+     */
+    public static GameJournal readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a game journal");
+        }
+        int gridSize = readCount(in, 1, MAX_GRID_SIZE, "grid size");
+        long seed = in.readLong();
+        int cells = gridSize * gridSize;
+        byte[] layout = readBytes(in, readCount(in, 0, BoardCodec.maxEncodedSize(gridSize, cells), "layout length"));
+        int penguinCount;
+        try {
+            penguinCount = BoardCodec.decode(layout, gridSize, NullOutput.INSTANCE).getPenguins().size();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("Corrupt journal layout", e);
+        }
+
+        GameJournal journal = new GameJournal(gridSize, seed, layout);
+        int recordCount = readCount(in, 0, Integer.MAX_VALUE / MIN_RECORD_BYTES, "record count");
+        int recordsLength = readCount(in, recordCount * MIN_RECORD_BYTES,
+                recordCount * (long) (1 + Varint.MAX_BYTES), "records length");
+        byte[] records = readBytes(in, recordsLength);
+        checkRecords(records, recordCount, penguinCount);
+        journal.recordCount = recordCount;
+        journal.records.write(records, 0, records.length);
+        return journal;
+    }
+
+    /**
+     * Reads a varint count or length and checks its range
+     * @param in The source
+     * @param min The smallest valid value
+     * @param max The largest valid value
+     * @param what What the value is, for the error message
+     * @return The value
+     * @throws IOException if reading fails or the value is out of range
+     */
+    private static int readCount(DataInputStream in, int min, long max, String what) throws IOException {
+        int value = Varint.read(in);
+        if (value < min || value > max) {
+            throw new IOException("Corrupt journal: " + what + " " + (value & 0xFFFFFFFFL));
+        }
+        return value;
+    }
+
+    /**
+     * Reads a number of bytes, growing the array only as data arrives, so a corrupt length
+     * cannot allocate more than the stream holds
+     * @param in The source
+     * @param length The number of bytes
+     * @return The bytes
+     * @throws IOException if reading fails or the stream ends first
+     */
+    private static byte[] readBytes(DataInputStream in, int length) throws IOException {
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Game journal ends after " + bytes.length + " of " + length + " bytes");
+        }
+        return bytes;
+    }
+
+    /**
+     * Checks that the record bytes hold exactly the given number of well-formed records
+     * @param records The record bytes
+     * @param count The number of records
+     * @param penguinCount The number of penguins of the layout
+     * @throws IOException if a record is malformed or names a penguin that does not exist
+     */
+    private static void checkRecords(byte[] records, int count, int penguinCount) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(records);
+        int[] pos = {0};
+        try {
+            for (int i = 0; i < count; i++) {
+                int flags = data.get(pos[0]++);
+                int penguin = Varint.read(data, pos);
+                if ((flags & ~RECORD_FLAGS) != 0 || penguin < 0 || penguin >= penguinCount) {
+                    throw new IOException("Corrupt journal: record " + i);
+                }
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("Corrupt journal: records end early", e);
+        }
+        if (pos[0] != records.length) {
+            throw new IOException("Corrupt journal: " + (records.length - pos[0]) + " bytes after the last record");
+        }
+    }
+
+    // ============================================================================
+    // ACCESSORS
+    // ============================================================================
+
+    /**
+     * Gets the grid size of the recorded game
+     * @return The grid size
+     */
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    /**
+     * Gets the seed of the recorded game
+     * @return The seed, or 0 if the game was not started from a seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of turn records
+     * @return The record count
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+}
@@ -0,0 +1,274 @@
+package game;
+
+import enums.EliminationCause;
+import interfaces.IGameMetricsMXBean;
+import interfaces.ITerrainObject;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import objects.*;
+
+/**
+ * GameMetrics is the process-wide registry of engine metrics: slide steps and chain reaction
+ * depth per move, collisions by the kind of object hit, eliminations by cause, abilities by
+ * penguin type, and the wall time of turns and games.
+ *
+ * Metrics are off by default. IcyTerrain and GameEngine look up the active registry once when
+ * they are created and keep null when it is disabled, so a disabled registry costs one null
+ * check per event. Enable it with enable() or the system property penguins.metrics=true,
+ * before the games to measure are created. All recording is lock-free (LongAdder based), so
+ * parallel tournaments can share the registry.
+ *
+ * Read it with snapshot(), or over JMX after registerMBean().
+ */
+public final class GameMetrics implements IGameMetricsMXBean {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    public static final String OBJECT_NAME = "penguins:type=GameMetrics";
+
+    /** Collision slot for plugged holes: slot 0, since an empty cell is never hit */
+    static final int PLUGGED_HOLE = ITerrainObject.EMPTY;
+    private static final String[] COLLISION_NAMES = {
+        "PluggedHole", "Penguin", "Food", "LightIceBlock", "HeavyIceBlock", "SeaLion", "HoleInIce"
+    };
+    private static final String[] PENGUIN_TYPES = {"KingPenguin", "EmperorPenguin", "RoyalPenguin", "RockhopperPenguin"};
+
+    private static volatile GameMetrics active = Boolean.getBoolean("penguins.metrics") ? new GameMetrics() : null;
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder games = new LongAdder();
+    private final Histogram slideSteps = new Histogram();
+    private final Histogram cascadeDepth = new Histogram();
+    private final LongAdder[] collisions = newAdders(ITerrainObject.KIND_COUNT);
+    private final LongAdder[] eliminations = newAdders(EliminationCause.values().length);
+    private final LongAdder[] abilities = newAdders(PENGUIN_TYPES.length);
+    private final Histogram turnNanos = new Histogram();
+    private final Histogram gameNanos = new Histogram();
+
+    private GameMetrics() {
+    }
+
+    // ============================================================================
+    // REGISTRY
+    // ============================================================================
+
+    /**
+     * Turns metrics on for games created from now on
+     * @return The active registry
+     */
+    public static synchronized GameMetrics enable() {
+        if (active == null) {
+            active = new GameMetrics();
+        }
+        return active;
+    }
+
+    /**
+     * Turns metrics off for games created from now on
+     */
+    public static synchronized void disable() {
+        active = null;
+    }
+
+    /**
+     * Gets the active registry
+     * @return The registry, or null if metrics are disabled
+     */
+    public static GameMetrics active() {
+        return active;
+    }
+
+    /**
+     * Registers this registry with the platform MBean server under OBJECT_NAME
+     * (does nothing if it is already registered)
+     */
+    public void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    // ============================================================================
+    // RECORDING (called by IcyTerrain and GameEngine)
+    // ============================================================================
+
+    /**
+     * Records a finished move
+     * @param steps Cells travelled by all objects that slid during the move
+     * @param maxCascade Deepest chain reaction of the move
+     */
+    void recordMove(int steps, int maxCascade) {
+        moves.increment();
+        slideSteps.record(steps);
+        cascadeDepth.record(maxCascade);
+    }
+
+    /**
+     * Counts a collision
+     * @param kind ITerrainObject kind of the object hit, or PLUGGED_HOLE
+     */
+    void countCollision(int kind) {
+        collisions[kind].increment();
+    }
+
+    /**
+     * Counts an eliminated penguin
+     * @param cause Where it fell
+     */
+    void countElimination(EliminationCause cause) {
+        eliminations[cause.ordinal()].increment();
+    }
+
+    /**
+     * Counts a special ability use
+     * @param p The penguin using it
+     */
+    void countAbility(Penguin p) {
+        abilities[IcyTerrain.penguinType(p)].increment();
+    }
+
+    /**
+     * Records the wall time of one penguin's turn
+     * @param nanos Elapsed nanoseconds
+     */
+    void recordTurn(long nanos) {
+        turnNanos.record(nanos);
+    }
+
+    /**
+     * Records the wall time of one game
+     * @param nanos Elapsed nanoseconds
+     */
+    void recordGame(long nanos) {
+        games.increment();
+        gameNanos.record(nanos);
+    }
+
+    // ============================================================================
+    // READING
+    // ============================================================================
+
+    /**
+     * Takes a snapshot of all metrics
+     * @return The snapshot
+     */
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(moves.sum(), games.sum(), slideSteps.summary(), cascadeDepth.summary(),
+                getCollisions(), getEliminations(), getAbilityUses(), turnNanos.summary(), gameNanos.summary());
+    }
+
+    @Override
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    @Override
+    public long getGames() {
+        return games.sum();
+    }
+
+    @Override
+    public Map<String, Double> getSlideStepsPerMove() {
+        return toMap(slideSteps.summary(), 1);
+    }
+
+    @Override
+    public Map<String, Double> getCascadeDepth() {
+        return toMap(cascadeDepth.summary(), 1);
+    }
+
+    @Override
+    public Map<String, Long> getCollisions() {
+        // Built-in kinds first, then custom kinds that were hit at least once
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (int k = 1; k < COLLISION_NAMES.length; k++) {
+            map.put(COLLISION_NAMES[k], collisions[k].sum());
+        }
+        map.put(COLLISION_NAMES[PLUGGED_HOLE], collisions[PLUGGED_HOLE].sum());
+        for (int k = ITerrainObject.FIRST_CUSTOM_KIND; k < ITerrainObject.KIND_COUNT; k++) {
+            long count = collisions[k].sum();
+            if (count > 0) map.put("Kind" + k, count);
+        }
+        return map;
+    }
+
+    @Override
+    public Map<String, Long> getEliminations() {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (EliminationCause cause : EliminationCause.values()) {
+            map.put(cause.name(), eliminations[cause.ordinal()].sum());
+        }
+        return map;
+    }
+
+    @Override
+    public Map<String, Long> getAbilityUses() {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (int t = 0; t < PENGUIN_TYPES.length; t++) {
+            map.put(PENGUIN_TYPES[t], abilities[t].sum());
+        }
+        return map;
+    }
+
+    @Override
+    public Map<String, Double> getTurnMicros() {
+        return toMap(turnNanos.summary(), 1000);
+    }
+
+    @Override
+    public Map<String, Double> getGameMicros() {
+        return toMap(gameNanos.summary(), 1000);
+    }
+
+    @Override
+    public void reset() {
+        moves.reset();
+        games.reset();
+        slideSteps.reset();
+        cascadeDepth.reset();
+        for (LongAdder[] adders : new LongAdder[][]{collisions, eliminations, abilities}) {
+            for (LongAdder adder : adders) {
+                adder.reset();
+            }
+        }
+        turnNanos.reset();
+        gameNanos.reset();
+    }
+
+    // ============================================================================
+    // HELPERS
+    // ============================================================================
+
+    private static Map<String, Double> toMap(Histogram.Summary summary, double divisor) {
+        Map<String, Double> map = new LinkedHashMap<>();
+        map.put("count", (double) summary.getCount());
+        map.put("mean", summary.getMean() / divisor);
+        map.put("p50", summary.getP50() / divisor);
+        map.put("p99", summary.getP99() / divisor);
+        map.put("max", summary.getMax() / divisor);
+        return map;
+    }
+
+    private static LongAdder[] newAdders(int n) {
+        LongAdder[] adders = new LongAdder[n];
+        for (int i = 0; i < n; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
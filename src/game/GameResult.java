@@ -0,0 +1,73 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import objects.Penguin;
+
+/**
+ * GameResult is the outcome of one finished game.
+ * The penguin with the highest total food weight wins. Penguins sharing the highest weight
+ * tie instead, and a game in which no penguin collected any food has neither winner nor tie.
+ */
+public class GameResult {
+
+    private final List<Penguin> penguins; // All penguins, in turn order
+    private final int winningWeight; // Highest total weight in the game
+    private final int leaders; // Number of penguins with the winning weight
+
+    /**
+     * Creates the result of a finished game
+     * @param penguins All penguins of the game, in turn order
+     */
+    public GameResult(List<Penguin> penguins) {
+        this.penguins = Collections.unmodifiableList(new ArrayList<>(penguins));
+        int best = 0;
+        int count = 0;
+        for (Penguin p : penguins) {
+            int weight = p.getTotalWeight();
+            if (weight > best) {
+                best = weight;
+                count = 1;
+            } else if (weight == best) {
+                count++;
+            }
+        }
+        this.winningWeight = best;
+        this.leaders = count;
+    }
+
+    /**
+     * Gets all penguins of the game
+     * @return The penguins, in turn order
+     */
+    public List<Penguin> getPenguins() {
+        return penguins;
+    }
+
+    /**
+     * Gets the highest total weight reached in the game
+     * @return The winning weight
+     */
+    public int getWinningWeight() {
+        return winningWeight;
+    }
+
+    /**
+     * Checks whether a penguin won outright
+     * @param p The penguin
+     * @return true if it collected food and every other penguin collected less
+     */
+    public boolean isWinner(Penguin p) {
+        return winningWeight > 0 && leaders == 1 && p.getTotalWeight() == winningWeight;
+    }
+
+    /**
+     * Checks whether a penguin tied for first place
+     * @param p The penguin
+     * @return true if it collected food and another penguin collected as much, but none more
+     */
+    public boolean isTiedFirst(Penguin p) {
+        return winningWeight > 0 && leaders > 1 && p.getTotalWeight() == winningWeight;
+    }
+}
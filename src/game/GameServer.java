@@ -0,0 +1,209 @@
+package game;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * GameServer hosts many independent games over TCP, one GameSession per connection.
+ * Each session runs on its own virtual thread, so thousands of players waiting for input
+ * cost no platform threads. The protocol is line based; see NetworkPlayerController for
+ * the question lines. Everything else the server sends is the normal game text.
+ *
+ * At most maxSessions games run at once. When the server is full it stops accepting, and
+ * new clients wait in the OS backlog until a session ends, so a burst of clients cannot
+ * exhaust memory or file descriptors. The server listens on the loopback interface only.
+ *
+ * Reads time out after GameSession.IDLE_TIMEOUT_MILLIS, but socket writes cannot time out.
+ * A watchdog therefore checks the live sessions every WATCHDOG_PERIOD_MILLIS and closes the
+ * connection of any client that has left a write blocked for more than WRITE_TIMEOUT_MILLIS,
+ * so clients that never read cannot hold session slots. close() closes every live connection.
+ *
+ * Usage: java game.GameServer [port] [maxSessions]
+ */
+public class GameServer implements AutoCloseable {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    public static final int DEFAULT_PORT = 7777;
+    public static final int DEFAULT_MAX_SESSIONS = 8192;
+    private static final int BACKLOG = 4096; // Pending connections the OS may queue
+    private static final long ACCEPT_BACKOFF_MILLIS = 50; // Pause after a failed accept (e.g. out of descriptors)
+    public static final long WRITE_TIMEOUT_MILLIS = 30_000; // Longest a client may leave a write blocked
+    private static final long WATCHDOG_PERIOD_MILLIS = 1000;
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<GameSession> liveSessions = ConcurrentHashMap.newKeySet(); // Sessions not ended yet
+    private final ScheduledExecutorService watchdog; // Closes the connections of stalled clients
+    private final SplittableRandom seeds; // Draws the seed of each session's game (accept thread only)
+    private final Semaphore sessionSlots; // One permit per session that may still start
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final LongAdder completedSessions = new LongAdder();
+    private final LongAdder droppedSessions = new LongAdder();
+
+    // ============================================================================
+    // CONSTRUCTOR
+    // ============================================================================
+
+    /**
+     * Opens the server socket on the loopback interface
+     * @param port The port, or 0 for any free port
+     * @param maxSessions The number of games that may run at once
+     * @param seed The seed the game seeds are drawn from
+     * @throws IOException if the port cannot be bound
+     */
+    public GameServer(int port, int maxSessions, long seed) throws IOException {
+        if (maxSessions < 1) {
+            throw new IllegalArgumentException("maxSessions must be at least 1: " + maxSessions);
+        }
+        serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        seeds = new SplittableRandom(seed);
+        sessionSlots = new Semaphore(maxSessions);
+        watchdog = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("session-watchdog").daemon().factory());
+        watchdog.scheduleAtFixedRate(this::closeStalledSessions,
+                WATCHDOG_PERIOD_MILLIS, WATCHDOG_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    // ============================================================================
+    // SERVING
+    // ============================================================================
+
+    /**
+     * Accepts connections until the server is closed, starting a session for each.
+     * Waits for a free session slot before each accept.
+     * @throws InterruptedException if the accepting thread is interrupted
+     */
+    public void serve() throws InterruptedException {
+        while (!serverSocket.isClosed()) {
+            sessionSlots.acquire();
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                sessionSlots.release();
+                if (serverSocket.isClosed()) {
+                    return; // Closed by close()
+                }
+                Thread.sleep(ACCEPT_BACKOFF_MILLIS); // Transient, e.g. out of descriptors; sessions ending will free some
+                continue;
+            }
+            activeSessions.incrementAndGet();
+            GameSession session = new GameSession(socket, seeds.nextLong(), this);
+            liveSessions.add(session);
+            if (serverSocket.isClosed()) {
+                session.abort(); // close() may have run before the session was added
+            }
+            sessions.execute(session);
+        }
+    }
+
+    /**
+     * Closes the connection of every session whose client has left a write blocked for too long
+     */
+    private void closeStalledSessions() {
+        long now = System.nanoTime();
+        long limit = TimeUnit.MILLISECONDS.toNanos(WRITE_TIMEOUT_MILLIS);
+        for (GameSession session : liveSessions) {
+            if (session.isWriteStalled(now, limit)) {
+                session.abort();
+            }
+        }
+    }
+
+    /**
+     * Called by a session when it ends
+     * @param session The session
+     * @param completed true if the game was played to the end, false if the client left
+     */
+    void sessionEnded(GameSession session, boolean completed) {
+        liveSessions.remove(session);
+        activeSessions.decrementAndGet();
+        sessionSlots.release();
+        if (completed) {
+            completedSessions.increment();
+        } else {
+            droppedSessions.increment();
+        }
+    }
+
+    /**
+     * Stops accepting connections, closes the connection of every running session and waits
+     * for the sessions to end
+     * @throws IOException if the server socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        watchdog.shutdownNow();
+        for (GameSession session : liveSessions) {
+            session.abort();
+        }
+        sessions.close();
+    }
+
+    // ============================================================================
+    // GETTERS
+    // ============================================================================
+
+    /**
+     * Gets the port the server listens on
+     * @return The local port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Gets the number of sessions in progress
+     * @return The active session count
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Gets the number of games played to the end
+     * @return The completed session count
+     */
+    public long getCompletedSessions() {
+        return completedSessions.sum();
+    }
+
+    /**
+     * Gets the number of sessions whose client left early
+     * @return The dropped session count
+     */
+    public long getDroppedSessions() {
+        return droppedSessions.sum();
+    }
+
+    /**
+     * Runs a server until the process is stopped.
+     * @param args The port and the session limit (both optional)
+     * @throws Exception if the server cannot start
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int maxSessions = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_SESSIONS;
+        try (GameServer server = new GameServer(port, maxSessions, System.nanoTime())) {
+            System.out.println("Sliding Penguins server listening on port " + server.getPort());
+            server.serve();
+        }
+    }
+}
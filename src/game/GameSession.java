@@ -0,0 +1,101 @@
+package game;
+
+import interfaces.IPenguinController;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * GameSession plays one game for one connected client of GameServer.
+ * The client plays P2 through a NetworkPlayerController; P1 and P3 are AIControllers.
+ * Every session has its own engine, terrain and random source, so sessions share nothing
+ * and each one simply blocks on its own connection (on a virtual thread, that is cheap).
+ * The connection is closed when the game ends or the client leaves, or by the server when
+ * the client stops reading (see GameServer) or the server shuts down.
+ */
+public class GameSession implements Runnable {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    public static final int IDLE_TIMEOUT_MILLIS = 5 * 60 * 1000; // A silent client is dropped after this
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final Socket socket;
+    private final long seed; // Seed of the session's game
+    private final GameServer server; // Told when the session ends
+    private volatile SessionOutput output; // The session's output once the game started, for the watchdog
+
+    /**
+     * Creates a session for an accepted connection
+     * @param socket The client's connection
+     * @param seed The seed of the game
+     * @param server The server hosting the session
+     */
+    public GameSession(Socket socket, long seed, GameServer server) {
+        this.socket = socket;
+        this.seed = seed;
+        this.server = server;
+    }
+
+    /**
+     * Plays the game to the end, then closes the connection
+     */
+    @Override
+    public void run() {
+        boolean completed = false;
+        try (Socket s = socket) {
+            s.setSoTimeout(IDLE_TIMEOUT_MILLIS);
+            s.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+            SessionOutput out = new SessionOutput(new BufferedWriter(
+                    new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8), SessionOutput.HIGH_WATER));
+            output = out;
+
+            IPenguinController[] controllers = {
+                new AIController(),
+                new NetworkPlayerController(in, out), // P2 is always the player's penguin
+                new AIController()
+            };
+            GameEngine engine = new GameEngine(IcyTerrain.DEFAULT_GRID_SIZE, controllers, out);
+            engine.newGame(seed);
+            engine.runToEnd();
+            out.flush();
+            completed = true;
+        } catch (IOException | UncheckedIOException e) {
+            // The client left or stopped answering; its game is dropped
+        } finally {
+            server.sessionEnded(this, completed);
+        }
+    }
+
+    /**
+     * Checks whether the client has left a write blocked for too long
+     * @param now The current System.nanoTime()
+     * @param limitNanos How long a write may take
+     * @return true if the session's output is stalled
+     */
+    boolean isWriteStalled(long now, long limitNanos) {
+        SessionOutput out = output;
+        return out != null && out.isWriteStalled(now, limitNanos);
+    }
+
+    /**
+     * Closes the connection from another thread; blocked reads and writes of the session fail,
+     * and its game is dropped
+     */
+    void abort() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+    }
+}
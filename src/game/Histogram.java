@@ -0,0 +1,144 @@
+package game;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram counts non-negative values in power-of-two buckets: bucket 0 holds 0,
+ * bucket b holds values in [2^(b-1), 2^b). Recording is lock-free and safe from any number
+ * of threads; percentiles are reported as bucket upper bounds.
+ */
+public class Histogram {
+
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Creates an empty histogram
+     */
+    public Histogram() {
+        for (int b = 0; b < BUCKETS; b++) {
+            buckets[b] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records one value
+     * @param value The value (negative values count as 0)
+     */
+    public void record(long value) {
+        value = Math.max(0, value);
+        buckets[64 - Long.numberOfLeadingZeros(value)].increment(); // 0 -> 0, 1 -> 1, 2-3 -> 2, ...
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Clears all recorded values
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * Takes a consistent-enough copy of the histogram for reporting
+     * (values recorded concurrently may or may not be included)
+     * @return The summary
+     */
+    public Summary summary() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            counts[b] = buckets[b].sum();
+            total += counts[b];
+        }
+        return new Summary(total, sum.sum(), max.get(), percentile(counts, total, 0.50), percentile(counts, total, 0.99));
+    }
+
+    private static long percentile(long[] counts, long total, double fraction) {
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= rank) {
+                return b == 0 ? 0 : (b == 63 ? Long.MAX_VALUE : (1L << b) - 1);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Summary is an immutable view of a histogram.
+     */
+    public static final class Summary {
+        private final long count;
+        private final long sum;
+        private final long max;
+        private final long p50;
+        private final long p99;
+
+        private Summary(long count, long sum, long max, long p50, long p99) {
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+            this.p50 = p50;
+            this.p99 = p99;
+        }
+
+        /**
+         * Gets the number of recorded values
+         * @return The count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the mean of the recorded values
+         * @return The mean, or 0 if nothing was recorded
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Gets the largest recorded value
+         * @return The maximum
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Gets the median, as the upper bound of its bucket
+         * @return The approximate 50th percentile
+         */
+        public long getP50() {
+            return p50;
+        }
+
+        /**
+         * Gets the 99th percentile, as the upper bound of its bucket
+         * @return The approximate 99th percentile
+         */
+        public long getP99() {
+            return p99;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d mean=%.2f p50<=%d p99<=%d max=%d", count, getMean(), p50, p99, max);
+        }
+    }
+}
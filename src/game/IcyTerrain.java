@@ -1,76 +1,126 @@
 package game;
 
+import interfaces.IGridStorage;
+import interfaces.IOutputSink;
+import interfaces.IPenguinListener;
 import interfaces.ITerrainObject;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Random;
-import java.util.Scanner;
+import java.util.Map;
+import java.util.SplittableRandom;
 import objects.*;
 import interfaces.IHazard;
 import enums.Direction;
+import enums.EliminationCause;
+import enums.GameEventType;
 
 /**
- * IcyTerrain represents the 10x10 game grid and manages all game logic.
+ * IcyTerrain represents the square game grid (10x10 by default) and its rules.
  * This class handles:
  * - Grid initialization and object placement
  * - Penguin, hazard, and food generation
  * - Sliding physics and collision detection
- * - Turn-based gameplay and player input
- * - Scoreboard and game result calculation
+ * - Scoreboard and game result display
  *
- * The game consists of 3 penguins competing to collect the most food (by weight)
- * over 4 turns while navigating hazards and utilizing special abilities.
+ * IcyTerrain performs no input. What happens during a move is published as GameEvents on the
+ * terrain's GameEventBus; a ConsoleEventPrinter writes them to the IOutputSink unless the sink is
+ * NullOutput, and with no subscriber no event is built at all. The turn loop and the penguin controllers live in GameEngine.
+ *
+ * The terrain keeps a 64-bit Zobrist hash of the game state (see ZobristKeys), updated
+ * incrementally wherever cells, hole plugs, penguin flags or the turn index change.
+ * Inventories are not part of the hash.
+ *
+ * One rule differs from the original game: a chain reaction is cut off after
+ * DEFAULT_CASCADE_LIMIT nested slides (see setCascadeLimit). A slide queued deeper than the
+ * limit does not run; the object stays where it is and a CASCADE_LIMIT event is published.
+ * Without the cut-off a penguin wedged between two blocked sea lions would bounce forever.
+ * Journals do not record the limit, so replays assume the default.
+ *
+ * For search, makeMove applies a move while recording a ChangeLog of every cell write and
+ * penguin field change, and unmakeMove rolls it back in O(changes). Changes are logged while
+ * any such move is open, i.e. neither undone nor kept with commitMoves.
+ *
+ * When GameMetrics is enabled at construction, moves, collisions, eliminations and ability uses
+ * are also counted there. Moves made with makeMove are hypothetical and are not counted.
  */
 public class IcyTerrain {
 
     // ============================================================================
     // CONSTANTS
     // ============================================================================
-    private static final int GRID_SIZE = 10;
-    private static final int MAX_TURNS = 4;
-    private static final int PENGUIN_COUNT = 3;
-    private static final int HAZARD_COUNT = 15;
-    private static final int FOOD_COUNT = 20;
-    private static final int AI_ABILITY_CHANCE = 30; // 30% chance for AI to use special ability
+    public static final int DEFAULT_GRID_SIZE = 10;
+    public static final int PENGUIN_COUNT = 3;
+    static final int HAZARD_COUNT = 15;
+    static final int FOOD_COUNT = 20;
+    public static final int DEFAULT_CASCADE_LIMIT = 64; // Chain reactions deeper than this are cut off
 
     // ============================================================================
     // INSTANCE VARIABLES
     // ============================================================================
-    private List<List<ITerrainObject>> map; // The 10x10 grid
+    private final int gridSize; // Number of rows and columns
+    private IGridStorage grid; // The gridSize x gridSize grid
+    private Map<ITerrainObject, Integer> positions; // Object -> packed cell index (row * gridSize + col)
     private List<Penguin> penguins; // All penguins in the game
-    private Penguin playerPenguin; // The player's penguin (always P2)
-    private Scanner scanner; // For player input
-    private Random random; // For random generation
+    private IOutputSink output; // Destination of all game messages
+    private final GameEventBus events = new GameEventBus(); // What happens during moves
+    private final CollisionTable collisions = CollisionTable.current(); // Rules in force when the terrain was created
+    private ConsoleEventPrinter printer; // Subscriber writing events to output, null for NullOutput
+    private int cascadeDepth; // Depth of the slide being resolved in the current chain reaction (0 = none)
+    private int cascadeLimit = DEFAULT_CASCADE_LIMIT; // Deepest slide a chain reaction may reach
+    private final SlideStack pendingSlides = new SlideStack(); // Slides the current chain reaction still has to resolve
+    private boolean resolving; // Whether the resolver loop is running
+    private TerrainRenderer renderer; // Plain renderer for printTerrain, created on first use
+    private Map<Penguin, Integer> penguinIndex; // Penguin -> index in turn order, for hashing
+    private long hash; // Zobrist hash of the current state
+    private int turnIndex; // Number of penguin moves played so far, part of the hash
+    private final ChangeLog changes = new ChangeLog(); // Undo log of the moves made with makeMove
+    private boolean recording; // Whether state changes are being logged (openMoves > 0)
+    private int[] openMarks = new int[16]; // Undo log size when each open move was made, oldest first
+    private int openMoves; // Moves made with makeMove or makeSkip and not undone or committed yet
+    private final GameMetrics metrics = GameMetrics.active(); // Metrics registry, null when disabled
+    private int moveSteps; // Metrics: cells travelled during the current move
+    private int moveCascade; // Metrics: deepest chain reaction of the current move
+    private IPenguinListener penguinListener; // Told about stuns and eliminations, or null
+    private WriteClock writeClock; // When each row and column segment was last written, null until trackWrites()
 
     // ============================================================================
     // CONSTRUCTOR
     // ============================================================================
 
     /**
-     * Creates a new IcyTerrain and initializes the game.
-     * This constructor sets up the grid, generates all game objects,
-     * and starts the gameplay loop.
+     * Creates a new empty IcyTerrain of the given size.
+     * Call populate() to generate penguins, hazards and food.
+     * @param gridSize The number of rows and columns of the grid
+     * @param output The sink that receives all game messages
      */
-    public IcyTerrain() {
-        // Initialize grid as 10x10 null grid
-        map = new ArrayList<>();
-        for (int i = 0; i < GRID_SIZE; i++) {
-            List<ITerrainObject> row = new ArrayList<>();
-            for (int j = 0; j < GRID_SIZE; j++) {
-                row.add(null);
-            }
-            map.add(row);
-        }
+    public IcyTerrain(int gridSize, IOutputSink output) {
+        this(gridSize, output, 0);
+    }
 
-        penguins = new ArrayList<>();
-        scanner = new Scanner(System.in);
-        random = new Random();
+    /**
+     * Creates a new empty IcyTerrain sized for a known number of objects (e.g. a decoded board),
+     * so placing them never grows the position index.
+     * @param gridSize The number of rows and columns of the grid
+     * @param output The sink that receives all game messages
+     * @param expectedObjects The number of objects that will be placed
+     */
+    IcyTerrain(int gridSize, IOutputSink output, int expectedObjects) {
+        this.gridSize = gridSize;
+        grid = new FlatGrid(gridSize);
+        positions = expectedObjects > 0 ? new IdentityHashMap<>(expectedObjects) : new IdentityHashMap<>();
 
-        // Setup and start the game
-        setupGame();
-        startGame();
+        penguins = new ArrayList<>();
+        penguinIndex = new IdentityHashMap<>();
+        this.output = output;
+        if (output != NullOutput.INSTANCE) {
+            printer = new ConsoleEventPrinter(output);
+            events.subscribe(printer);
+        }
+        hash = ZobristKeys.turn(0);
     }
 
     // ============================================================================
@@ -78,62 +128,61 @@ public class IcyTerrain {
     // ============================================================================
 
     /**
-     * Sets up the initial game state by generating penguins, hazards, and food.
-     * Displays the initial grid and penguin information.
+     * Generates the initial game state: penguins, hazards, and food.
+     * @param random The game's random source
+     * @throws IllegalArgumentException if the penguins do not fit on the free edge cells, or all
+     *         objects do not fit on the free cells (e.g. a grid smaller than 7x7)
      */
-    private void setupGame() {
-        System.out.println("Welcome to Sliding Penguins Puzzle Game App. An " + GRID_SIZE + "x" + GRID_SIZE + " icy terrain grid is being generated.");
-        System.out.println("Penguins, Hazards, and Food items are also being generated.");
-
-        generatePenguins();
-        placePenguinsOnGrid();
-        generateHazards();
-        generateFood();
-
-        System.out.println("The initial icy terrain grid:");
-        printTerrain();
+    public void populate(SplittableRandom random) {
+        int freeEdgeCells = 0;
+        for (int row = 0; row < gridSize; row++) {
+            for (int col = 0; col < gridSize; col++) {
+                boolean isEdge = (row == 0 || row == gridSize-1 || col == 0 || col == gridSize-1);
+                if (isEdge && isEmpty(row, col)) {
+                    freeEdgeCells++;
+                }
+            }
+        }
+        int freeCells = gridSize * gridSize - positions.size();
+        if (freeEdgeCells < PENGUIN_COUNT || freeCells < PENGUIN_COUNT + HAZARD_COUNT + FOOD_COUNT) {
+            throw new IllegalArgumentException("A " + gridSize + "x" + gridSize + " grid has room for "
+                    + freeCells + " objects (" + freeEdgeCells + " on the edge), a game needs "
+                    + (PENGUIN_COUNT + HAZARD_COUNT + FOOD_COUNT) + " (" + PENGUIN_COUNT + " on the edge)");
+        }
 
-        printPenguinInfo();
+        generatePenguins(random);
+        placePenguinsOnGrid(random);
+        generateHazards(random);
+        generateFood(random);
     }
 
     /**
      * Generates 3 random penguins with names P1, P2, P3.
-     * P2 is always assigned as the player's penguin.
      * Each penguin has an equal 25% chance of being any of the 4 types.
+     * @param random The game's random source
      */
-    private void generatePenguins() {
+    private void generatePenguins(SplittableRandom random) {
         for (int i = 1; i <= PENGUIN_COUNT; i++) {
             String name = "P" + i;
             int type = random.nextInt(4); // 0-3 for four penguin types
-            Penguin p = null;
-
-            switch(type) {
-                case 0: p = new KingPenguin(name); break;
-                case 1: p = new EmperorPenguin(name); break;
-                case 2: p = new RoyalPenguin(name); break;
-                case 3: p = new RockhopperPenguin(name); break;
-            }
-
-            penguins.add(p);
+            registerPenguin(createPenguin(type, name));
         }
-
-        // P2 (index 1) is always the player's penguin
-        playerPenguin = penguins.get(1);
     }
 
     /**
      * Places all penguins on edge squares of the grid randomly.
      * No two penguins can occupy the same square.
+     * @param random The game's random source
      */
-    private void placePenguinsOnGrid() {
+    private void placePenguinsOnGrid(SplittableRandom random) {
         for (Penguin p : penguins) {
             boolean placed = false;
             while (!placed) {
-                int row = random.nextInt(GRID_SIZE);
-                int col = random.nextInt(GRID_SIZE);
+                int row = random.nextInt(gridSize);
+                int col = random.nextInt(gridSize);
 
                 // Check if position is on the edge
-                boolean isEdge = (row == 0 || row == GRID_SIZE-1 || col == 0 || col == GRID_SIZE-1);
+                boolean isEdge = (row == 0 || row == gridSize-1 || col == 0 || col == gridSize-1);
 
                 if (isEdge && isEmpty(row, col)) {
                     placeObjectAt(row, col, p);
@@ -147,25 +196,17 @@ public class IcyTerrain {
      * Generates 15 random hazards and places them on the grid.
      * Hazards cannot occupy the same space as penguins.
      * Each hazard type has an equal 25% chance of being generated.
+     * @param random The game's random source
      */
-    private void generateHazards() {
+    private void generateHazards(SplittableRandom random) {
         int count = 0;
         while (count < HAZARD_COUNT) {
-            int row = random.nextInt(GRID_SIZE);
-            int col = random.nextInt(GRID_SIZE);
+            int row = random.nextInt(gridSize);
+            int col = random.nextInt(gridSize);
 
             if (isEmpty(row, col)) {
                 int type = random.nextInt(4); // 0-3 for four hazard types
-                IHazard hazard = null;
-
-                switch(type) {
-                    case 0: hazard = new LightIceBlock(); break;
-                    case 1: hazard = new HeavyIceBlock(); break;
-                    case 2: hazard = new SeaLion(); break;
-                    case 3: hazard = new HoleInIce(); break;
-                }
-
-                placeObjectAt(row, col, hazard);
+                placeObjectAt(row, col, createHazard(type));
                 count++;
             }
         }
@@ -175,26 +216,135 @@ public class IcyTerrain {
      * Generates 20 random food items and places them on the grid.
      * Food cannot occupy spaces with penguins or hazards.
      * Each food gets a random type and weight (1-5).
+     * @param random The game's random source
      */
-    private void generateFood() {
+    private void generateFood(SplittableRandom random) {
         int count = 0;
         while (count < FOOD_COUNT) {
-            int row = random.nextInt(GRID_SIZE);
-            int col = random.nextInt(GRID_SIZE);
+            int row = random.nextInt(gridSize);
+            int col = random.nextInt(gridSize);
 
             if (isEmpty(row, col)) {
-                placeObjectAt(row, col, new Food());
+                placeObjectAt(row, col, new Food(random));
                 count++;
             }
         }
     }
 
+    /**
+     * Generates an arena: any number of penguins, hazards and food on a large grid.
+     * Every object goes on a distinct random free cell drawn by a FreeCellSampler, so
+     * placement takes O(1) per object however crowded the grid is. Penguins are named
+     * P1, P2, ... in turn order and may start anywhere, not only on the edges.
+     * @param random The game's random source
+     * @param penguinCount Number of penguins
+     * @param hazardCount Number of hazards
+     * @param foodCount Number of food items
+     * @throws IllegalArgumentException if the objects do not fit on the empty cells
+     */
+    public void populateArena(SplittableRandom random, int penguinCount, int hazardCount, int foodCount) {
+        FreeCellSampler free = new FreeCellSampler(this);
+        if ((long) penguinCount + hazardCount + foodCount > free.remaining()) {
+            throw new IllegalArgumentException("Arena of " + gridSize + "x" + gridSize + " has only "
+                    + free.remaining() + " free cells");
+        }
+
+        for (int i = 1; i <= penguinCount; i++) {
+            Penguin p = createPenguin(random.nextInt(4), "P" + i);
+            registerPenguin(p);
+            int cell = free.sample(random);
+            placeObjectAt(cell / gridSize, cell % gridSize, p);
+        }
+        for (int i = 0; i < hazardCount; i++) {
+            int cell = free.sample(random);
+            placeObjectAt(cell / gridSize, cell % gridSize, createHazard(random.nextInt(4)));
+        }
+        for (int i = 0; i < foodCount; i++) {
+            int cell = free.sample(random);
+            placeObjectAt(cell / gridSize, cell % gridSize, new Food(random));
+        }
+    }
+
+    /**
+     * Creates a penguin of a type.
+     * @param type 0 = King, 1 = Emperor, 2 = Royal, 3 = Rockhopper
+     * @param name The penguin's name
+     * @return The new penguin
+     */
+    static Penguin createPenguin(int type, String name) {
+        switch (type) {
+            case 0: return new KingPenguin(name);
+            case 1: return new EmperorPenguin(name);
+            case 2: return new RoyalPenguin(name);
+            default: return new RockhopperPenguin(name);
+        }
+    }
+
+    /**
+     * Gets the type of a penguin, the inverse of createPenguin.
+     * @param p The penguin
+     * @return 0 = King, 1 = Emperor, 2 = Royal, 3 = Rockhopper
+     */
+    static int penguinType(Penguin p) {
+        if (p instanceof KingPenguin) return 0;
+        if (p instanceof EmperorPenguin) return 1;
+        if (p instanceof RoyalPenguin) return 2;
+        return 3;
+    }
+
+    /**
+     * Creates a hazard of a type.
+     * @param type 0 = LightIceBlock, 1 = HeavyIceBlock, 2 = SeaLion, 3 = HoleInIce
+     * @return The new hazard
+     */
+    static IHazard createHazard(int type) {
+        switch (type) {
+            case 0: return new LightIceBlock();
+            case 1: return new HeavyIceBlock();
+            case 2: return new SeaLion();
+            default: return new HoleInIce();
+        }
+    }
+
+    /**
+     * Adds a penguin to the game at a given position (used when restoring a saved layout).
+     * Penguins take their turns in the order they are added.
+     * @param p The penguin
+     * @param row The row index
+     * @param col The column index
+     */
+    public void addPenguin(Penguin p, int row, int col) {
+        registerPenguin(p);
+        placeObjectAt(row, col, p);
+    }
+
+    /**
+     * Adds a penguin to the turn order and hashes its flags.
+     * @param p The penguin
+     */
+    private void registerPenguin(Penguin p) {
+        penguinIndex.put(p, penguins.size());
+        penguins.add(p);
+        hash ^= flagKeys(p);
+    }
+
+    /**
+     * Places a hazard or food item at a given position (used when restoring a saved layout).
+     * @param row The row index
+     * @param col The column index
+     * @param obj The object to place
+     */
+    public void placeObject(int row, int col, ITerrainObject obj) {
+        placeObjectAt(row, col, obj);
+    }
+
     /**
      * Prints information about all penguins in the game.
      * Shows penguin number, name, type, and indicates which is the player's penguin.
+     * @param playerPenguin The player's penguin, or null if every penguin is AI-controlled
      */
-    private void printPenguinInfo() {
-        System.out.println("These are the penguins on the icy terrain:");
+    public void printPenguinInfo(Penguin playerPenguin) {
+        output.println("These are the penguins on the icy terrain:");
         int count = 1;
         for (Penguin p : penguins) {
             String role = "";
@@ -206,237 +356,151 @@ public class IcyTerrain {
             String className = p.getClass().getSimpleName();
             String formattedName = className.replaceAll("(?<=\\p{Ll})(?=\\p{Lu})", " ");
 
-            System.out.println("- Penguin " + count + " (" + p.getSymbol() + "): " + formattedName + role);
+            output.println("- Penguin " + count + " (" + p.getSymbol() + "): " + formattedName + role);
             count++;
         }
-        System.out.println();
+        output.println();
     }
 
     // ============================================================================
-    // GAMEPLAY LOOP
+    // MOVES
     // ============================================================================
 
     /**
-     * Main gameplay loop that runs for 4 turns.
-     * Each turn, all active penguins make their moves in order (P1, P2, P3).
-     * Eliminated or stunned penguins skip their turns.
-     */
-    private void startGame() {
-        for (int turn = 1; turn <= MAX_TURNS; turn++) {
-            for (Penguin p : penguins) {
-                // Skip eliminated penguins
-                if (!p.isActive()) {
-                    continue;
-                }
-
-                // Check if penguin is stunned from previous turn
-                if (p.isStunned()) {
-                    String role = (p == playerPenguin) ? " (Your Penguin)" : "";
-                    System.out.println("*** Turn " + turn + " - " + p.getSymbol() + role + ":");
-                    System.out.println(p.getSymbol() + " is stunned and skips this turn!");
-                    p.clearStun(); // Clear stun for next turn
-                    System.out.println("New state of the grid:");
-                    printTerrain();
-                    System.out.println();
-                    continue;
-                }
-
-                // Display turn header
-                String role = (p == playerPenguin) ? " (Your Penguin)" : "";
-                System.out.println("*** Turn " + turn + " - " + p.getSymbol() + role + ":");
-
-                // Handle turn based on whether it's player or AI
-                if (p == playerPenguin) {
-                    handlePlayerTurn(p);
-                } else {
-                    handleAITurn(p);
-                }
-
-                // Display updated grid
-                System.out.println("New state of the grid:");
-                printTerrain();
-                System.out.println();
-            }
-        }
-
-        // Game over - display results
-        System.out.println("***** GAME OVER *****");
-        printScoreboard();
-    }
-
-    // ============================================================================
-    // TURN HANDLING
-    // ============================================================================
-
-    /**
-     * Handles a player's turn by prompting for input.
-     * Asks whether to use special ability and which direction to move.
-     * @param p The player's penguin
+     * Executes one penguin move: either its special ability or a normal slide.
+     * The ability is only used if requested and not already consumed.
+     * @param p The moving penguin
+     * @param dir The direction to move
+     * @param useAbility true to use the special ability
      */
-    private void handlePlayerTurn(Penguin p) {
-        // Ask if player wants to use special ability (only if not already used)
-        boolean useAbility = false;
-        if (!p.hasUsedSpecialAbility()) {
-            String answer;
-            do {
-                System.out.print("Will " + p.getSymbol() + " use its special action? Answer with Y or N --> ");
-                answer = scanner.next().trim().toUpperCase();
-            } while(!answer.equals("Y") && !answer.equals("N"));
-
-            useAbility = answer.equals("Y");
+    public void applyMove(Penguin p, Direction dir, boolean useAbility) {
+        moveSteps = 0;
+        moveCascade = 0;
+        if (events.hasSubscribers()) {
+            events.publish(GameEventType.MOVE, turnIndex, p, null, dir, useAbility, null);
         }
-
-        // Ask for movement direction
-        String dirInput;
-        do {
-            System.out.print("Which direction will " + p.getSymbol() + " move? Answer with U (Up), D (Down), L (Left), R (Right) --> ");
-            dirInput = scanner.next().trim().toUpperCase();
-        } while(!dirInput.equals("U") && !dirInput.equals("D") && !dirInput.equals("L") && !dirInput.equals("R"));
-
-        Direction dir = parseDirection(dirInput);
-
-        // Execute move
-        if (useAbility) {
+        if (useAbility && !p.hasUsedSpecialAbility()) {
             executeSpecialAbility(p, dir);
         } else {
             simulateSlide(p, dir);
         }
+        if (metrics != null && !recording) {
+            metrics.recordMove(moveSteps, moveCascade);
+        }
     }
 
     /**
-     * Handles an AI penguin's turn with intelligent decision making.
-     * AI prioritizes: Food > Hazards (to stop safely) > Random direction
-     * AI has a 30% chance of using special ability each turn.
-     * Exception: RockhopperPenguin auto-uses ability when moving toward hazard.
-     * @param p The AI penguin
+     * Applies a move that can be undone with unmakeMove.
+     * Moves can be nested: unmaking an earlier mark also undoes every move made after it,
+     * including plain applyMove calls made while it was open.
+     * Messages are still written to the output sink; searches should use NullOutput.
+     * The move is not counted in GameMetrics.
+     * @param p The moving penguin
+     * @param dir The direction to move
+     * @param useAbility true to use the special ability
+     * @return The mark to pass to unmakeMove
      */
-    private void handleAITurn(Penguin p) {
-        // Decide whether to use special ability (30% chance, except for Rockhopper special case)
-        boolean useAbility = false;
-        Direction chosenDirection = null;
-
-        if (!p.hasUsedSpecialAbility() && random.nextInt(100) < AI_ABILITY_CHANCE) {
-            useAbility = true;
-        }
-
-        // Choose direction based on AI logic
-        chosenDirection = chooseAIDirection(p);
-
-        // Special case: RockhopperPenguin auto-uses ability when moving toward hazard
-        if (p instanceof RockhopperPenguin && !p.hasUsedSpecialAbility()) {
-            if (hasHazardInDirection(p, chosenDirection)) {
-                useAbility = true;
-                System.out.println(p.getSymbol() + " will automatically USE its special action.");
-            }
-        }
-
-        // Display AI decision
-        if (useAbility && !p.hasUsedSpecialAbility()) {
-            System.out.println(p.getSymbol() + " chooses to USE its special action.");
-        } else if (!p.hasUsedSpecialAbility()) {
-            System.out.println(p.getSymbol() + " does NOT use its special action.");
-        }
-
-        System.out.println(p.getSymbol() + " chooses to move " + directionToString(chosenDirection) + ".");
-
-        // Execute move
-        if (useAbility && !p.hasUsedSpecialAbility()) {
-            executeSpecialAbility(p, chosenDirection);
-        } else {
-            simulateSlide(p, chosenDirection);
-        }
+    public int makeMove(Penguin p, Direction dir, boolean useAbility) {
+        int mark = openMove();
+        applyMove(p, dir, useAbility);
+        return mark;
     }
 
     /**
-     * AI decision making: chooses the best direction to move.
-     * Priority: Food > Hazard (to stop) > Random
-     * @param p The penguin making the decision
-     * @return The chosen direction
+     * Clears a stunned penguin's stun so that it can be undone with unmakeMove
+     * (a stunned penguin's skipped turn, for searches).
+     * @param p The stunned penguin
+     * @return The mark to pass to unmakeMove
      */
-    private Direction chooseAIDirection(Penguin p) {
-        Direction[] directions = Direction.values();
-        List<Direction> directionsWithFood = new ArrayList<>();
-        List<Direction> directionsWithHazard = new ArrayList<>();
-
-        int[] pos = getPosition(p);
-        if (pos == null) return directions[0]; // Fallback
-
-        // Scan all directions for food and hazards
-        for (Direction d : directions) {
-            scanDirectionForObjects(p, d, directionsWithFood, directionsWithHazard);
-        }
+    public int makeSkip(Penguin p) {
+        int mark = openMove();
+        clearStun(p);
+        return mark;
+    }
 
-        // Choose best direction based on priority
-        if (!directionsWithFood.isEmpty()) {
-            return directionsWithFood.get(random.nextInt(directionsWithFood.size()));
-        } else if (!directionsWithHazard.isEmpty()) {
-            return directionsWithHazard.get(random.nextInt(directionsWithHazard.size()));
-        } else {
-            return directions[random.nextInt(directions.length)];
+    /**
+     * Opens a move: from now on, state changes are logged until it is undone or committed.
+     * @return The move's mark, its depth among the open moves
+     */
+    private int openMove() {
+        if (openMoves == openMarks.length) {
+            openMarks = Arrays.copyOf(openMarks, openMoves * 2);
         }
+        openMarks[openMoves] = changes.size();
+        recording = true;
+        return openMoves++;
     }
 
     /**
-     * Scans a direction for food and hazards, populating the given lists.
-     * @param p The penguin scanning
-     * @param dir The direction to scan
-     * @param foodDirs List to add direction if food is found
-     * @param hazardDirs List to add direction if hazard is found
+     * Restores the state from before the makeMove or makeSkip that returned mark.
+     * Every move made after it is undone as well.
+     * @param mark A mark returned by makeMove or makeSkip, whose move is still open
+     * @throws IllegalArgumentException if the mark's move was already undone or committed
      */
-    private void scanDirectionForObjects(Penguin p, Direction dir, List<Direction> foodDirs, List<Direction> hazardDirs) {
-        int[] pos = getPosition(p);
-        if (pos == null) return;
-
-        int[] delta = getDirectionDelta(dir);
-        int row = pos[0];
-        int col = pos[1];
-
-        // Scan along the direction until hitting something or edge
-        while (true) {
-            row += delta[0];
-            col += delta[1];
-
-            if (isOutOfBounds(row, col)) break;
-
-            ITerrainObject obj = getObjectAt(row, col);
-            if (obj == null) continue; // Empty space, keep scanning
-
-            if (obj instanceof Food) {
-                foodDirs.add(dir);
-                break;
-            } else if (obj instanceof IHazard || obj instanceof Penguin) {
-                hazardDirs.add(dir);
-                break;
+    public void unmakeMove(int mark) {
+        if (mark < 0 || mark >= openMoves) {
+            throw new IllegalArgumentException("No open move with mark " + mark + " (" + openMoves + " open)");
+        }
+        int size = openMarks[mark];
+        recording = false; // The inverse operations must not be logged
+        while (changes.size() > size) {
+            int i = changes.size() - 1;
+            Object ref = changes.refAt(i);
+            switch (changes.opAt(i)) {
+                case ChangeLog.CELL: {
+                    int cell = changes.argAt(i);
+                    if (ref == null) {
+                        clearCell(cell / gridSize, cell % gridSize);
+                    } else {
+                        placeObjectAt(cell / gridSize, cell % gridSize, (ITerrainObject) ref);
+                    }
+                    break;
+                }
+                case ChangeLog.PLUG: {
+                    int holeCell = positions.get(ref);
+                    hash ^= ZobristKeys.cell(holeCell, ZobristKeys.HOLE) ^ ZobristKeys.cell(holeCell, ZobristKeys.PLUGGED_HOLE);
+                    ((HoleInIce) ref).setPlugged(false);
+                    break;
+                }
+                case ChangeLog.STUN:
+                    clearStun((Penguin) ref);
+                    break;
+                case ChangeLog.UNSTUN:
+                    stun((Penguin) ref);
+                    break;
+                case ChangeLog.ABILITY:
+                    hash ^= ZobristKeys.flag(penguinIndex.get(ref), ZobristKeys.ABILITY_USED);
+                    ((Penguin) ref).resetSpecialAbility();
+                    break;
+                case ChangeLog.ELIMINATE:
+                    hash ^= ZobristKeys.flag(penguinIndex.get(ref), ZobristKeys.ACTIVE);
+                    ((Penguin) ref).revive();
+                    break;
+                case ChangeLog.EAT:
+                    ((Penguin) ref).removeLastFood();
+                    break;
+                case ChangeLog.PENALTY:
+                    ((Penguin) ref).restoreFood((Food) changes.ref2At(i));
+                    break;
             }
+            changes.pop();
         }
+        openMoves = mark;
+        recording = openMoves > 0;
     }
 
     /**
-     * Checks if there's a hazard in the given direction (for Rockhopper AI).
-     * @param p The penguin checking
-     * @param dir The direction to check
-     * @return true if a hazard exists in that direction
+     * Keeps the state of every open move: the undo log is dropped, and moves made from now on
+     * are not logged unless made with makeMove or makeSkip again. The penguins' inventories
+     * are compacted, as their food penalties are final now.
      */
-    private boolean hasHazardInDirection(Penguin p, Direction dir) {
-        int[] pos = getPosition(p);
-        if (pos == null) return false;
-
-        int[] delta = getDirectionDelta(dir);
-        int row = pos[0];
-        int col = pos[1];
-
-        while (true) {
-            row += delta[0];
-            col += delta[1];
-
-            if (isOutOfBounds(row, col)) break;
-
-            ITerrainObject obj = getObjectAt(row, col);
-            if (obj instanceof IHazard) return true;
-            if (obj instanceof Penguin || obj instanceof Food) break;
+    public void commitMoves() {
+        changes.clear();
+        openMoves = 0;
+        recording = false;
+        for (Penguin p : penguins) {
+            p.getFoodInventory().compact(); // Penalties of the committed moves are final now
         }
-
-        return false;
     }
 
     // ============================================================================
@@ -449,13 +513,16 @@ public class IcyTerrain {
      * @param dir The direction to move
      */
     private void executeSpecialAbility(Penguin p, Direction dir) {
+        hash ^= ZobristKeys.flag(penguinIndex.get(p), ZobristKeys.ABILITY_USED);
         p.useSpecialAbility(); // Mark ability as used
+        if (recording) changes.push(ChangeLog.ABILITY, 0, p, null);
+        if (metrics != null && !recording) metrics.countAbility(p);
+
+        publish(GameEventType.ABILITY, p, null);
 
         if (p instanceof KingPenguin) {
-            System.out.println(p.getSymbol() + " uses King Ability (stops at 5th square).");
             simulateSlideWithLimit(p, dir, 5);
         } else if (p instanceof EmperorPenguin) {
-            System.out.println(p.getSymbol() + " uses Emperor Ability (stops at 3rd square).");
             simulateSlideWithLimit(p, dir, 3);
         } else if (p instanceof RoyalPenguin) {
             executeRoyalAbility(p, dir);
@@ -470,8 +537,6 @@ public class IcyTerrain {
      * @param dir The direction to move
      */
     private void executeRoyalAbility(Penguin p, Direction dir) {
-        System.out.println(p.getSymbol() + " moves 1 square (Royal Walk).");
-
         int[] pos = getPosition(p);
         if (pos == null) return;
 
@@ -481,8 +546,8 @@ public class IcyTerrain {
 
         // Check if stepping out of bounds
         if (isOutOfBounds(nextRow, nextCol)) {
-            System.out.println(p.getSymbol() + " stepped out of the grid!");
-            p.eliminate();
+            publish(GameEventType.STEP_OUT, p, null);
+            handleElimination(p, EliminationCause.WATER);
             clearCell(pos[0], pos[1]);
             return;
         }
@@ -492,17 +557,17 @@ public class IcyTerrain {
         // Handle the single step movement
         if (nextObj == null) {
             moveObjectAtomic(pos[0], pos[1], nextRow, nextCol);
-        } else if (nextObj instanceof Food) {
+        } else if (nextObj.getKind() == ITerrainObject.FOOD) {
             moveObjectAtomic(pos[0], pos[1], nextRow, nextCol);
-            p.eatFood((Food) nextObj);
+            collectFood(p, (Food) nextObj);
             return; // Stop after eating food
         } else {
-            System.out.println(p.getSymbol() + " cannot step onto " + nextObj.getSymbol() + "!");
+            publish(GameEventType.STEP_BLOCKED, p, nextObj);
             return;
         }
 
         // Now slide normally from new position
-        System.out.println(p.getSymbol() + " now slides from the new position.");
+        publish(GameEventType.STEP_SLIDE, p, null);
         simulateSlide(p, dir);
     }
 
@@ -513,8 +578,6 @@ public class IcyTerrain {
      * @param dir The direction to jump/move
      */
     private void executeRockhopperAbility(Penguin p, Direction dir) {
-        System.out.println(p.getSymbol() + " prepares to jump over a hazard.");
-
         int[] pos = getPosition(p);
         if (pos == null) return;
 
@@ -524,30 +587,17 @@ public class IcyTerrain {
         ITerrainObject hazard = null;
         int hazardRow = -1, hazardCol = -1;
 
-        int row = pos[0];
-        int col = pos[1];
-
-        for (int dist = 1; dist < GRID_SIZE * 2; dist++) {
-            row = pos[0] + delta[0] * dist;
-            col = pos[1] + delta[1] * dist;
-
-            if (isOutOfBounds(row, col)) break;
-
-            ITerrainObject obj = getObjectAt(row, col);
-            if (obj instanceof IHazard) {
-                hazard = obj;
-                hazardRow = row;
-                hazardCol = col;
-                break;
-            } else if (obj instanceof Food || obj instanceof Penguin) {
-                // Food or penguin blocks the search
-                break;
-            }
+        // Only the first object in the path matters: food or a penguin blocks the search
+        int cell = grid.nextOccupied(pos[0], pos[1], dir);
+        if (cell >= 0 && collisions.isHazard(grid.getKind(cell))) {
+            hazard = grid.get(cell);
+            hazardRow = cell / gridSize;
+            hazardCol = cell % gridSize;
         }
 
         // If no hazard found, slide normally
         if (hazard == null) {
-            System.out.println("No hazard to jump over. " + p.getSymbol() + " slides normally.");
+            publish(GameEventType.JUMP_NO_HAZARD, p, null);
             simulateSlide(p, dir);
             return;
         }
@@ -557,24 +607,24 @@ public class IcyTerrain {
         int landCol = hazardCol + delta[1];
 
         if (isOutOfBounds(landRow, landCol)) {
-            System.out.println(p.getSymbol() + " jumps over " + hazard.getSymbol() + " but lands in water!");
-            p.eliminate();
+            publish(GameEventType.JUMP_INTO_WATER, p, hazard);
+            handleElimination(p, EliminationCause.WATER);
             clearCell(pos[0], pos[1]);
             return;
         }
 
         ITerrainObject landingSpot = getObjectAt(landRow, landCol);
+        byte landingKind = grid.getKind(landRow * gridSize + landCol);
 
         // Can only land on empty or food
-        if (landingSpot == null || landingSpot instanceof Food) {
-            System.out.println(p.getSymbol() + " jumps over " + hazard.getSymbol() + "!");
+        if (landingKind == ITerrainObject.EMPTY || landingKind == ITerrainObject.FOOD) {
+            publish(GameEventType.JUMP, p, hazard);
             moveObjectAtomic(pos[0], pos[1], landRow, landCol);
-            if (landingSpot instanceof Food) {
-                p.eatFood((Food) landingSpot);
+            if (landingKind == ITerrainObject.FOOD) {
+                collectFood(p, (Food) landingSpot);
             }
         } else {
-            System.out.println("Jump failed! Landing spot occupied by " + landingSpot.getSymbol() + ".");
-            System.out.println(p.getSymbol() + " slides normally instead.");
+            publish(GameEventType.JUMP_BLOCKED, p, landingSpot);
             simulateSlide(p, dir);
         }
     }
@@ -586,10 +636,54 @@ public class IcyTerrain {
     /**
      * Simulates unlimited sliding until collision or falling off edge.
      * Handles all collision mechanics including hazards, food, and other penguins.
+     *
+     * Chain reactions are resolved iteratively: a slide started by a collision is queued on
+     * pendingSlides and run by the loop below once the current slide is over, in the same order
+     * as nested calls would run them. Slides deeper than the cascade limit stop the object in
+     * place; this prevents endless bounces, e.g. a penguin wedged between two blocked sea lions.
      * @param obj The object that is sliding
      * @param dir The direction of sliding
      */
     private void simulateSlide(ITerrainObject obj, Direction dir) {
+        pendingSlides.push(obj, 0, 0, dir, cascadeDepth + 1);
+        if (resolving) {
+            return; // The running loop picks it up
+        }
+
+        resolving = true;
+        try {
+            while (pendingSlides.size() > 0) {
+                int task = pendingSlides.pop();
+                ITerrainObject slider = (ITerrainObject) pendingSlides.takeRef(task);
+                Direction slideDir = pendingSlides.directionAt(task);
+                int depth = pendingSlides.depthAt(task);
+                if (depth > cascadeLimit) {
+                    publish(GameEventType.CASCADE_LIMIT, slider, null);
+                    continue;
+                }
+
+                cascadeDepth = depth;
+                if (depth > moveCascade) {
+                    moveCascade = depth;
+                }
+                int mark = pendingSlides.size();
+                slideUntilStopped(slider, slideDir);
+                pendingSlides.reverseFrom(mark); // Run this slide's follow-ups in the order they were queued
+            }
+        } finally {
+            pendingSlides.clear();
+            cascadeDepth = 0;
+            resolving = false;
+        }
+    }
+
+    /**
+     * Slides an object until it stops, falls or collides.
+     * Runs of empty cells are crossed in a single jump to the next occupied cell.
+     * @param obj The object that is sliding
+     * @param dir The direction of sliding
+     */
+    private void slideUntilStopped(ITerrainObject obj, Direction dir) {
         int[] delta = getDirectionDelta(dir);
         boolean sliding = true;
 
@@ -599,32 +693,38 @@ public class IcyTerrain {
 
             int currRow = pos[0];
             int currCol = pos[1];
-            int nextRow = currRow + delta[0];
-            int nextCol = currCol + delta[1];
+            int obstacle = grid.nextOccupied(currRow, currCol, dir);
 
-            // CASE 1: Falling into water
-            if (isOutOfBounds(nextRow, nextCol)) {
-                System.out.println(obj.getSymbol() + " fell into the water!");
-                handleElimination(obj);
+            // CASE 1: Nothing until the edge - slide across and fall into water
+            if (obstacle < 0) {
+                publishRemoval(GameEventType.FALL, obj, EliminationCause.WATER);
+                handleElimination(obj, EliminationCause.WATER);
                 clearCell(currRow, currCol);
                 return;
             }
 
-            ITerrainObject nextObj = getObjectAt(nextRow, nextCol);
-
-            // CASE 2: Empty space - keep sliding
-            if (nextObj == null) {
-                moveObjectAtomic(currRow, currCol, nextRow, nextCol);
+            // CASE 2: Empty space - slide up to the cell before the obstacle
+            int nextRow = obstacle / gridSize;
+            int nextCol = obstacle % gridSize;
+            int stopRow = nextRow - delta[0];
+            int stopCol = nextCol - delta[1];
+            if (stopRow != currRow || stopCol != currCol) {
+                moveObjectAtomic(currRow, currCol, stopRow, stopCol);
+                currRow = stopRow;
+                currCol = stopCol;
             }
+
+            ITerrainObject nextObj = grid.get(obstacle);
+
             // CASE 3: Food - collect and stop (for penguins) or crush (for hazards)
-            else if (nextObj instanceof Food) {
-                if (obj instanceof Penguin) {
+            if (grid.getKind(obstacle) == ITerrainObject.FOOD) {
+                if (grid.getKind(currRow * gridSize + currCol) == ITerrainObject.PENGUIN) {
                     moveObjectAtomic(currRow, currCol, nextRow, nextCol);
-                    ((Penguin) obj).eatFood((Food) nextObj);
+                    collectFood((Penguin) obj, (Food) nextObj);
                     return; // Penguins stop at food
                 } else {
                     // Hazards crush food and continue sliding
-                    System.out.println(obj.getSymbol() + " crushed " + nextObj.getSymbol() + "!");
+                    publish(GameEventType.CRUSH, obj, nextObj);
                     moveObjectAtomic(currRow, currCol, nextRow, nextCol);
                 }
             }
@@ -653,28 +753,35 @@ public class IcyTerrain {
 
             int currRow = pos[0];
             int currCol = pos[1];
+
+            // Empty space - jump over the free run, but no further than the step limit
+            int obstacle = grid.nextOccupied(currRow, currCol, dir);
+            int free = (obstacle < 0) ? cellsToEdge(currRow, currCol, dir) : distance(pos, obstacle) - 1;
+            int jump = Math.min(free, maxSteps - stepsTaken);
+            if (jump > 0) {
+                moveObjectAtomic(currRow, currCol, currRow + delta[0] * jump, currCol + delta[1] * jump);
+                stepsTaken += jump;
+                continue;
+            }
+
             int nextRow = currRow + delta[0];
             int nextCol = currCol + delta[1];
 
             // Check boundaries
             if (isOutOfBounds(nextRow, nextCol)) {
-                System.out.println(obj.getSymbol() + " fell into the water!");
-                handleElimination(obj);
+                publishRemoval(GameEventType.FALL, obj, EliminationCause.WATER);
+                handleElimination(obj, EliminationCause.WATER);
                 clearCell(currRow, currCol);
                 return;
             }
 
             ITerrainObject nextObj = getObjectAt(nextRow, nextCol);
 
-            // Empty space - move and increment counter
-            if (nextObj == null) {
-                moveObjectAtomic(currRow, currCol, nextRow, nextCol);
-                stepsTaken++;
-            }
             // Food - collect and stop
-            else if (nextObj instanceof Food && obj instanceof Penguin) {
+            if (grid.getKind(nextRow * gridSize + nextCol) == ITerrainObject.FOOD
+                    && grid.getKind(currRow * gridSize + currCol) == ITerrainObject.PENGUIN) {
                 moveObjectAtomic(currRow, currCol, nextRow, nextCol);
-                ((Penguin) obj).eatFood((Food) nextObj);
+                collectFood((Penguin) obj, (Food) nextObj);
                 return;
             }
             // Obstacle - handle collision and stop
@@ -686,7 +793,7 @@ public class IcyTerrain {
 
         // Reached step limit
         if (stepsTaken == maxSteps) {
-            System.out.println(obj.getSymbol() + " stopped early using special ability.");
+            publish(GameEventType.ABILITY_STOP, obj, null);
         }
     }
 
@@ -696,7 +803,7 @@ public class IcyTerrain {
 
     /**
      * Handles collision between a moving object and a stationary object.
-     * Implements all special collision mechanics:
+     * The outcome is looked up in the terrain's CollisionTable by the kinds of both objects:
      * - HoleInIce: Object falls in (penguins eliminated, hazards plug hole)
      * - HeavyIceBlock: Penguin loses lightest food
      * - LightIceBlock: Penguin gets stunned, block slides away
@@ -713,49 +820,30 @@ public class IcyTerrain {
      */
     private void handleCollision(ITerrainObject moving, ITerrainObject stationary, Direction dir,
                                  int movingRow, int movingCol, int stationaryRow, int stationaryCol) {
-        System.out.println(moving.getSymbol() + " hit " + stationary.getSymbol() + "!");
+        publish(GameEventType.COLLISION, moving, stationary);
 
-        // Collision with HoleInIce
-        if (stationary instanceof HoleInIce) {
-            handleHoleCollision(moving, (HoleInIce) stationary, movingRow, movingCol);
-            return;
+        byte movingKind = grid.getKind(movingRow * gridSize + movingCol);
+        byte stationaryKind = grid.getKind(stationaryRow * gridSize + stationaryCol);
+        if (metrics != null && !recording) {
+            boolean plugged = stationaryKind == ITerrainObject.HOLE && ((HoleInIce) stationary).isPlugged();
+            metrics.countCollision(plugged ? GameMetrics.PLUGGED_HOLE : stationaryKind);
         }
 
-        // Collision with HeavyIceBlock
-        if (stationary instanceof HeavyIceBlock) {
-            if (moving instanceof Penguin) {
-                Penguin p = (Penguin) moving;
-                boolean foodLost = p.removeLightestFood();
-                if (!foodLost) {
-                    System.out.println(p.getSymbol() + " has no food to lose!");
-                }
-            }
-            return; // Moving object stops
-        }
-
-        // Collision with LightIceBlock
-        if (stationary instanceof LightIceBlock) {
-            if (moving instanceof Penguin) {
-                ((Penguin) moving).stun(); // Stun the penguin
-            }
-            // Push the light ice block
-            simulateSlide(stationary, dir);
-            return;
-        }
-
-        // Collision with SeaLion
-        if (stationary instanceof SeaLion) {
-            handleSeaLionCollision(moving, stationary, dir);
-            return;
-        }
+        collisions.get(movingKind, stationaryKind)
+                .collide(this, moving, stationary, dir, movingRow, movingCol, stationaryRow, stationaryCol);
+    }
 
-        // Collision with another Penguin
-        if (stationary instanceof Penguin && moving instanceof Penguin) {
-            handlePenguinCollision((Penguin) moving, (Penguin) stationary, dir);
-            return;
+    /**
+     * Applies the HeavyIceBlock penalty: the penguin loses its lightest food.
+     * @param p The penguin that hit the block
+     */
+    void handleHeavyIcePenalty(Penguin p) {
+        Food lost = p.removeLightestFood();
+        if (lost != null) {
+            if (recording) changes.push(ChangeLog.PENALTY, 0, p, lost);
+            else p.getFoodInventory().compact(); // Nothing will undo the removal
         }
-
-        // Default: just stop (for any other obstacles)
+        publish(GameEventType.PENALTY, p, lost);
     }
 
     /**
@@ -763,16 +851,19 @@ public class IcyTerrain {
      * Penguins are eliminated, hazards plug the hole.
      * Plugged holes can be passed through.
      */
-    private void handleHoleCollision(ITerrainObject obj, HoleInIce hole, int row, int col) {
+    void handleHoleCollision(ITerrainObject obj, HoleInIce hole, int row, int col) {
         if (!hole.isPlugged()) {
-            System.out.println(obj.getSymbol() + " fell into the hole!");
-            handleElimination(obj);
+            publishRemoval(GameEventType.FALL, obj, EliminationCause.HOLE);
+            handleElimination(obj, EliminationCause.HOLE);
             clearCell(row, col);
 
             // Non-penguins plug the hole
-            if (!(obj instanceof Penguin)) {
+            if (obj.getKind() != ITerrainObject.PENGUIN) {
+                int holeCell = positions.get(hole);
+                hash ^= ZobristKeys.cell(holeCell, ZobristKeys.HOLE) ^ ZobristKeys.cell(holeCell, ZobristKeys.PLUGGED_HOLE);
                 hole.setPlugged(true);
-                System.out.println("The hole is now PLUGGED.");
+                if (recording) changes.push(ChangeLog.PLUG, 0, hole, null);
+                publish(GameEventType.PLUG, obj, hole);
             }
         }
         // If hole is plugged, it doesn't stop the object
@@ -783,14 +874,14 @@ public class IcyTerrain {
      * Handles collision with a SeaLion (bounce mechanic).
      * Sea lion slides in same direction, penguin bounces back in opposite direction.
      */
-    private void handleSeaLionCollision(ITerrainObject moving, ITerrainObject seaLion, Direction dir) {
-        System.out.println("BOING! " + seaLion.getSymbol() + " bounces away!");
+    void handleSeaLionCollision(ITerrainObject moving, ITerrainObject seaLion, Direction dir) {
+        publish(GameEventType.BOUNCE, moving, seaLion);
 
         // SeaLion slides in same direction as the moving object
         simulateSlide(seaLion, dir);
 
         // If moving object is a penguin, it bounces back in opposite direction
-        if (moving instanceof Penguin) {
+        if (moving.getKind() == ITerrainObject.PENGUIN) {
             Direction opposite = getOppositeDirection(dir);
             simulateSlide(moving, opposite);
         }
@@ -802,8 +893,8 @@ public class IcyTerrain {
      * The moving penguin stops at its current position.
      * The stationary penguin starts sliding in the same direction.
      */
-    private void handlePenguinCollision(Penguin moving, Penguin stationary, Direction dir) {
-        System.out.println("Penguin collision! " + stationary.getSymbol() + " starts sliding!");
+    void handlePenguinCollision(Penguin moving, Penguin stationary, Direction dir) {
+        publish(GameEventType.PUSH, moving, stationary);
         // Moving penguin stops (already in position before collision)
         // Stationary penguin starts sliding in the same direction
         simulateSlide(stationary, dir);
@@ -812,10 +903,112 @@ public class IcyTerrain {
     /**
      * Handles object elimination (penguins falling into water/holes).
      * @param obj The object being eliminated
+     * @param cause Where the object fell
      */
-    private void handleElimination(ITerrainObject obj) {
-        if (obj instanceof Penguin) {
-            ((Penguin) obj).eliminate();
+    private void handleElimination(ITerrainObject obj, EliminationCause cause) {
+        if (obj.getKind() == ITerrainObject.PENGUIN) {
+            if (((Penguin) obj).isActive()) {
+                hash ^= ZobristKeys.flag(penguinIndex.get(obj), ZobristKeys.ACTIVE);
+                if (recording) changes.push(ChangeLog.ELIMINATE, 0, obj, null);
+                if (metrics != null && !recording) metrics.countElimination(cause);
+                if (penguinListener != null) penguinListener.penguinEliminated((Penguin) obj);
+            }
+            ((Penguin) obj).eliminate(cause);
+            publishRemoval(GameEventType.ELIMINATION, obj, cause);
+        }
+    }
+
+    // ============================================================================
+    // COLLISION EFFECTS (for ICollisionHandler rules)
+    // ============================================================================
+
+    /**
+     * Pushes an object on the grid: it slides in a direction as part of the current chain reaction.
+     * @param obj The object to push
+     * @param dir The direction it slides in
+     */
+    public void pushObject(ITerrainObject obj, Direction dir) {
+        simulateSlide(obj, dir);
+    }
+
+    /**
+     * Stuns a penguin after a collision and reports it.
+     * @param p The penguin
+     */
+    public void stunPenguin(Penguin p) {
+        stun(p);
+        publish(GameEventType.STUN, p, null);
+    }
+
+    /**
+     * Takes an object off the grid; a penguin is eliminated.
+     * @param obj The object
+     * @param row The object's row
+     * @param col The object's column
+     * @param cause Where a penguin fell
+     */
+    public void removeFromGame(ITerrainObject obj, int row, int col, EliminationCause cause) {
+        handleElimination(obj, cause);
+        clearCell(row, col);
+    }
+
+    /**
+     * Stuns a penguin, keeping the hash in sync.
+     * @param p The penguin
+     */
+    private void stun(Penguin p) {
+        if (!p.isStunned()) {
+            hash ^= ZobristKeys.flag(penguinIndex.get(p), ZobristKeys.STUNNED);
+            if (recording) changes.push(ChangeLog.STUN, 0, p, null);
+            if (penguinListener != null) penguinListener.penguinStunned(p);
+        }
+        p.stun();
+    }
+
+    /**
+     * Clears a penguin's stun when it skips its turn, keeping the hash in sync.
+     * @param p The penguin
+     */
+    public void clearStun(Penguin p) {
+        if (p.isStunned()) {
+            hash ^= ZobristKeys.flag(penguinIndex.get(p), ZobristKeys.STUNNED);
+            if (recording) changes.push(ChangeLog.UNSTUN, 0, p, null);
+        }
+        p.clearStun();
+    }
+
+    /**
+     * Adds a food item to a penguin's inventory and reports it.
+     * @param p The penguin collecting the food
+     * @param food The food item being collected
+     */
+    private void collectFood(Penguin p, Food food) {
+        p.eatFood(food);
+        if (recording) changes.push(ChangeLog.EAT, 0, p, null);
+        publish(GameEventType.PICKUP, p, food);
+    }
+
+    /**
+     * Publishes a game event, unless nobody listens.
+     * @param type What happened
+     * @param actor The object the event is about
+     * @param target The other object involved, or null
+     */
+    private void publish(GameEventType type, ITerrainObject actor, ITerrainObject target) {
+        if (events.hasSubscribers()) {
+            events.publish(type, turnIndex, actor, target, null, false, null);
+        }
+    }
+
+    /**
+     * Publishes a FALL or ELIMINATION event, unless nobody listens.
+     * @param type What happened
+     * @param actor The object that left the grid
+     * @param cause Where it went
+     */
+    private void publishRemoval(GameEventType type, ITerrainObject actor, EliminationCause cause) {
+        if (events.hasSubscribers()) {
+            events.publish(type, turnIndex, actor, null, null, false, cause);
         }
     }
 
@@ -829,9 +1022,9 @@ public class IcyTerrain {
      * @param col The column index
      * @return The object at that position, or null if empty/out of bounds
      */
-    private ITerrainObject getObjectAt(int row, int col) {
+    public ITerrainObject getObjectAt(int row, int col) {
         if (isOutOfBounds(row, col)) return null;
-        return map.get(row).get(col);
+        return grid.get(row * gridSize + col);
     }
 
     /**
@@ -842,7 +1035,18 @@ public class IcyTerrain {
      */
     private void placeObjectAt(int row, int col, ITerrainObject obj) {
         if (!isOutOfBounds(row, col)) {
-            map.get(row).set(col, obj);
+            int cell = row * gridSize + col;
+            ITerrainObject previous = grid.set(cell, obj);
+            if (writeClock != null) writeClock.touch(cell);
+            if (recording) changes.push(ChangeLog.CELL, cell, previous, null);
+            if (previous != null) {
+                positions.remove(previous); // Overwritten objects (e.g. eaten food) leave the grid
+                hash ^= ZobristKeys.cell(cell, zobristCode(previous));
+            }
+            if (obj != null) {
+                positions.put(obj, cell);
+                hash ^= ZobristKeys.cell(cell, zobristCode(obj));
+            }
         }
     }
 
@@ -852,8 +1056,8 @@ public class IcyTerrain {
      * @param col The column index
      * @return true if out of bounds, false otherwise
      */
-    private boolean isOutOfBounds(int row, int col) {
-        return row < 0 || row >= GRID_SIZE || col < 0 || col >= GRID_SIZE;
+    public boolean isOutOfBounds(int row, int col) {
+        return row < 0 || row >= gridSize || col < 0 || col >= gridSize;
     }
 
     /**
@@ -863,23 +1067,21 @@ public class IcyTerrain {
      * @return true if empty and in bounds, false otherwise
      */
     private boolean isEmpty(int row, int col) {
-        return !isOutOfBounds(row, col) && getObjectAt(row, col) == null;
+        return !isOutOfBounds(row, col) && grid.getKind(row * gridSize + col) == ITerrainObject.EMPTY;
     }
 
     /**
      * Finds the position of an object on the grid.
+     * Uses the position index, so the lookup does not scan the grid.
      * @param obj The object to find
      * @return [row, col] array, or null if not found
      */
-    private int[] getPosition(ITerrainObject obj) {
-        for (int i = 0; i < GRID_SIZE; i++) {
-            for (int j = 0; j < GRID_SIZE; j++) {
-                if (map.get(i).get(j) == obj) {
-                    return new int[]{i, j};
-                }
-            }
+    public int[] getPosition(ITerrainObject obj) {
+        Integer cell = positions.get(obj);
+        if (cell == null) {
+            return null;
         }
-        return null;
+        return new int[]{cell / gridSize, cell % gridSize};
     }
 
     /**
@@ -889,7 +1091,14 @@ public class IcyTerrain {
      */
     private void clearCell(int row, int col) {
         if (!isOutOfBounds(row, col)) {
-            map.get(row).set(col, null);
+            int cell = row * gridSize + col;
+            ITerrainObject previous = grid.clear(cell);
+            if (previous != null) {
+                if (writeClock != null) writeClock.touch(cell);
+                if (recording) changes.push(ChangeLog.CELL, cell, previous, null);
+                positions.remove(previous);
+                hash ^= ZobristKeys.cell(cell, zobristCode(previous));
+            }
         }
     }
 
@@ -903,8 +1112,90 @@ public class IcyTerrain {
      */
     private void moveObjectAtomic(int fromRow, int fromCol, int toRow, int toCol) {
         ITerrainObject obj = getObjectAt(fromRow, fromCol);
-        placeObjectAt(toRow, toCol, obj);
         clearCell(fromRow, fromCol);
+        placeObjectAt(toRow, toCol, obj);
+        moveSteps += Math.abs(toRow - fromRow) + Math.abs(toCol - fromCol);
+    }
+
+    // ============================================================================
+    // HASHING
+    // ============================================================================
+
+    /**
+     * Gets the Zobrist hash of the current state
+     * @return The hash of cell contents, hole plugs, penguin flags and the turn index
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Recomputes the hash from scratch (for verifying the incremental updates)
+     * @return The same value getHash() should return
+     */
+    public long computeHash() {
+        long h = ZobristKeys.turn(turnIndex);
+        for (int cell = 0; cell < gridSize * gridSize; cell++) {
+            ITerrainObject obj = grid.get(cell);
+            if (obj != null) {
+                h ^= ZobristKeys.cell(cell, zobristCode(obj));
+            }
+        }
+        for (Penguin p : penguins) {
+            h ^= flagKeys(p);
+        }
+        return h;
+    }
+
+    /**
+     * Sets the turn index that is part of the hash
+     * @param turnIndex The number of penguin moves played so far
+     */
+    public void setTurnIndex(int turnIndex) {
+        hash ^= ZobristKeys.turn(this.turnIndex) ^ ZobristKeys.turn(turnIndex);
+        this.turnIndex = turnIndex;
+    }
+
+    /**
+     * Gets the turn index that is part of the hash
+     * @return The number of penguin moves played so far
+     */
+    public int getTurnIndex() {
+        return turnIndex;
+    }
+
+    /**
+     * Gets the content code of an object for hashing
+     * @param obj An object on the grid
+     * @return Its ZobristKeys content code
+     */
+    private int zobristCode(ITerrainObject obj) {
+        switch (obj.getKind()) {
+            case ITerrainObject.PENGUIN: return ZobristKeys.penguin(penguinIndex.get(obj));
+            case ITerrainObject.FOOD: {
+                Food food = (Food) obj;
+                return ZobristKeys.food(food.getType().ordinal(), food.getWeight());
+            }
+            case ITerrainObject.LIGHT_ICE: return ZobristKeys.LIGHT_ICE;
+            case ITerrainObject.HEAVY_ICE: return ZobristKeys.HEAVY_ICE;
+            case ITerrainObject.SEA_LION: return ZobristKeys.SEA_LION;
+            case ITerrainObject.HOLE: return ((HoleInIce) obj).isPlugged() ? ZobristKeys.PLUGGED_HOLE : ZobristKeys.HOLE;
+            default: return ZobristKeys.custom(obj.getKind());
+        }
+    }
+
+    /**
+     * XOR of the keys of a penguin's set flags
+     * @param p A penguin in the game
+     * @return The flag keys
+     */
+    private long flagKeys(Penguin p) {
+        int index = penguinIndex.get(p);
+        long keys = 0;
+        if (p.isStunned()) keys ^= ZobristKeys.flag(index, ZobristKeys.STUNNED);
+        if (p.hasUsedSpecialAbility()) keys ^= ZobristKeys.flag(index, ZobristKeys.ABILITY_USED);
+        if (p.isActive()) keys ^= ZobristKeys.flag(index, ZobristKeys.ACTIVE);
+        return keys;
     }
 
     // ============================================================================
@@ -916,7 +1207,7 @@ public class IcyTerrain {
      * @param dir The direction
      * @return [dRow, dCol] array
      */
-    private int[] getDirectionDelta(Direction dir) {
+    public static int[] getDirectionDelta(Direction dir) {
         switch (dir) {
             case UP:    return new int[]{-1, 0};
             case DOWN:  return new int[]{1, 0};
@@ -931,7 +1222,7 @@ public class IcyTerrain {
      * @param dir The original direction
      * @return The opposite direction
      */
-    private Direction getOppositeDirection(Direction dir) {
+    public static Direction getOppositeDirection(Direction dir) {
         switch (dir) {
             case UP:    return Direction.DOWN;
             case DOWN:  return Direction.UP;
@@ -942,72 +1233,224 @@ public class IcyTerrain {
     }
 
     /**
-     * Parses direction from user input string.
-     * @param input The input string (U/D/L/R)
-     * @return The corresponding Direction enum value
+     * Counts the cells between a position and the grid edge in a direction.
+     * @param row The row index
+     * @param col The column index
+     * @param dir The direction
+     * @return The number of cells that can be entered before leaving the grid
      */
-    private Direction parseDirection(String input) {
-        switch(input.toUpperCase()) {
-            case "U": return Direction.UP;
-            case "D": return Direction.DOWN;
-            case "L": return Direction.LEFT;
-            case "R": return Direction.RIGHT;
-            default: return Direction.UP;
+    private int cellsToEdge(int row, int col, Direction dir) {
+        switch (dir) {
+            case UP:    return row;
+            case DOWN:  return gridSize - 1 - row;
+            case LEFT:  return col;
+            case RIGHT: return gridSize - 1 - col;
+            default:    return 0;
         }
     }
 
     /**
-     * Converts direction to readable string for display.
-     * @param dir The direction
-     * @return A display string (e.g., "UPWARDS", "to the LEFT")
-     */
-    private String directionToString(Direction dir) {
-        switch(dir) {
-            case UP:    return "UPWARDS";
-            case DOWN:  return "DOWNWARDS";
-            case LEFT:  return "to the LEFT";
-            case RIGHT: return "to the RIGHT";
-            default:    return "UPWARDS";
+     * Computes the straight-line distance from a position to a cell on the same row or column.
+     * @param pos The [row, col] position
+     * @param cell The flat index of the other cell
+     * @return The number of steps between them
+     */
+    private int distance(int[] pos, int cell) {
+        return Math.abs(cell / gridSize - pos[0]) + Math.abs(cell % gridSize - pos[1]);
+    }
+
+    // ============================================================================
+    // ACCESSORS
+    // ============================================================================
+
+    /**
+     * Returns the number of rows (and columns) of the grid.
+     * @return The grid size
+     */
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    /**
+     * Returns all penguins in the game, in turn order.
+     * @return The penguin list
+     */
+    public List<Penguin> getPenguins() {
+        return penguins;
+    }
+
+    /**
+     * Finds the first object along a ray, skipping empty cells.
+     * @param row The starting row
+     * @param col The starting column
+     * @param dir The direction to look in
+     * @return The nearest object strictly beyond (row, col), or null if the ray reaches the edge
+     */
+    public ITerrainObject findNextObject(int row, int col, Direction dir) {
+        int cell = grid.nextOccupied(row, col, dir);
+        return cell < 0 ? null : grid.get(cell);
+    }
+
+    /**
+     * Finds the first occupied cell along a ray, skipping empty cells.
+     * @param row The starting row
+     * @param col The starting column
+     * @param dir The direction to look in
+     * @return The nearest occupied cell strictly beyond (row, col), or -1 if the ray reaches the edge
+     */
+    int findNextCell(int row, int col, Direction dir) {
+        return grid.nextOccupied(row, col, dir);
+    }
+
+    /**
+     * Gets the kind code of a cell's content.
+     * @param cell The cell index
+     * @return The kind code, or ITerrainObject.EMPTY
+     */
+    byte getKindAt(int cell) {
+        return grid.getKind(cell);
+    }
+
+    /**
+     * Starts stamping cell writes, so that isRayUnchanged can tell whether a ray scanned
+     * earlier was written since. Writes are not tracked until this is called, because only
+     * parallel planning (ArenaEngine) reuses scans; calling it again has no effect.
+     */
+    void trackWrites() {
+        if (writeClock == null) {
+            writeClock = new WriteClock(gridSize);
+        }
+    }
+
+    /**
+     * Gets the write tick: the number of cell writes since trackWrites was called.
+     * @return The current tick, for later isRayUnchanged checks, or -1 if writes are not tracked
+     */
+    long getWriteTick() {
+        return writeClock == null ? -1 : writeClock.now();
+    }
+
+    /**
+     * Checks that no cell of a ray was written after a tick (conservatively: a nearby
+     * write may also count as a change).
+     * @param row The starting row
+     * @param col The starting column
+     * @param dir The direction of the ray
+     * @param endCell The last cell of the ray, or -1 if it runs to the edge
+     * @param since The tick the ray was scanned at
+     * @return true if the ray, start cell included, is unchanged; false if writes were not
+     *         tracked at that tick
+     */
+    boolean isRayUnchanged(int row, int col, Direction dir, int endCell, long since) {
+        if (writeClock == null || since < 0) {
+            return false;
+        }
+        int end = endCell < 0 ? cellsToEdge(row, col, dir) : Math.abs(endCell / gridSize - row) + Math.abs(endCell % gridSize - col);
+        switch (dir) {
+            case UP:    return writeClock.colUnchanged(col, row, row - end, since);
+            case DOWN:  return writeClock.colUnchanged(col, row, row + end, since);
+            case LEFT:  return writeClock.rowUnchanged(row, col, col - end, since);
+            default:    return writeClock.rowUnchanged(row, col, col + end, since);
+        }
+    }
+
+    /**
+     * Returns the sink that receives all game messages.
+     * @return The output sink
+     */
+    public IOutputSink getOutput() {
+        return output;
+    }
+
+    /**
+     * Redirects all further game messages, e.g. to silence a fast-forward.
+     * @param output The new output sink
+     */
+    public void setOutput(IOutputSink output) {
+        this.output = output;
+        if (printer != null) {
+            events.unsubscribe(printer);
+            printer = null;
+        }
+        if (output != NullOutput.INSTANCE) {
+            printer = new ConsoleEventPrinter(output);
+            events.subscribe(printer);
         }
     }
 
+    /**
+     * Returns the bus the terrain publishes its game events on, e.g. to subscribe a listener.
+     * @return The event bus
+     */
+    public GameEventBus getEvents() {
+        return events;
+    }
+
+    /**
+     * Returns the collision rules of this terrain: the CollisionTable that was current when
+     * it was created.
+     * @return The collision table
+     */
+    public CollisionTable getCollisionTable() {
+        return collisions;
+    }
+
+    /**
+     * Registers the listener told about stuns and eliminations, e.g. a TurnScheduler.
+     * @param penguinListener The listener, or null for none
+     */
+    public void setPenguinListener(IPenguinListener penguinListener) {
+        this.penguinListener = penguinListener;
+    }
+
+    /**
+     * Returns how deep a chain reaction may go before slides are cut off.
+     * @return The cascade limit (the moving penguin's own slide is depth 1)
+     */
+    public int getCascadeLimit() {
+        return cascadeLimit;
+    }
+
+    /**
+     * Sets how deep a chain reaction may go before slides are cut off.
+     * Games played with another limit than DEFAULT_CASCADE_LIMIT do not replay from a journal.
+     * @param cascadeLimit The new limit, at least 1
+     * @throws IllegalArgumentException if the limit is below 1
+     */
+    public void setCascadeLimit(int cascadeLimit) {
+        if (cascadeLimit < 1) {
+            throw new IllegalArgumentException("Cascade limit must be positive: " + cascadeLimit);
+        }
+        this.cascadeLimit = cascadeLimit;
+    }
+
     // ============================================================================
     // DISPLAY METHODS
     // ============================================================================
 
     /**
-     * Prints the current state of the 10x10 grid with borders.
+     * Prints the current state of the grid with borders.
      * Empty cells show as spaces, objects show their 2-3 character symbols.
+     * The frame is built in one buffer and written with a single call.
      */
-    private void printTerrain() {
-        System.out.println("-------------------------------------------------------------");
-        for (int i = 0; i < GRID_SIZE; i++) {
-            System.out.print("| ");
-            for (int j = 0; j < GRID_SIZE; j++) {
-                ITerrainObject obj = map.get(i).get(j);
-
-                if (obj == null) {
-                    System.out.print("    "); // Empty cell
-                } else {
-                    String sym = obj.getSymbol();
-                    System.out.print(String.format("%-3s ", sym)); // Left-aligned, 3 chars wide
-                }
-                System.out.print("| ");
-            }
-            System.out.println();
-            System.out.println("-------------------------------------------------------------");
+    public void printTerrain() {
+        if (renderer == null) {
+            renderer = new TerrainRenderer(false);
         }
+        renderer.render(this, output);
     }
 
     /**
      * Prints the final scoreboard with rankings and detailed food information.
      * Shows each penguin's rank, collected food items (with weights), and total weight.
+     * @param playerPenguin The player's penguin, or null if every penguin is AI-controlled
      */
-    private void printScoreboard() {
-        System.out.println("***** SCOREBOARD FOR THE PENGUINS *****");
+    public void printScoreboard(Penguin playerPenguin) {
+        output.println("***** SCOREBOARD FOR THE PENGUINS *****");
 
-        // Sort penguins by total weight (descending order)
-        Collections.sort(penguins, new Comparator<Penguin>() {
+        // Sort a copy of the penguins by total weight (descending order), keeping turn order intact
+        List<Penguin> ranking = new ArrayList<>(penguins);
+        Collections.sort(ranking, new Comparator<Penguin>() {
             @Override
             public int compare(Penguin p1, Penguin p2) {
                 return Integer.compare(p2.getTotalWeight(), p1.getTotalWeight());
@@ -1015,31 +1458,29 @@ public class IcyTerrain {
         });
 
         // Display rankings
-        for (int rank = 0; rank < penguins.size(); rank++) {
-            Penguin p = penguins.get(rank);
+        for (int rank = 0; rank < ranking.size(); rank++) {
+            Penguin p = ranking.get(rank);
             String role = (p == playerPenguin) ? " (Your Penguin)" : "";
             String suffix = getSuffix(rank + 1);
 
-            System.out.println("* " + (rank + 1) + suffix + " place: " + p.getSymbol() + role);
+            output.println("* " + (rank + 1) + suffix + " place: " + p.getSymbol() + role);
 
             // Display food items with weights
-            List<Food> inventory = p.getInventory();
+            FoodInventory inventory = p.getFoodInventory();
             if (inventory.isEmpty()) {
-                System.out.println(" |---> Food items: None");
+                output.println(" |---> Food items: None");
             } else {
-                System.out.print(" |---> Food items: ");
-                for (int i = 0; i < inventory.size(); i++) {
-                    Food f = inventory.get(i);
-                    System.out.print(f.getSymbol() + " (" + f.getWeight() + " units)");
-                    if (i < inventory.size() - 1) {
-                        System.out.print(", ");
-                    }
+                output.print(" |---> Food items: ");
+                String separator = "";
+                for (Food f : inventory) {
+                    output.print(separator + f.getSymbol() + " (" + f.getWeight() + " units)");
+                    separator = ", ";
                 }
-                System.out.println();
+                output.println();
             }
 
             // Display total weight
-            System.out.println(" |---> Total weight: " + p.getTotalWeight() + " units");
+            output.println(" |---> Total weight: " + p.getTotalWeight() + " units");
         }
     }
 
@@ -0,0 +1,202 @@
+package game;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LoadGenerator plays many GameServer sessions at once, one virtual thread per client.
+ * Every client answers each question with a random valid answer and reads the rest of the
+ * game text until the server closes the connection. At the end it reports how many sessions
+ * completed (the game-over line arrived) or failed, the answer round-trip latency (answer sent to next question received)
+ * and the session durations.
+ *
+ * At most `concurrency` clients are connected at a time. With port 0 an embedded server
+ * with the same session limit is started on a free port first.
+ *
+ * Usage: java game.LoadGenerator [clients] [concurrency] [port] [host]
+ */
+public class LoadGenerator {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    private static final int DEFAULT_CLIENTS = 10_000;
+    private static final int DEFAULT_CONCURRENCY = 4096; // Both ends count against the descriptor limit when embedded
+    private static final String DEFAULT_HOST = "127.0.0.1";
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final String host;
+    private final int port;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder questions = new LongAdder();
+    private final Histogram roundTripMicros = new Histogram();
+    private final Histogram sessionMillis = new Histogram();
+
+    /**
+     * Creates a load generator for a server
+     * @param host The server's host
+     * @param port The server's port
+     */
+    public LoadGenerator(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Runs the given number of clients and waits for all of them
+     * @param clients Number of sessions to play
+     * @param concurrency Number of clients connected at a time
+     * @param seed Seed of the clients' answers
+     * @throws InterruptedException if interrupted while waiting for a client slot
+     */
+    public void run(int clients, int concurrency, long seed) throws InterruptedException {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        Semaphore slots = new Semaphore(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                SplittableRandom random = seeds.split();
+                slots.acquire();
+                executor.execute(() -> {
+                    try {
+                        playSession(random);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Plays one session to the end. A session only counts as completed once the game-over line
+     * has been read; a connection the server closes before that (idle timeout, watchdog,
+     * shutdown) counts as failed.
+     * @param random The client's random source
+     */
+    private void playSession(SplittableRandom random) {
+        long start = System.nanoTime();
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            long answered = 0; // Time the last answer was sent, 0 before the first
+            boolean gameOver = false;
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.equals(GameEngine.GAME_OVER)) {
+                    gameOver = true;
+                }
+                if (!line.startsWith(NetworkPlayerController.QUESTION)) {
+                    continue;
+                }
+                long now = System.nanoTime();
+                if (answered != 0) {
+                    roundTripMicros.record((now - answered) / 1000);
+                }
+                questions.increment();
+                out.write(answer(line, random));
+                out.write('\n');
+                out.flush();
+                answered = System.nanoTime();
+            }
+            if (!gameOver) {
+                failed.increment();
+                return;
+            }
+            completed.increment();
+            sessionMillis.record((System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            failed.increment();
+        }
+    }
+
+    /**
+     * Picks a random valid answer to a question line
+     * @param line The question, e.g. "? U/D/L/R Which direction will P2 move?"
+     * @param random The client's random source
+     * @return One of the accepted answers
+     */
+    private static String answer(String line, SplittableRandom random) {
+        int start = NetworkPlayerController.QUESTION.length();
+        int end = line.indexOf(' ', start);
+        String[] answers = line.substring(start, end < 0 ? line.length() : end).split("/");
+        return answers[random.nextInt(answers.length)];
+    }
+
+    // ============================================================================
+    // GETTERS
+    // ============================================================================
+
+    /**
+     * Gets the number of sessions played to the end
+     * @return The completed session count
+     */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * Gets the number of sessions that could not connect or were cut off
+     * @return The failed session count
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Runs the load generator from the command line and prints its report.
+     * @param args Number of clients, concurrency, port (0 = embedded server) and host (all optional)
+     * @throws Exception if the embedded server fails
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CLIENTS;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CONCURRENCY;
+        int port = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        String host = args.length > 3 ? args[3] : DEFAULT_HOST;
+
+        GameServer server = null;
+        Thread acceptor = null;
+        if (port == 0) {
+            GameServer embedded = new GameServer(0, concurrency, System.nanoTime());
+            acceptor = Thread.ofPlatform().name("game-server").start(() -> {
+                try {
+                    embedded.serve();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            server = embedded;
+            port = server.getPort();
+        }
+
+        LoadGenerator generator = new LoadGenerator(host, port);
+        long start = System.nanoTime();
+        generator.run(clients, concurrency, System.nanoTime());
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println("Clients: " + clients + " (" + concurrency + " at a time), completed: " + generator.getCompleted()
+                + ", failed: " + generator.getFailed() + ", elapsed: " + elapsed / 1_000_000 + " ms");
+        System.out.println("Questions answered: " + generator.questions.sum()
+                + String.format(" (%.0f/s)", generator.questions.sum() * 1e9 / elapsed));
+        System.out.println("Answer round trip (us): " + generator.roundTripMicros.summary());
+        System.out.println("Session duration (ms): " + generator.sessionMillis.summary());
+        if (server != null) {
+            server.close();
+            acceptor.join();
+        }
+    }
+}
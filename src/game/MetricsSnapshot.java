@@ -0,0 +1,124 @@
+package game;
+
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * MetricsSnapshot is an immutable copy of the GameMetrics registry at one point in time.
+ * Latency summaries are in nanoseconds.
+ */
+public final class MetricsSnapshot {
+
+    private final long moves;
+    private final long games;
+    private final Histogram.Summary slideSteps;
+    private final Histogram.Summary cascadeDepth;
+    private final Map<String, Long> collisions;
+    private final Map<String, Long> eliminations;
+    private final Map<String, Long> abilityUses;
+    private final Histogram.Summary turnNanos;
+    private final Histogram.Summary gameNanos;
+
+    MetricsSnapshot(long moves, long games, Histogram.Summary slideSteps, Histogram.Summary cascadeDepth,
+                    Map<String, Long> collisions, Map<String, Long> eliminations, Map<String, Long> abilityUses,
+                    Histogram.Summary turnNanos, Histogram.Summary gameNanos) {
+        this.moves = moves;
+        this.games = games;
+        this.slideSteps = slideSteps;
+        this.cascadeDepth = cascadeDepth;
+        this.collisions = Collections.unmodifiableMap(new LinkedHashMap<>(collisions));
+        this.eliminations = Collections.unmodifiableMap(new LinkedHashMap<>(eliminations));
+        this.abilityUses = Collections.unmodifiableMap(new LinkedHashMap<>(abilityUses));
+        this.turnNanos = turnNanos;
+        this.gameNanos = gameNanos;
+    }
+
+    /**
+     * Gets the number of moves applied
+     * @return The move count
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * Gets the number of games finished
+     * @return The game count
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the cells travelled by all sliding objects per move
+     * @return The summary
+     */
+    public Histogram.Summary getSlideSteps() {
+        return slideSteps;
+    }
+
+    /**
+     * Gets the deepest chain reaction per move
+     * @return The summary
+     */
+    public Histogram.Summary getCascadeDepth() {
+        return cascadeDepth;
+    }
+
+    /**
+     * Gets the collisions by the kind of object hit
+     * @return Kind name -> count
+     */
+    public Map<String, Long> getCollisions() {
+        return collisions;
+    }
+
+    /**
+     * Gets the eliminations by cause
+     * @return Cause name -> count
+     */
+    public Map<String, Long> getEliminations() {
+        return eliminations;
+    }
+
+    /**
+     * Gets the special ability uses by penguin type
+     * @return Penguin type -> count
+     */
+    public Map<String, Long> getAbilityUses() {
+        return abilityUses;
+    }
+
+    /**
+     * Gets the wall time of one penguin's turn
+     * @return The summary, in nanoseconds
+     */
+    public Histogram.Summary getTurnNanos() {
+        return turnNanos;
+    }
+
+    /**
+     * Gets the wall time of one game
+     * @return The summary, in nanoseconds
+     */
+    public Histogram.Summary getGameNanos() {
+        return gameNanos;
+    }
+
+    /**
+     * Prints the snapshot as a small report
+     * @param out The destination
+     */
+    public void print(PrintStream out) {
+        out.println("Moves: " + moves + ", games: " + games);
+        out.println("Slide steps per move: " + slideSteps);
+        out.println("Cascade depth per move: " + cascadeDepth);
+        out.println("Collisions: " + collisions);
+        out.println("Eliminations: " + eliminations);
+        out.println("Ability uses: " + abilityUses);
+        out.println("Turn time (ns): " + turnNanos);
+        out.println("Game time (ns): " + gameNanos);
+    }
+}
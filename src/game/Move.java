@@ -0,0 +1,38 @@
+package game;
+
+import enums.Direction;
+
+/**
+ * Move is one penguin decision: a direction and whether to use the special ability.
+ */
+public final class Move {
+
+    private final Direction direction;
+    private final boolean useAbility;
+
+    /**
+     * Creates a move
+     * @param direction The direction to slide
+     * @param useAbility true to use the penguin's special ability
+     */
+    public Move(Direction direction, boolean useAbility) {
+        this.direction = direction;
+        this.useAbility = useAbility;
+    }
+
+    /**
+     * Gets the direction of this move
+     * @return The direction
+     */
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Checks whether the special ability is requested
+     * @return true if the ability should be used
+     */
+    public boolean isUseAbility() {
+        return useAbility;
+    }
+}
@@ -0,0 +1,120 @@
+package game;
+
+import interfaces.IPenguinController;
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.SplittableRandom;
+import objects.Penguin;
+
+/**
+ * NetworkPlayerController plays a penguin for a client of GameServer.
+ * It speaks the server's line protocol: a question is one line starting with "? ", followed
+ * by the accepted answers and the question text, and the client answers with one line.
+ *
+ *   ? Y/N Will P2 use its special action?
+ *   ? U/D/L/R Which direction will P2 move?
+ *
+ * Other answers repeat the question, like the console prompts do. An answer line longer than
+ * MAX_ANSWER_LENGTH characters ends the session, so a client cannot make it buffer without limit.
+ */
+public class NetworkPlayerController implements IPenguinController {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    /** Prefix of every question line */
+    public static final String QUESTION = "? ";
+    public static final String ABILITY_ANSWERS = "Y/N";
+    public static final String DIRECTION_ANSWERS = "U/D/L/R";
+    public static final int MAX_ANSWER_LENGTH = 256; // Characters per answer line, line break excluded
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final BufferedReader in; // The client's answers
+    private final SessionOutput out; // The session's output, flushed before each question
+
+    /**
+     * Creates a controller for one connection
+     * @param in The client's answers, one per line
+     * @param out The session's output
+     */
+    public NetworkPlayerController(BufferedReader in, SessionOutput out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    /**
+     * Asks the client for the move.
+     * @param terrain The current terrain
+     * @param p The player's penguin
+     * @param random Unused; the player decides
+     * @return The move the client sent
+     * @throws UncheckedIOException if the client disconnects
+     */
+    @Override
+    public Move chooseMove(IcyTerrain terrain, Penguin p, SplittableRandom random) {
+        boolean useAbility = false;
+        if (!p.hasUsedSpecialAbility()) {
+            String answer;
+            do {
+                answer = ask(ABILITY_ANSWERS, "Will " + p.getSymbol() + " use its special action?");
+            } while (!answer.equals("Y") && !answer.equals("N"));
+            useAbility = answer.equals("Y");
+        }
+
+        String dirInput;
+        do {
+            dirInput = ask(DIRECTION_ANSWERS, "Which direction will " + p.getSymbol() + " move?");
+        } while (!dirInput.equals("U") && !dirInput.equals("D") && !dirInput.equals("L") && !dirInput.equals("R"));
+
+        return new Move(ConsolePlayerController.parseDirection(dirInput), useAbility);
+    }
+
+    @Override
+    public boolean isHuman() {
+        return true;
+    }
+
+    /**
+     * Sends a question and waits for the answer line
+     * @param answers The accepted answers, e.g. "Y/N"
+     * @param text The question
+     * @return The answer, trimmed and upper-cased
+     * @throws UncheckedIOException if the client disconnects or sends a line that is too long
+     */
+    private String ask(String answers, String text) {
+        out.println(QUESTION + answers + " " + text);
+        out.flush();
+        try {
+            return readAnswer().trim().toUpperCase();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads one answer line of at most MAX_ANSWER_LENGTH characters
+     * @return The line, without its line break
+     * @throws IOException if the client disconnects or the line is too long
+     */
+    private String readAnswer() throws IOException {
+        StringBuilder line = new StringBuilder();
+        while (true) {
+            int c = in.read();
+            if (c < 0) {
+                throw new EOFException("Client disconnected");
+            }
+            if (c == '\n') {
+                int end = line.length();
+                return end > 0 && line.charAt(end - 1) == '\r' ? line.substring(0, end - 1) : line.toString();
+            }
+            if (line.length() > MAX_ANSWER_LENGTH) { // One extra for a '\r' before the '\n'
+                throw new IOException("Answer longer than " + MAX_ANSWER_LENGTH + " characters");
+            }
+            line.append((char) c);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package game;
+
+import interfaces.IOutputSink;
+
+/**
+ * NullOutput discards every message. Used for headless and batch games.
+ */
+public final class NullOutput implements IOutputSink {
+
+    /** Shared instance; the sink has no state */
+    public static final NullOutput INSTANCE = new NullOutput();
+
+    private NullOutput() {
+    }
+
+    @Override
+    public void print(String text) {
+    }
+
+    @Override
+    public void println(String text) {
+    }
+
+    @Override
+    public void println() {
+    }
+}
@@ -0,0 +1,489 @@
+package game;
+
+import enums.Direction;
+import interfaces.IOutputSink;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import objects.FoodInventory;
+import objects.Penguin;
+
+/**
+ * PenguinSolver finds the best a single penguin can do: the sequence of moves (directions,
+ * and when to use the special ability) that maximizes the food weight it gains over its
+ * remaining turns, while the other penguins stand still. They still react when they are hit.
+ *
+ * The search plays the moves on BitboardTerrain copies, so every rule of IcyTerrain applies:
+ * slides and ability slides, Royal and Rockhopper abilities, collisions, chain reactions,
+ * stuns (a stunned penguin skips its next turn) and the HeavyIceBlock penalty.
+ * Values are memoized in a TranspositionTable keyed by the state hash, the turns left and
+ * the penguin's inventory by weight (which decides what a penalty takes), so a state reached
+ * by different move orders is solved once.
+ *
+ * Subtrees with more than SEQUENTIAL_TURNS turns left are forked on a ForkJoinPool, whose
+ * work stealing keeps every core busy however unbalanced the tree is. All workers share
+ * the table without locks. The result does not depend on the number of workers.
+ *
+ * Boards BitboardTerrain cannot hold (other than 10x10, or with custom object kinds or
+ * collision rules) are searched on the IcyTerrain itself instead, on the calling thread:
+ * every move is made with makeMove and undone with unmakeMove, with the terrain's output
+ * silenced. Event subscribers and the penguin listener still see the searched moves.
+ * The table is cleared whenever a terrain with other collision rules is solved.
+ *
+ * Usage: java game.PenguinSolver [boards] [turns] [seed]
+ */
+public class PenguinSolver {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    public static final int DEFAULT_TABLE_CAPACITY = 1 << 20;
+    private static final int SEQUENTIAL_TURNS = 2; // Subtrees this shallow are searched on the current worker
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int DEFAULT_BOARDS = 1000;
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final TranspositionTable table; // Solved values, shared by all workers
+    private final ForkJoinPool pool;
+    private final LongAdder nodes = new LongAdder(); // States expanded, over the solver's lifetime
+    private CollisionTable rules; // Collision rules of the terrains the table's values are for
+
+    // ============================================================================
+    // CONSTRUCTORS
+    // ============================================================================
+
+    /**
+     * Creates a solver with the default table on the common pool
+     */
+    public PenguinSolver() {
+        this(DEFAULT_TABLE_CAPACITY, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a solver
+     * @param tableCapacity Number of memoized states
+     * @param pool The pool the search runs on
+     */
+    public PenguinSolver(int tableCapacity, ForkJoinPool pool) {
+        this.table = new TranspositionTable(tableCapacity);
+        this.pool = pool;
+    }
+
+    // ============================================================================
+    // SOLVING
+    // ============================================================================
+
+    /**
+     * Solves a fresh game: the best the penguin can do in GameEngine.MAX_TURNS turns
+     * @param terrain The board, which is not changed
+     * @param p The penguin
+     * @return The optimal gain and a move sequence reaching it
+     */
+    public Solution solve(IcyTerrain terrain, Penguin p) {
+        return solve(terrain, p, GameEngine.MAX_TURNS);
+    }
+
+    /**
+     * Solves the penguin's remaining turns
+     * @param terrain The board, which is not changed
+     * @param p The penguin
+     * @param turns The number of turns the penguin has left
+     * @return The optimal gain and a move sequence reaching it
+     * @throws IllegalArgumentException if the penguin is not on the board
+     */
+    public Solution solve(IcyTerrain terrain, Penguin p, int turns) {
+        int me = terrain.getPenguins().indexOf(p);
+        if (me < 0 || turns < 0) {
+            throw new IllegalArgumentException("Penguin " + p.getSymbol() + " with " + turns + " turns is not on this terrain");
+        }
+        if (terrain.getCollisionTable() != rules) {
+            table.clear(); // Values found under other rules do not apply
+            rules = terrain.getCollisionTable();
+        }
+        if (!BitboardTerrain.supports(terrain)) {
+            return solveInPlace(terrain, p, me, turns);
+        }
+        BitboardTerrain root = new BitboardTerrain(terrain);
+        long start = nodes.sum();
+        int gain = pool.invoke(new SearchTask(root, me, turns));
+
+        // Walk the best line; every value on it is memoized (or quickly solved again)
+        List<Move> moves = new ArrayList<>();
+        BitboardTerrain state = root;
+        for (int left = turns; left > 0 && state.isActive(me); left--) {
+            BitboardTerrain child = new BitboardTerrain(state);
+            if (state.isStunned(me)) {
+                child.clearStun(me);
+                moves.add(null);
+            } else {
+                int best = bestMove(state, me, left);
+                child.applyMove(me, DIRECTIONS[best & 3], best >= 4);
+                moves.add(new Move(DIRECTIONS[best & 3], best >= 4));
+            }
+            state = child;
+        }
+        return new Solution(gain, moves, nodes.sum() - start);
+    }
+
+    /**
+     * Finds the move with the highest value; plain slides win ties, keeping the ability
+     * @param state The state, with the penguin able to move
+     * @param me The penguin index
+     * @param turns Turns left, including this one
+     * @return The move index: direction ordinal, plus 4 with the ability
+     */
+    private int bestMove(BitboardTerrain state, int me, int turns) {
+        int best = 0;
+        int bestValue = Integer.MIN_VALUE;
+        int moveCount = state.hasUsedAbility(me) ? 4 : 8;
+        for (int m = 0; m < moveCount; m++) {
+            BitboardTerrain child = new BitboardTerrain(state);
+            child.applyMove(me, DIRECTIONS[m & 3], m >= 4);
+            int value = child.getScore(me) - state.getScore(me) + search(child, me, turns - 1);
+            if (value > bestValue) {
+                bestValue = value;
+                best = m;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Solves a state on the current thread
+     * @param state The state; not changed
+     * @param me The penguin index
+     * @param turns Turns left
+     * @return The most food weight the penguin can still gain; negative if every line loses food
+     */
+    private int search(BitboardTerrain state, int me, int turns) {
+        if (turns == 0 || !state.isActive(me)) {
+            return 0;
+        }
+        if (state.isStunned(me)) {
+            BitboardTerrain child = new BitboardTerrain(state);
+            child.clearStun(me);
+            return search(child, me, turns - 1);
+        }
+
+        long key = tableKey(state, me, turns);
+        long entry = table.probe(key);
+        if (entry != TranspositionTable.MISS) {
+            return (int) TranspositionTable.valueOf(entry);
+        }
+
+        nodes.increment();
+        int moveCount = state.hasUsedAbility(me) ? 4 : 8;
+        int best = Integer.MIN_VALUE; // The penguin must move, even if every move loses food
+        for (int m = 0; m < moveCount; m++) {
+            BitboardTerrain child = new BitboardTerrain(state);
+            child.applyMove(me, DIRECTIONS[m & 3], m >= 4);
+            best = Math.max(best, child.getScore(me) - state.getScore(me) + search(child, me, turns - 1));
+        }
+        table.store(key, best, turns, 0);
+        return best;
+    }
+
+    /**
+     * Builds the memo key of a state: its hash, the turns left and the penguin's inventory,
+     * since the value depends on all three
+     * @param state The state
+     * @param me The penguin index
+     * @param turns Turns left
+     * @return The key
+     */
+    private static long tableKey(BitboardTerrain state, int me, int turns) {
+        long key = state.getHash() ^ ZobristKeys.turn(turns);
+        for (int w = 1; w <= FoodInventory.MAX_WEIGHT; w++) {
+            key ^= ZobristKeys.inventory(me, w, state.getFoodCount(me, w));
+        }
+        return key;
+    }
+
+    /**
+     * SearchTask solves one state, forking a task per move while enough turns are left.
+     */
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private final class SearchTask extends RecursiveTask<Integer> {
+        private final BitboardTerrain state;
+        private final int me;
+        private final int turns;
+
+        SearchTask(BitboardTerrain state, int me, int turns) {
+            this.state = state;
+            this.me = me;
+            this.turns = turns;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (turns <= SEQUENTIAL_TURNS || !state.isActive(me) || state.isStunned(me)) {
+                return search(state, me, turns);
+            }
+            long key = tableKey(state, me, turns);
+            long entry = table.probe(key);
+            if (entry != TranspositionTable.MISS) {
+                return (int) TranspositionTable.valueOf(entry);
+            }
+
+            nodes.increment();
+            int moveCount = state.hasUsedAbility(me) ? 4 : 8;
+            List<SearchTask> children = new ArrayList<>(moveCount);
+            int[] gains = new int[moveCount];
+            for (int m = 0; m < moveCount; m++) {
+                BitboardTerrain child = new BitboardTerrain(state);
+                child.applyMove(me, DIRECTIONS[m & 3], m >= 4);
+                gains[m] = child.getScore(me) - state.getScore(me);
+                children.add(new SearchTask(child, me, turns - 1));
+            }
+            invokeAll(children);
+
+            int best = Integer.MIN_VALUE; // The penguin must move, even if every move loses food
+            for (int m = 0; m < moveCount; m++) {
+                best = Math.max(best, gains[m] + children.get(m).join());
+            }
+            table.store(key, best, turns, 0);
+            return best;
+        }
+    }
+
+    // ============================================================================
+    // SOLVING IN PLACE
+    // ============================================================================
+
+    /**
+     * Solves the penguin's remaining turns on the terrain itself, which is left as it was
+     * @param terrain The board
+     * @param p The penguin
+     * @param me The penguin index
+     * @param turns The number of turns the penguin has left
+     * @return The optimal gain and a move sequence reaching it
+     */
+    private Solution solveInPlace(IcyTerrain terrain, Penguin p, int me, int turns) {
+        IOutputSink output = terrain.getOutput();
+        terrain.setOutput(NullOutput.INSTANCE);
+        long start = nodes.sum();
+        int first = -1; // Mark of the first move of the best line
+        try {
+            int gain = search(terrain, p, me, turns);
+            List<Move> moves = new ArrayList<>();
+            for (int left = turns; left > 0 && p.isActive(); left--) {
+                int mark;
+                if (p.isStunned()) {
+                    mark = terrain.makeSkip(p);
+                    moves.add(null);
+                } else {
+                    int best = bestMove(terrain, p, me, left);
+                    mark = terrain.makeMove(p, DIRECTIONS[best & 3], best >= 4);
+                    moves.add(new Move(DIRECTIONS[best & 3], best >= 4));
+                }
+                if (first < 0) {
+                    first = mark;
+                }
+            }
+            return new Solution(gain, moves, nodes.sum() - start);
+        } finally {
+            if (first >= 0) {
+                terrain.unmakeMove(first);
+            }
+            terrain.setOutput(output);
+        }
+    }
+
+    /**
+     * Finds the move with the highest value on the terrain; plain slides win ties
+     * @param terrain The terrain, with the penguin able to move; left as it was
+     * @param p The penguin
+     * @param me The penguin index
+     * @param turns Turns left, including this one
+     * @return The move index: direction ordinal, plus 4 with the ability
+     */
+    private int bestMove(IcyTerrain terrain, Penguin p, int me, int turns) {
+        int best = 0;
+        int bestValue = Integer.MIN_VALUE;
+        int moveCount = p.hasUsedSpecialAbility() ? 4 : 8;
+        int score = p.getTotalWeight();
+        for (int m = 0; m < moveCount; m++) {
+            int mark = terrain.makeMove(p, DIRECTIONS[m & 3], m >= 4);
+            try {
+                int value = p.getTotalWeight() - score + search(terrain, p, me, turns - 1);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = m;
+                }
+            } finally {
+                terrain.unmakeMove(mark);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Solves the terrain's current state on the current thread
+     * @param terrain The terrain; left as it was
+     * @param p The penguin
+     * @param me The penguin index
+     * @param turns Turns left
+     * @return The most food weight the penguin can still gain; negative if every line loses food
+     */
+    private int search(IcyTerrain terrain, Penguin p, int me, int turns) {
+        if (turns == 0 || !p.isActive()) {
+            return 0;
+        }
+        if (p.isStunned()) {
+            int mark = terrain.makeSkip(p);
+            try {
+                return search(terrain, p, me, turns - 1);
+            } finally {
+                terrain.unmakeMove(mark);
+            }
+        }
+
+        long key = tableKey(terrain, p, me, turns);
+        long entry = table.probe(key);
+        if (entry != TranspositionTable.MISS) {
+            return (int) TranspositionTable.valueOf(entry);
+        }
+
+        nodes.increment();
+        int moveCount = p.hasUsedSpecialAbility() ? 4 : 8;
+        int score = p.getTotalWeight();
+        int best = Integer.MIN_VALUE; // The penguin must move, even if every move loses food
+        for (int m = 0; m < moveCount; m++) {
+            int mark = terrain.makeMove(p, DIRECTIONS[m & 3], m >= 4);
+            try {
+                best = Math.max(best, p.getTotalWeight() - score + search(terrain, p, me, turns - 1));
+            } finally {
+                terrain.unmakeMove(mark);
+            }
+        }
+        table.store(key, best, turns, 0);
+        return best;
+    }
+
+    /**
+     * Builds the memo key of a terrain's state, like tableKey of a BitboardTerrain
+     * @param terrain The terrain
+     * @param p The penguin
+     * @param me The penguin index
+     * @param turns Turns left
+     * @return The key
+     */
+    private static long tableKey(IcyTerrain terrain, Penguin p, int me, int turns) {
+        long key = terrain.getHash() ^ ZobristKeys.turn(terrain.getTurnIndex()) ^ ZobristKeys.turn(turns);
+        FoodInventory held = p.getFoodInventory();
+        for (int w = 1; w <= FoodInventory.MAX_WEIGHT; w++) {
+            key ^= ZobristKeys.inventory(me, w, held.countByWeight(w));
+        }
+        return key;
+    }
+
+    // ============================================================================
+    // ACCESSORS
+    // ============================================================================
+
+    /**
+     * Gets the number of states expanded by all searches so far
+     * @return The node count
+     */
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    /**
+     * Solution is the result of a solve: the optimal gain and one move sequence that reaches it.
+     */
+    public static final class Solution {
+        private final int gain;
+        private final List<Move> moves;
+        private final long nodes;
+
+        private Solution(int gain, List<Move> moves, long nodes) {
+            this.gain = gain;
+            this.moves = Collections.unmodifiableList(moves);
+            this.nodes = nodes;
+        }
+
+        /**
+         * Gets the most food weight the penguin can gain; negative if every line loses food to penalties
+         * @return The optimal gain
+         */
+        public int getGain() {
+            return gain;
+        }
+
+        /**
+         * Gets the penguin's moves, one per remaining turn; null marks a turn skipped while stunned.
+         * The list ends early if the best line loses the penguin.
+         * @return The move sequence
+         */
+        public List<Move> getMoves() {
+            return moves;
+        }
+
+        /**
+         * Gets the number of states this solve expanded (memoized states are not counted again)
+         * @return The node count
+         */
+        public long getNodes() {
+            return nodes;
+        }
+    }
+
+    // ============================================================================
+    // COMMAND LINE
+    // ============================================================================
+
+    /**
+     * Grades random standard boards: the optimal gain of every penguin, next to what the greedy
+     * AIController gains playing the same penguin alone.
+     * @param args Number of boards, turns and seed (all optional)
+     */
+    public static void main(String[] args) {
+        int boards = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BOARDS;
+        int turns = args.length > 1 ? Integer.parseInt(args[1]) : GameEngine.MAX_TURNS;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        PenguinSolver solver = new PenguinSolver();
+        AIController ai = new AIController();
+        SplittableRandom random = new SplittableRandom(seed);
+        long optimal = 0;
+        long greedy = 0;
+        int solved = 0;
+        long start = System.nanoTime();
+        for (int b = 0; b < boards; b++) {
+            IcyTerrain board = new IcyTerrain(IcyTerrain.DEFAULT_GRID_SIZE, NullOutput.INSTANCE);
+            board.populate(random.split());
+            byte[] layout = BoardCodec.encode(board);
+            for (Penguin p : board.getPenguins()) {
+                optimal += solver.solve(board, p, turns).getGain();
+                solved++;
+
+                // The greedy AI on a copy of the board, the other penguins standing still
+                IcyTerrain copy = BoardCodec.decode(layout, board.getGridSize(), NullOutput.INSTANCE);
+                Penguin alone = copy.getPenguins().get(board.getPenguins().indexOf(p));
+                for (int t = 0; t < turns && alone.isActive(); t++) {
+                    if (alone.isStunned()) {
+                        copy.clearStun(alone);
+                        continue;
+                    }
+                    Move move = ai.chooseMove(copy, alone, random);
+                    copy.applyMove(alone, move.getDirection(), move.isUseAbility());
+                }
+                greedy += alone.getTotalWeight();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println("Solved " + solved + " penguins on " + boards + " boards, " + turns + " turns each, in "
+                + elapsed / 1_000_000 + " ms (" + solver.getNodes() + " states)");
+        System.out.printf("Average optimal gain: %.2f, greedy AI: %.2f (%.1f%% of optimal)%n",
+                (double) optimal / solved, (double) greedy / solved, optimal == 0 ? 100.0 : 100.0 * greedy / optimal);
+        System.out.println("Seed: " + seed);
+    }
+}
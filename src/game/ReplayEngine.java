@@ -0,0 +1,166 @@
+package game;
+
+import interfaces.IOutputSink;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import objects.Penguin;
+
+/**
+ * ReplayEngine re-simulates a GameJournal deterministically.
+ * The terrain is rebuilt from the recorded layout and the recorded moves are applied
+ * silently, so seeking to any turn costs no rendering. Only the frames that are asked
+ * for are printed.
+ *
+ * Frames are drawn by a TerrainRenderer; with --ansi the grid stays at the top of the
+ * terminal and each frame only redraws the cells that changed.
+ *
+ * Usage: java game.ReplayEngine [--ansi] journal-file [turn ...]
+ */
+public class ReplayEngine {
+
+    private final GameJournal journal;
+    private IcyTerrain terrain; // Terrain in the state after the current turn
+    private GameJournal.Cursor cursor; // Next record to apply
+    private int turn; // Turn whose moves have all been applied (0 = initial layout)
+    private TerrainRenderer renderer = new TerrainRenderer(false); // Draws the frames
+
+    /**
+     * Creates a replay positioned at the initial layout
+     * @param journal The recorded game
+     */
+    public ReplayEngine(GameJournal journal) {
+        this.journal = journal;
+        reset();
+    }
+
+    /**
+     * Goes back to the initial layout
+     */
+    public void rewind() {
+        reset();
+    }
+
+    private void reset() {
+        terrain = journal.buildInitialTerrain(NullOutput.INSTANCE);
+        cursor = journal.cursor();
+        turn = 0;
+    }
+
+    /**
+     * Fast-forwards (or rewinds and fast-forwards) to the state after a turn.
+     * Nothing is rendered while seeking.
+     * @param target The turn to stop after (0 = initial layout)
+     */
+    public void seekTurn(int target) {
+        if (target < turn) {
+            reset();
+        }
+        while (cursor.hasNext() && cursor.peekTurn() <= target) {
+            cursor.next();
+            applyRecord();
+        }
+        turn = target;
+    }
+
+    /**
+     * Applies the cursor's current record to the terrain
+     */
+    private void applyRecord() {
+        Penguin p = terrain.getPenguins().get(cursor.getPenguin());
+        terrain.setTurnIndex((cursor.getTurn() - 1) * terrain.getPenguins().size() + cursor.getPenguin());
+        if (cursor.isSkip()) {
+            terrain.clearStun(p);
+        } else {
+            terrain.applyMove(p, cursor.getDirection(), cursor.isUseAbility());
+        }
+    }
+
+    /**
+     * Prints the grid in the current state
+     * @param out The destination of the frame
+     */
+    public void printFrame(IOutputSink out) {
+        if (renderer.isDifferential()) {
+            renderer.render(terrain, out);
+            out.println("State after turn " + turn + " shown above.");
+        } else {
+            out.println("State after turn " + turn + ":");
+            renderer.render(terrain, out);
+        }
+    }
+
+    /**
+     * Sets the renderer that draws the frames, e.g. a differential ANSI renderer for terminals
+     * @param renderer The renderer (plain full frames by default)
+     */
+    public void setRenderer(TerrainRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    /**
+     * Prints the frames after the given turns, in increasing turn order
+     * @param out The destination of the frames
+     * @param turns The turns to show (0 = initial layout)
+     */
+    public void replay(IOutputSink out, int... turns) {
+        int[] sorted = turns.clone();
+        Arrays.sort(sorted);
+        for (int t : sorted) {
+            seekTurn(t);
+            printFrame(out);
+        }
+    }
+
+    /**
+     * Plays all remaining records and prints the final scoreboard
+     * @param out The destination of the scoreboard
+     */
+    public void printFinalScoreboard(IOutputSink out) {
+        seekTurn(Integer.MAX_VALUE);
+        terrain.setOutput(out);
+        terrain.printScoreboard(null);
+        terrain.setOutput(NullOutput.INSTANCE);
+        renderer.finish(out);
+    }
+
+    /**
+     * Gets the replayed terrain in its current state
+     * @return The terrain
+     */
+    public IcyTerrain getTerrain() {
+        return terrain;
+    }
+
+    /**
+     * Replays a journal file from the command line.
+     * Without turn arguments, only the final scoreboard is printed.
+     * @param args --ansi (optional), the journal file, then the turns to print
+     * @throws IOException if the journal cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        boolean ansi = args.length > 0 && args[0].equals("--ansi");
+        int first = ansi ? 1 : 0;
+        if (args.length <= first) {
+            System.out.println("Usage: java game.ReplayEngine [--ansi] journal-file [turn ...]");
+            return;
+        }
+
+        GameJournal journal;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(args[first])))) {
+            journal = GameJournal.readFrom(in);
+        }
+
+        ReplayEngine replay = new ReplayEngine(journal);
+        replay.setRenderer(new TerrainRenderer(ansi));
+        IOutputSink out = new ConsoleOutput();
+        int[] turns = new int[args.length - first - 1];
+        for (int i = first + 1; i < args.length; i++) {
+            turns[i - first - 1] = Integer.parseInt(args[i]);
+        }
+        replay.replay(out, turns);
+        replay.printFinalScoreboard(out);
+    }
+}
@@ -0,0 +1,84 @@
+package game;
+
+import interfaces.IOutputSink;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * SessionOutput is the IOutputSink of a network game session.
+ * Messages are collected in a buffer and written to the connection in large chunks:
+ * when the buffer passes HIGH_WATER characters, and whenever the player is asked a question.
+ *
+ * This gives each session bounded output memory and natural backpressure: a write blocks
+ * while the client is not reading, which parks the session's (virtual) thread and pauses
+ * its game until the client catches up. Socket writes have no timeout of their own, so the
+ * sink records when the pending write started; GameServer's watchdog closes the connection
+ * of a client that stays behind for too long, which ends the blocked write with an error.
+ */
+public class SessionOutput implements IOutputSink {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    public static final int HIGH_WATER = 16 * 1024; // Characters buffered before a forced write
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final Writer writer; // The connection
+    private final StringBuilder buffer = new StringBuilder(HIGH_WATER + 256);
+    private volatile long writeStarted; // System.nanoTime() when the pending write began, 0 if none
+
+    /**
+     * Creates a sink writing to a connection
+     * @param writer The connection's character stream
+     */
+    public SessionOutput(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void print(String text) {
+        buffer.append(text);
+        if (buffer.length() >= HIGH_WATER) {
+            flush();
+        }
+    }
+
+    @Override
+    public void println(String text) {
+        buffer.append(text).append('\n');
+        if (buffer.length() >= HIGH_WATER) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes everything buffered to the connection, blocking while the client is behind
+     * @throws UncheckedIOException if the connection is lost
+     */
+    public void flush() {
+        writeStarted = System.nanoTime() | 1; // Never 0 while writing
+        try {
+            writer.append(buffer);
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeStarted = 0;
+        }
+        buffer.setLength(0);
+    }
+
+    /**
+     * Checks whether a write has been blocked on the client for too long
+     * @param now The current System.nanoTime()
+     * @param limitNanos How long a write may take
+     * @return true if a write is in progress and started more than limitNanos ago
+     */
+    public boolean isWriteStalled(long now, long limitNanos) {
+        long started = writeStarted;
+        return started != 0 && now - started > limitNanos;
+    }
+}
@@ -0,0 +1,141 @@
+package game;
+
+import enums.Direction;
+import java.util.Arrays;
+
+/**
+ * SlideStack holds the slides a chain reaction still has to resolve.
+ * A collision does not slide the objects it pushes right away; it pushes a task here and
+ * the resolver loop of IcyTerrain (or BitboardTerrain) pops tasks until the stack is empty.
+ * This keeps the Java stack flat however long a chain reaction gets.
+ *
+ * The resolver reverses the tasks pushed by one collision before popping them, so they run
+ * first to last, each with its whole sub-chain, exactly like the nested calls they replace.
+ * Entries live in parallel arrays that only grow, like ChangeLog.
+ */
+class SlideStack {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private Object[] refs = new Object[INITIAL_CAPACITY]; // The sliding object, if the owner tracks objects
+    private int[] kinds = new int[INITIAL_CAPACITY]; // The sliding object's kind, if the owner tracks kinds
+    private int[] args = new int[INITIAL_CAPACITY]; // Owner-defined: a cell or a penguin index
+    private byte[] directions = new byte[INITIAL_CAPACITY];
+    private int[] depths = new int[INITIAL_CAPACITY]; // Position of the slide in the chain reaction (1 = first)
+    private int size;
+
+    // ============================================================================
+    // OPERATIONS
+    // ============================================================================
+
+    /**
+     * Adds a pending slide
+     * @param ref The sliding object (may be null)
+     * @param kind The sliding object's kind
+     * @param arg Owner-defined integer argument
+     * @param dir The direction of the slide
+     * @param depth The slide's depth in the chain reaction
+     */
+    void push(Object ref, int kind, int arg, Direction dir, int depth) {
+        if (size == refs.length) {
+            grow();
+        }
+        refs[size] = ref;
+        kinds[size] = kind;
+        args[size] = arg;
+        directions[size] = (byte) dir.ordinal();
+        depths[size] = depth;
+        size++;
+    }
+
+    /**
+     * Removes the top entry. Its fields stay readable at the returned index until the next push.
+     * @return The index of the removed entry
+     */
+    int pop() {
+        return --size;
+    }
+
+    /**
+     * Reverses the entries pushed since a mark, so that the first one pushed is popped first
+     * @param mark The size of the stack before the entries were pushed
+     */
+    void reverseFrom(int mark) {
+        for (int i = mark, j = size - 1; i < j; i++, j--) {
+            swap(i, j);
+        }
+    }
+
+    /**
+     * Removes all entries
+     */
+    void clear() {
+        Arrays.fill(refs, 0, size, null);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the object of an entry and drops the stack's reference to it
+     * @param i The entry index
+     * @return The sliding object
+     */
+    Object takeRef(int i) {
+        Object ref = refs[i];
+        refs[i] = null;
+        return ref;
+    }
+
+    int kindAt(int i) {
+        return kinds[i];
+    }
+
+    int argAt(int i) {
+        return args[i];
+    }
+
+    Direction directionAt(int i) {
+        return DIRECTIONS[directions[i]];
+    }
+
+    int depthAt(int i) {
+        return depths[i];
+    }
+
+    private void swap(int i, int j) {
+        Object ref = refs[i];
+        refs[i] = refs[j];
+        refs[j] = ref;
+        int kind = kinds[i];
+        kinds[i] = kinds[j];
+        kinds[j] = kind;
+        int arg = args[i];
+        args[i] = args[j];
+        args[j] = arg;
+        byte dir = directions[i];
+        directions[i] = directions[j];
+        directions[j] = dir;
+        int depth = depths[i];
+        depths[i] = depths[j];
+        depths[j] = depth;
+    }
+
+    private void grow() {
+        int capacity = refs.length * 2;
+        refs = Arrays.copyOf(refs, capacity);
+        kinds = Arrays.copyOf(kinds, capacity);
+        args = Arrays.copyOf(args, capacity);
+        directions = Arrays.copyOf(directions, capacity);
+        depths = Arrays.copyOf(depths, capacity);
+    }
+}
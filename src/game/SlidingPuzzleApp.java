@@ -1,12 +1,24 @@
 package game;
 
+import enums.RenderLevel;
+import interfaces.IPenguinController;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
 /**
  * SlidingPuzzleApp is the main entry point for the Sliding Penguins Puzzle Game.
  * This application simulates a puzzle game where 3 penguins compete to collect
  * the most food (by weight) while sliding on icy terrain and avoiding hazards.
  *
- * The main method simply initializes an IcyTerrain object, which handles
- * all game setup, gameplay, and result display.
+ * The main method is a thin console front-end over GameEngine:
+ * P2 is played from the keyboard, P1 and P3 by the search-based AI.
+ * If a file name is given, the game's journal is saved there for ReplayEngine.
+ *
+ * Options (before the file name):
+ * --ansi            keep the grid in place at the top of the terminal and redraw only changed cells
+ * --render=LEVEL    how often the grid is drawn: every-move (default), every-turn, final-only or none
  *
  * @author CENG211 Programming Fundamentals
  * @version Homework #3
@@ -15,12 +27,45 @@ public class SlidingPuzzleApp {
 
     /**
      * Main method - entry point of the application.
-     * Initializes the IcyTerrain object which sets up and runs the game.
+     * Creates a console game engine and plays one game to the end.
      *
-     * @param args Command line arguments (not used)
+     * @param args Options, then the optional path of the journal file to write
+     * @throws IOException if the journal cannot be written
+     * @throws IllegalArgumentException if an option is not known
      */
-    public static void main(String[] args) {
-        // Initialize IcyTerrain - this starts the entire game
-        new IcyTerrain();
+    public static void main(String[] args) throws IOException {
+        boolean ansi = false;
+        RenderLevel renderLevel = RenderLevel.EVERY_MOVE;
+        String journalPath = null;
+        for (String arg : args) {
+            if (arg.equals("--ansi")) {
+                ansi = true;
+            } else if (arg.startsWith("--render=")) {
+                renderLevel = RenderLevel.valueOf(arg.substring("--render=".length()).toUpperCase().replace('-', '_'));
+            } else if (arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            } else {
+                journalPath = arg;
+            }
+        }
+
+        IPenguinController[] controllers = {
+            new ExpectimaxController(),
+            new ConsolePlayerController(), // P2 is always the player's penguin
+            new ExpectimaxController()
+        };
+
+        GameEngine engine = new GameEngine(IcyTerrain.DEFAULT_GRID_SIZE, controllers, new ConsoleOutput());
+        engine.setRenderer(new TerrainRenderer(ansi));
+        engine.setRenderLevel(renderLevel);
+        engine.setJournaling(journalPath != null);
+        engine.newGame(System.nanoTime());
+        engine.runToEnd();
+
+        if (journalPath != null) {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(journalPath)))) {
+                engine.getJournal().writeTo(out);
+            }
+        }
     }
 }
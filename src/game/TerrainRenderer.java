@@ -0,0 +1,148 @@
+package game;
+
+import interfaces.IOutputSink;
+import interfaces.ITerrainObject;
+
+/**
+ * TerrainRenderer draws the grid into one reusable buffer and writes each frame with a single call.
+ *
+ * In plain mode every frame is the full bordered grid, exactly as printTerrain always printed it.
+ * In ANSI mode the first frame clears the screen, draws the full grid at the top and makes the
+ * lines below it a scroll region, so the game's messages scroll underneath a grid that stays put.
+ * Later frames save the cursor, redraw only the cells whose symbol changed, and put the cursor
+ * back where the messages end. finish gives the terminal its whole screen back.
+ */
+public class TerrainRenderer {
+
+    private static final String ESC = "\u001B[";
+    private static final String SAVE_CURSOR = "\u001B7";
+    private static final String RESTORE_CURSOR = "\u001B8";
+    private static final String NEWLINE = System.lineSeparator();
+    private static final String EMPTY_CELL = "   ";
+
+    private final boolean ansi; // true for differential ANSI output
+    private final StringBuilder frame = new StringBuilder(); // Reused for every frame
+    private String border = ""; // Horizontal border for the current grid size
+    private String[] shown; // ANSI mode: cell symbols currently on screen, null before the first frame
+
+    /**
+     * Creates a renderer
+     * @param ansi true for differential ANSI output, false for plain full frames
+     */
+    public TerrainRenderer(boolean ansi) {
+        this.ansi = ansi;
+    }
+
+    /**
+     * Checks if this renderer redraws only changed cells in place
+     * @return true in ANSI mode
+     */
+    public boolean isDifferential() {
+        return ansi;
+    }
+
+    /**
+     * Forgets what is on screen, so the next ANSI frame is drawn in full (e.g. for a new game)
+     */
+    public void reset() {
+        shown = null;
+    }
+
+    /**
+     * Ends ANSI output: the scroll region is lifted and the cursor stays below the last message.
+     * Does nothing in plain mode or before the first frame.
+     * @param out The destination the frames went to
+     */
+    public void finish(IOutputSink out) {
+        if (ansi && shown != null) {
+            out.print(SAVE_CURSOR + ESC + "r" + RESTORE_CURSOR);
+            shown = null;
+        }
+    }
+
+    /**
+     * Draws the terrain
+     * @param terrain The terrain to draw
+     * @param out The destination; receives exactly one print call
+     */
+    public void render(IcyTerrain terrain, IOutputSink out) {
+        int size = terrain.getGridSize();
+        frame.setLength(0);
+
+        if (ansi && shown != null && shown.length == size * size) {
+            appendChanges(terrain, size);
+        } else {
+            if (ansi) {
+                frame.append(ESC).append('r').append(ESC).append("H").append(ESC).append("2J");
+                shown = new String[size * size];
+            }
+            appendFullFrame(terrain, size);
+            if (ansi) {
+                // Messages scroll in the lines below the grid; setting the region homes the cursor
+                int messageLine = 2 * size + 2;
+                frame.append(ESC).append(messageLine).append('r');
+                frame.append(ESC).append(messageLine).append(";1H");
+            }
+        }
+
+        out.print(frame.toString());
+    }
+
+    /**
+     * Appends the full bordered grid to the frame buffer
+     */
+    private void appendFullFrame(IcyTerrain terrain, int size) {
+        if (border.length() != size * 6 + 1) {
+            border = "-".repeat(size * 6 + 1);
+        }
+
+        frame.append(border).append(NEWLINE);
+        for (int i = 0; i < size; i++) {
+            frame.append("| ");
+            for (int j = 0; j < size; j++) {
+                String sym = symbolAt(terrain, i, j);
+                appendPadded(sym);
+                frame.append(" | ");
+                if (shown != null) {
+                    shown[i * size + j] = sym;
+                }
+            }
+            frame.append(NEWLINE).append(border).append(NEWLINE);
+        }
+    }
+
+    /**
+     * Appends cursor moves and symbols for the cells that changed since the last frame
+     */
+    private void appendChanges(IcyTerrain terrain, int size) {
+        frame.append(SAVE_CURSOR);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                String sym = symbolAt(terrain, i, j);
+                int cell = i * size + j;
+                if (!sym.equals(shown[cell])) {
+                    // Grid row i is on screen line 2 + 2i, cell j starts at column 3 + 6j
+                    frame.append(ESC).append(2 + 2 * i).append(';').append(3 + 6 * j).append('H');
+                    appendPadded(sym);
+                    shown[cell] = sym;
+                }
+            }
+        }
+        frame.append(RESTORE_CURSOR);
+    }
+
+    /**
+     * Appends a symbol left-aligned in a 3 character field
+     */
+    private void appendPadded(String sym) {
+        frame.append(sym);
+        for (int k = sym.length(); k < 3; k++) {
+            frame.append(' ');
+        }
+    }
+
+    private static String symbolAt(IcyTerrain terrain, int row, int col) {
+        ITerrainObject obj = terrain.getObjectAt(row, col);
+        return obj == null ? EMPTY_CELL : obj.getSymbol();
+    }
+}
@@ -0,0 +1,137 @@
+package game;
+
+import enums.RenderLevel;
+import interfaces.IPenguinController;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * TournamentRunner plays many independent AI-only games in parallel and aggregates the results.
+ * Games run on the common fork-join pool through a parallel stream. Every game has its own
+ * engine, terrain and random source, and every worker fills its own TournamentStats,
+ * so the only synchronization is the final merge.
+ *
+ * Games are grouped in chunks. Each chunk gets a stream split from the master
+ * SplittableRandom, and draws one seed per game from it. Results therefore do not
+ * depend on the number of cores, and any single game can be replayed with
+ * GameEngine.newGame(seed).
+ *
+ * With a BoardCorpus, game i is played on board i (modulo the corpus size) instead of a
+ * generated one, and the seeds only drive the AI choices. Boards are loaded straight from
+ * the corpus's memory mapping by the worker that plays them.
+ *
+ * Usage: java [-Dpenguins.metrics=true] game.TournamentRunner [games] [seed] [corpus file]
+ * With metrics enabled, the engine metrics are printed after the statistics.
+ */
+public class TournamentRunner {
+
+    private static final int DEFAULT_GAMES = 100_000;
+    private static final int CHUNK_SIZE = 256; // Games per independently seeded chunk
+
+    private final int gridSize;
+    private final BoardCorpus corpus; // Preset boards, or null to generate every game
+
+    /**
+     * Creates a runner for games of the given size
+     * @param gridSize The number of rows and columns of every game
+     */
+    public TournamentRunner(int gridSize) {
+        this.gridSize = gridSize;
+        this.corpus = null;
+    }
+
+    /**
+     * Creates a runner that plays the boards of a corpus
+     * @param corpus The boards; must not be empty
+     */
+    public TournamentRunner(BoardCorpus corpus) {
+        if (corpus.size() == 0) {
+            throw new IllegalArgumentException("Empty board corpus");
+        }
+        this.gridSize = corpus.getGridSize();
+        this.corpus = corpus;
+    }
+
+    /**
+     * Plays the given number of games in parallel.
+     * The same base seed always produces the same statistics.
+     * @param games The number of games
+     * @param seed The base seed
+     * @return The aggregated statistics
+     */
+    public TournamentStats run(int games, long seed) {
+        SplittableRandom master = new SplittableRandom(seed);
+        int chunks = (games + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        SplittableRandom[] chunkRandoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            chunkRandoms[c] = master.split();
+        }
+
+        return IntStream.range(0, chunks)
+                .parallel()
+                .collect(TournamentStats::new,
+                        (stats, c) -> playChunk(stats, chunkRandoms[c], c * CHUNK_SIZE, Math.min(CHUNK_SIZE, games - c * CHUNK_SIZE)),
+                        TournamentStats::merge);
+    }
+
+    /**
+     * Plays a chunk of games on the calling thread
+     * @param stats The worker's accumulator
+     * @param random The chunk's random stream, used only to draw game seeds
+     * @param first The number of the chunk's first game
+     * @param games The number of games in the chunk
+     */
+    private void playChunk(TournamentStats stats, SplittableRandom random, long first, int games) {
+        for (int i = 0; i < games; i++) {
+            stats.add(playGame(first + i, random.nextLong()));
+        }
+    }
+
+    /**
+     * Plays one silent AI-only game
+     * @param game The game's number, which picks its board from the corpus
+     * @param seed The game's seed
+     * @return The game result
+     */
+    private GameResult playGame(long game, long seed) {
+        IPenguinController[] controllers = new IPenguinController[IcyTerrain.PENGUIN_COUNT];
+        for (int i = 0; i < controllers.length; i++) {
+            controllers[i] = new AIController();
+        }
+        GameEngine engine = new GameEngine(gridSize, controllers, NullOutput.INSTANCE);
+        engine.setRenderLevel(RenderLevel.NONE);
+        if (corpus != null) {
+            engine.newGame(corpus.load(game % corpus.size(), NullOutput.INSTANCE), seed);
+        } else {
+            engine.newGame(seed);
+        }
+        return engine.runToEnd();
+    }
+
+    /**
+     * Runs a tournament from the command line and prints the summary.
+     * @param args Optional number of games, base seed and corpus file
+     * @throws IOException if the corpus cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        BoardCorpus corpus = args.length > 2 ? new BoardCorpus(Path.of(args[2])) : null;
+
+        long start = System.nanoTime();
+        TournamentRunner runner = corpus != null ? new TournamentRunner(corpus) : new TournamentRunner(IcyTerrain.DEFAULT_GRID_SIZE);
+        TournamentStats stats = runner.run(games, seed);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        if (corpus != null) {
+            corpus.close();
+        }
+
+        stats.print(System.out);
+        System.out.println("Seed: " + seed + ", elapsed: " + elapsedMillis + " ms");
+        if (GameMetrics.active() != null) {
+            GameMetrics.active().snapshot().print(System.out);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package game;
+
+import enums.EliminationCause;
+import java.io.PrintStream;
+import objects.*;
+
+/**
+ * TournamentStats accumulates the results of many games.
+ * Each worker thread fills its own instance; instances are combined with merge(),
+ * so no state is shared while games are running.
+ */
+public class TournamentStats {
+
+    /** Penguin types in report order, indexed by IcyTerrain.penguinType */
+    private static final Class<?>[] PENGUIN_TYPES = {
+        KingPenguin.class, EmperorPenguin.class, RoyalPenguin.class, RockhopperPenguin.class
+    };
+
+    private long games;
+    private final long[] appearances = new long[PENGUIN_TYPES.length];
+    private final long[] wins = new long[PENGUIN_TYPES.length]; // Outright wins
+    private final long[] ties = new long[PENGUIN_TYPES.length]; // Shared first places
+    private final long[] weight = new long[PENGUIN_TYPES.length];
+    private final long[] eliminations = new long[PENGUIN_TYPES.length];
+    private final long[] causes = new long[EliminationCause.values().length];
+
+    /**
+     * Adds one game's result
+     * @param result The finished game
+     */
+    public void add(GameResult result) {
+        games++;
+        for (Penguin p : result.getPenguins()) {
+            int type = typeIndex(p);
+            appearances[type]++;
+            weight[type] += p.getTotalWeight();
+            if (result.isWinner(p)) {
+                wins[type]++;
+            } else if (result.isTiedFirst(p)) {
+                ties[type]++;
+            }
+            if (!p.isActive()) {
+                eliminations[type]++;
+                causes[p.getEliminationCause().ordinal()]++;
+            }
+        }
+    }
+
+    /**
+     * Adds all counts of another accumulator to this one
+     * @param other The accumulator to merge in
+     */
+    public void merge(TournamentStats other) {
+        games += other.games;
+        for (int i = 0; i < PENGUIN_TYPES.length; i++) {
+            appearances[i] += other.appearances[i];
+            wins[i] += other.wins[i];
+            ties[i] += other.ties[i];
+            weight[i] += other.weight[i];
+            eliminations[i] += other.eliminations[i];
+        }
+        for (int i = 0; i < causes.length; i++) {
+            causes[i] += other.causes[i];
+        }
+    }
+
+    /**
+     * Gets the number of games played
+     * @return The game count
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the share of games won outright by penguins of a type (see GameResult.isWinner)
+     * @param type The penguin class, e.g. KingPenguin.class
+     * @return Wins divided by appearances, or 0 if the type never appeared
+     */
+    public double getWinRate(Class<? extends Penguin> type) {
+        int i = typeIndex(type);
+        return ratio(wins[i], appearances[i]);
+    }
+
+    /**
+     * Gets the share of games in which penguins of a type tied for first place
+     * @param type The penguin class
+     * @return Ties divided by appearances, or 0 if the type never appeared
+     */
+    public double getTieRate(Class<? extends Penguin> type) {
+        int i = typeIndex(type);
+        return ratio(ties[i], appearances[i]);
+    }
+
+    /**
+     * Gets the average food weight collected by penguins of a type
+     * @param type The penguin class
+     * @return The average total weight per appearance
+     */
+    public double getAverageWeight(Class<? extends Penguin> type) {
+        int i = typeIndex(type);
+        return ratio(weight[i], appearances[i]);
+    }
+
+    /**
+     * Gets the share of penguins of a type that were eliminated
+     * @param type The penguin class
+     * @return Eliminations divided by appearances
+     */
+    public double getEliminationRate(Class<? extends Penguin> type) {
+        int i = typeIndex(type);
+        return ratio(eliminations[i], appearances[i]);
+    }
+
+    /**
+     * Gets how many penguins were eliminated by a cause
+     * @param cause The elimination cause
+     * @return The count over all games
+     */
+    public long getEliminations(EliminationCause cause) {
+        return causes[cause.ordinal()];
+    }
+
+    /**
+     * Prints a summary table of the tournament
+     * @param out The destination stream
+     */
+    public void print(PrintStream out) {
+        out.println("Games played: " + games);
+        out.println(String.format("%-20s %10s %9s %9s %11s %12s", "Penguin type", "Appearances", "Win rate", "Tie rate", "Avg weight", "Elim. rate"));
+        for (int i = 0; i < PENGUIN_TYPES.length; i++) {
+            out.println(String.format("%-20s %10d %8.2f%% %8.2f%% %11.2f %11.2f%%",
+                    PENGUIN_TYPES[i].getSimpleName(), appearances[i],
+                    100.0 * ratio(wins[i], appearances[i]),
+                    100.0 * ratio(ties[i], appearances[i]),
+                    ratio(weight[i], appearances[i]),
+                    100.0 * ratio(eliminations[i], appearances[i])));
+        }
+        out.print("Elimination causes:");
+        for (EliminationCause cause : EliminationCause.values()) {
+            out.print(" " + cause + "=" + causes[cause.ordinal()]);
+        }
+        out.println();
+    }
+
+    private static int typeIndex(Penguin p) {
+        return IcyTerrain.penguinType(p);
+    }
+
+    private static int typeIndex(Class<?> type) {
+        for (int i = 0; i < PENGUIN_TYPES.length; i++) {
+            if (PENGUIN_TYPES[i] == type) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown penguin type: " + type.getName());
+    }
+
+    private static double ratio(long numerator, long denominator) {
+        return denominator == 0 ? 0.0 : (double) numerator / denominator;
+    }
+}
@@ -0,0 +1,138 @@
+package game;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * TranspositionTable caches search results by Zobrist hash in a fixed number of slots.
+ * It is safe to share between searching threads without locks: each slot is two longs,
+ * the data word and the key XOR the data. A reader only accepts a slot whose two words agree
+ * with the key it looks up, so a slot torn by concurrent writers reads as a miss.
+ *
+ * Entries pack a float value, the searched depth and a move index into one long.
+ * A slot keeps the deeper of two entries for different positions; an entry for the same
+ * position is always overwritten.
+ */
+public class TranspositionTable {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    /** Returned by probe when the position is not cached */
+    public static final long MISS = 0;
+
+    private static final int MAX_DEPTH = 0xFF - 1;
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final AtomicLongArray slots; // slots[2i]: key ^ data, slots[2i + 1]: data
+    private final int mask; // Slot count - 1
+
+    // ============================================================================
+    // CONSTRUCTOR
+    // ============================================================================
+
+    /**
+     * Creates an empty table.
+     * @param capacity Number of entries, rounded up to a power of two
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity < 1 || capacity > 1 << 29) {
+            throw new IllegalArgumentException("Capacity out of range: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        slots = new AtomicLongArray(size * 2);
+        mask = size - 1;
+    }
+
+    // ============================================================================
+    // OPERATIONS
+    // ============================================================================
+
+    /**
+     * Looks up a position
+     * @param key The position's hash
+     * @return The packed entry, or MISS
+     */
+    public long probe(long key) {
+        int slot = (int) key & mask;
+        long data = slots.get(slot * 2 + 1);
+        if (data != MISS && (slots.get(slot * 2) ^ data) == key) {
+            return data;
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores a search result
+     * @param key The position's hash
+     * @param value The position's value
+     * @param depth The depth it was searched to (clamped to 254)
+     * @param move The best move index, or 0 if not applicable (0-255)
+     */
+    public void store(long key, float value, int depth, int move) {
+        depth = Math.max(0, Math.min(depth, MAX_DEPTH));
+        int slot = (int) key & mask;
+
+        long old = slots.get(slot * 2 + 1);
+        if (old != MISS && (slots.get(slot * 2) ^ old) != key && depthOf(old) > depth) {
+            return; // Keep the deeper result of another position
+        }
+
+        // Depth is stored + 1 so that a valid entry is never MISS
+        long data = (long) (depth + 1) << 40 | (long) (move & 0xFF) << 32 | (Float.floatToRawIntBits(value) & 0xFFFFFFFFL);
+        slots.set(slot * 2 + 1, data);
+        slots.set(slot * 2, key ^ data);
+    }
+
+    /**
+     * Empties the table
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, 0);
+        }
+    }
+
+    /**
+     * Gets the number of entries the table holds
+     * @return The capacity
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    // ============================================================================
+    // ENTRY FIELDS
+    // ============================================================================
+
+    /**
+     * Gets the value of a packed entry
+     * @param entry An entry returned by probe
+     * @return The stored value
+     */
+    public static float valueOf(long entry) {
+        return Float.intBitsToFloat((int) entry);
+    }
+
+    /**
+     * Gets the depth of a packed entry
+     * @param entry An entry returned by probe
+     * @return The depth the position was searched to
+     */
+    public static int depthOf(long entry) {
+        return (int) (entry >>> 40 & 0xFF) - 1;
+    }
+
+    /**
+     * Gets the move of a packed entry
+     * @param entry An entry returned by probe
+     * @return The stored move index
+     */
+    public static int moveOf(long entry) {
+        return (int) (entry >>> 32 & 0xFF);
+    }
+}
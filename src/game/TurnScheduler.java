@@ -0,0 +1,183 @@
+package game;
+
+import interfaces.IPenguinListener;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import objects.Penguin;
+
+/**
+ * TurnScheduler decides who plays next in games with many penguins.
+ * It keeps the turn order as a dense array of penguin indices and listens to the terrain
+ * (IPenguinListener) instead of asking every penguin isActive() and isStunned() each turn:
+ * - an eliminated penguin is marked out and dropped from the order when the turn ends
+ * - a stunned penguin is parked; its next slot is a skip, after which it is woken up again
+ *
+ * A turn therefore costs O(penguins still in the game), and the moves happen in the same
+ * order as GameEngine plays them, skipped turns included.
+ */
+public class TurnScheduler implements IPenguinListener {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    private static final byte READY = 0;
+    private static final byte STUNNED = 1;
+    private static final byte OUT = 2;
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final Map<Penguin, Integer> indexOf = new IdentityHashMap<>(); // Penguin -> index in turn order
+    private final byte[] state; // READY, STUNNED or OUT, by penguin index
+    private int[] order; // Indices of the penguins in the game, in turn order
+    private int orderSize;
+    private int cursor; // Position of the next slot of the current turn in order
+    private int activeCount; // Penguins not eliminated
+    private int stunnedCount; // Penguins parked until their skipped turn
+
+    // ============================================================================
+    // CONSTRUCTOR
+    // ============================================================================
+
+    /**
+     * Creates a scheduler for the penguins of a terrain, positioned at the start of a turn
+     * @param penguins All penguins, in turn order
+     */
+    public TurnScheduler(List<Penguin> penguins) {
+        state = new byte[penguins.size()];
+        order = new int[penguins.size()];
+        for (int i = 0; i < penguins.size(); i++) {
+            Penguin p = penguins.get(i);
+            indexOf.put(p, i);
+            if (!p.isActive()) {
+                state[i] = OUT;
+                continue;
+            }
+            order[orderSize++] = i;
+            activeCount++;
+            if (p.isStunned()) {
+                state[i] = STUNNED;
+                stunnedCount++;
+            }
+        }
+    }
+
+    // ============================================================================
+    // SCHEDULING
+    // ============================================================================
+
+    /**
+     * Gets the next slot of the current turn
+     * @return The index of the penguin whose turn it is, or -1 when the turn is over
+     */
+    public int nextSlot() {
+        while (cursor < orderSize) {
+            int index = order[cursor++];
+            if (state[index] != OUT) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a slot is a skipped turn
+     * @param index The penguin index returned by nextSlot
+     * @return true if the penguin is stunned and loses this turn
+     */
+    public boolean isSkip(int index) {
+        return state[index] == STUNNED;
+    }
+
+    /**
+     * Wakes a penguin up after its skipped turn
+     * @param index The penguin index
+     */
+    public void wake(int index) {
+        if (state[index] == STUNNED) {
+            state[index] = READY;
+            stunnedCount--;
+        }
+    }
+
+    /**
+     * Starts the next turn, dropping the penguins eliminated during the last one
+     * @return true if any penguin is left in the game
+     */
+    public boolean nextTurn() {
+        int kept = 0;
+        for (int i = 0; i < orderSize; i++) {
+            if (state[order[i]] != OUT) {
+                order[kept++] = order[i];
+            }
+        }
+        orderSize = kept;
+        cursor = 0;
+        return orderSize > 0;
+    }
+
+    /**
+     * Lists the slots left in the current turn, without consuming them
+     * @param dest Receives the penguin indices, in turn order; needs room for every penguin
+     * @return The number of slots written to dest
+     */
+    public int peekSlots(int[] dest) {
+        int count = 0;
+        for (int i = cursor; i < orderSize; i++) {
+            if (state[order[i]] != OUT) {
+                dest[count++] = order[i];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of penguins still in the game
+     * @return The active penguin count
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * Gets the number of penguins that will skip their next turn
+     * @return The stunned penguin count
+     */
+    public int getStunnedCount() {
+        return stunnedCount;
+    }
+
+    // ============================================================================
+    // IPenguinListener
+    // ============================================================================
+
+    /**
+     * Parks a penguin until its next slot
+     * @param p The stunned penguin
+     */
+    @Override
+    public void penguinStunned(Penguin p) {
+        int index = indexOf.get(p);
+        if (state[index] == READY) {
+            state[index] = STUNNED;
+            stunnedCount++;
+        }
+    }
+
+    /**
+     * Takes a penguin out of the turn order
+     * @param p The eliminated penguin
+     */
+    @Override
+    public void penguinEliminated(Penguin p) {
+        int index = indexOf.get(p);
+        if (state[index] == STUNNED) {
+            stunnedCount--;
+        }
+        if (state[index] != OUT) {
+            state[index] = OUT;
+            activeCount--;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package game;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Varint reads and writes the unsigned variable-length integers of the binary formats
+ * (BoardCodec layouts, GameJournal files): seven bits per byte, least significant first,
+ * the high bit set on every byte but the last. An int takes at most MAX_BYTES bytes;
+ * a longer encoding is rejected as corrupt.
+ */
+final class Varint {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    static final int MAX_BYTES = 5; // 5 * 7 bits cover an int
+
+    private Varint() {
+    }
+
+    // ============================================================================
+    // WRITING
+    // ============================================================================
+
+    /**
+     * Writes a value at the buffer's position, advancing it
+     * @param buffer The destination
+     * @param value The value, treated as unsigned
+     */
+    static void write(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Writes a value to a byte stream
+     * @param out The destination
+     * @param value The value, treated as unsigned
+     */
+    static void write(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Gets the number of bytes a value takes
+     * @param value The value, treated as unsigned
+     * @return The encoded size, 1 to MAX_BYTES
+     */
+    static int size(int value) {
+        return (31 - Integer.numberOfLeadingZeros(value | 1)) / 7 + 1;
+    }
+
+    // ============================================================================
+    // READING
+    // ============================================================================
+
+    /**
+     * Reads a value with absolute reads, so any number of threads may read one buffer
+     * @param buffer The source
+     * @param pos Holds the index of the first byte; advanced past the value
+     * @return The value
+     * @throws IllegalArgumentException if the encoding is longer than MAX_BYTES
+     * @throws IndexOutOfBoundsException if the buffer ends inside the value
+     */
+    static int read(ByteBuffer buffer, int[] pos) {
+        int value = 0;
+        for (int shift = 0; shift < 7 * MAX_BYTES; shift += 7) {
+            int b = buffer.get(pos[0]++);
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IllegalArgumentException("Corrupt varint: longer than " + MAX_BYTES + " bytes");
+    }
+
+    /**
+     * Reads a value from a stream
+     * @param in The source
+     * @return The value
+     * @throws IOException if reading fails, the stream ends inside the value,
+     *                     or the encoding is longer than MAX_BYTES
+     */
+    static int read(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 7 * MAX_BYTES; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Corrupt varint: longer than " + MAX_BYTES + " bytes");
+    }
+}
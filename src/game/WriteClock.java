@@ -0,0 +1,95 @@
+package game;
+
+/**
+ * WriteClock remembers when each part of a grid was last written, so that a ray scanned
+ * earlier can be checked for changes without scanning it again.
+ * Every row and every column is cut into segments of SEGMENT cells; a cell write stamps the
+ * row segment and the column segment holding the cell with a new tick. A ray along a row
+ * (or column) is unchanged since tick t if none of the segments it crosses has a later stamp.
+ * The check is conservative: a write anywhere in a crossed segment counts as a change.
+ */
+class WriteClock {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    private static final int SEGMENT_SHIFT = 4; // Segments of 16 cells
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private final int size; // Grid size
+    private final int segments; // Segments per row (and per column)
+    private final long[] rowStamps; // rowStamps[row * segments + col >> SEGMENT_SHIFT]
+    private final long[] colStamps; // colStamps[col * segments + row >> SEGMENT_SHIFT]
+    private long tick; // Number of writes so far
+
+    /**
+     * Creates a clock for a square grid with no writes yet
+     * @param size The grid size
+     */
+    WriteClock(int size) {
+        this.size = size;
+        segments = ((size - 1) >> SEGMENT_SHIFT) + 1;
+        rowStamps = new long[size * segments];
+        colStamps = new long[size * segments];
+    }
+
+    /**
+     * Records a write to a cell
+     * @param cell The cell index (row * size + col)
+     */
+    void touch(int cell) {
+        int row = cell / size;
+        int col = cell % size;
+        tick++;
+        rowStamps[row * segments + (col >> SEGMENT_SHIFT)] = tick;
+        colStamps[col * segments + (row >> SEGMENT_SHIFT)] = tick;
+    }
+
+    /**
+     * Gets the current tick, to compare later checks against
+     * @return The number of writes so far
+     */
+    long now() {
+        return tick;
+    }
+
+    /**
+     * Checks that no cell of a row between two columns was written after a tick
+     * @param row The row
+     * @param fromCol One end column (inclusive)
+     * @param toCol The other end column (inclusive)
+     * @param since The tick of the earlier scan
+     * @return true if the cells may be assumed unchanged
+     */
+    boolean rowUnchanged(int row, int fromCol, int toCol, long since) {
+        int first = Math.min(fromCol, toCol) >> SEGMENT_SHIFT;
+        int last = Math.max(fromCol, toCol) >> SEGMENT_SHIFT;
+        for (int s = first; s <= last; s++) {
+            if (rowStamps[row * segments + s] > since) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that no cell of a column between two rows was written after a tick
+     * @param col The column
+     * @param fromRow One end row (inclusive)
+     * @param toRow The other end row (inclusive)
+     * @param since The tick of the earlier scan
+     * @return true if the cells may be assumed unchanged
+     */
+    boolean colUnchanged(int col, int fromRow, int toRow, long since) {
+        int first = Math.min(fromRow, toRow) >> SEGMENT_SHIFT;
+        int last = Math.max(fromRow, toRow) >> SEGMENT_SHIFT;
+        for (int s = first; s <= last; s++) {
+            if (colStamps[col * segments + s] > since) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
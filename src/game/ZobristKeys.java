@@ -0,0 +1,126 @@
+package game;
+
+/**
+ * ZobristKeys supplies the 64-bit random keys of the Zobrist hash of a game state.
+ * The hash of a state is the XOR of one key per occupied cell (cell, content code),
+ * one key per set penguin flag (stunned, ability used, active) and one key for the turn index.
+ * Keys are derived with the splitmix64 finalizer instead of being stored in tables,
+ * so any grid size and penguin count is covered and hashes are the same on every run.
+ *
+ * Content codes distinguish every object that affects the rules: each penguin by its index,
+ * each food type and weight, the hazards, and plugged and open holes.
+ */
+public final class ZobristKeys {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    public static final int LIGHT_ICE = 1;
+    public static final int HEAVY_ICE = 2;
+    public static final int SEA_LION = 3;
+    public static final int HOLE = 4;
+    public static final int PLUGGED_HOLE = 5;
+    private static final int FOOD_BASE = 8; // Food codes: FOOD_BASE + type * 8 + weight
+    private static final int CUSTOM_BASE = 1 << 11; // Codes of registered custom kinds: CUSTOM_BASE + kind
+    private static final int PENGUIN_BASE = 1 << 12; // Penguin codes: PENGUIN_BASE + index
+
+    public static final int STUNNED = 0;
+    public static final int ABILITY_USED = 1;
+    public static final int ACTIVE = 2;
+
+    // Domains keep the kinds of keys apart
+    private static final long CELL_DOMAIN = 0x1L << 60;
+    private static final long FLAG_DOMAIN = 0x2L << 60;
+    private static final long TURN_DOMAIN = 0x3L << 60;
+    private static final long INVENTORY_DOMAIN = 0x5L << 60;
+
+    private ZobristKeys() {
+    }
+
+    // ============================================================================
+    // CONTENT CODES
+    // ============================================================================
+
+    /**
+     * Gets the content code of a food item
+     * @param typeOrdinal The FoodType ordinal
+     * @param weight The weight (1-5)
+     * @return The content code
+     */
+    public static int food(int typeOrdinal, int weight) {
+        return FOOD_BASE + typeOrdinal * 8 + weight;
+    }
+
+    /**
+     * Gets the content code of an object of a custom kind
+     * @param kind The kind code (ITerrainObject.FIRST_CUSTOM_KIND or more)
+     * @return The content code
+     */
+    public static int custom(int kind) {
+        return CUSTOM_BASE + kind;
+    }
+
+    /**
+     * Gets the content code of a penguin
+     * @param index The penguin's index in turn order
+     * @return The content code
+     */
+    public static int penguin(int index) {
+        return PENGUIN_BASE + index;
+    }
+
+    // ============================================================================
+    // KEYS
+    // ============================================================================
+
+    /**
+     * Gets the key of a cell holding an object
+     * @param cell The flat cell index
+     * @param code The object's content code
+     * @return The key
+     */
+    public static long cell(int cell, int code) {
+        return mix(CELL_DOMAIN | (long) cell << 24 | code);
+    }
+
+    /**
+     * Gets the key of a set penguin flag
+     * @param index The penguin's index in turn order
+     * @param flag STUNNED, ABILITY_USED or ACTIVE
+     * @return The key
+     */
+    public static long flag(int index, int flag) {
+        return mix(FLAG_DOMAIN | (long) index << 2 | flag);
+    }
+
+    /**
+     * Gets the key of a turn index
+     * @param turnIndex The number of penguin moves played so far
+     * @return The key
+     */
+    public static long turn(int turnIndex) {
+        return mix(TURN_DOMAIN | turnIndex);
+    }
+
+    /**
+     * Gets the key of how many food items of one weight a penguin holds, for searches whose
+     * values depend on which item a HeavyIceBlock penalty would take
+     * @param index The penguin's index in turn order
+     * @param weight The weight (1-5)
+     * @param count The number of items of that weight
+     * @return The key
+     */
+    public static long inventory(int index, int weight, int count) {
+        return mix(INVENTORY_DOMAIN | (long) index << 32 | (long) weight << 24 | count);
+    }
+
+    /**
+     * splitmix64 finalizer: a bijective 64-bit mixer
+     */
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
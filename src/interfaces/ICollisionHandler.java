@@ -0,0 +1,26 @@
+package interfaces;
+
+import enums.Direction;
+import game.IcyTerrain;
+
+/**
+ * ICollisionHandler resolves what happens when a sliding object runs into another object.
+ * Handlers are looked up by (moving kind, stationary kind) in game.CollisionTable.
+ * When a handler runs, the moving object sits on the cell just before the stationary one;
+ * a handler that does nothing simply stops the moving object there.
+ */
+public interface ICollisionHandler {
+    /**
+     * Resolves a collision.
+     * @param terrain The terrain, for effects such as pushObject, stunPenguin or removeFromGame
+     * @param moving The object that is sliding
+     * @param stationary The object being hit
+     * @param dir The direction of movement
+     * @param movingRow Current row of the moving object
+     * @param movingCol Current column of the moving object
+     * @param stationaryRow Row of the stationary object
+     * @param stationaryCol Column of the stationary object
+     */
+    void collide(IcyTerrain terrain, ITerrainObject moving, ITerrainObject stationary, Direction dir,
+                 int movingRow, int movingCol, int stationaryRow, int stationaryCol);
+}
@@ -0,0 +1,17 @@
+package interfaces;
+
+import game.GameEvent;
+
+/**
+ * IGameEventListener subscribes to the events a terrain publishes on its GameEventBus.
+ * Events are delivered on the thread that plays the move, in the order they happen.
+ */
+public interface IGameEventListener {
+    /**
+     * Called for every published event.
+     * The slot is reused afterwards: copy what is needed, do not keep the event, and do not
+     * publish from here.
+     * @param event The event
+     */
+    void onEvent(GameEvent event);
+}
@@ -0,0 +1,70 @@
+package interfaces;
+
+import java.util.Map;
+
+/**
+ * IGameMetricsMXBean is the JMX view of the engine's metrics registry
+ * (object name "penguins:type=GameMetrics").
+ * Histograms are exposed as maps with the keys count, mean, p50, p99 and max;
+ * latencies are in microseconds.
+ */
+public interface IGameMetricsMXBean {
+    /**
+     * Gets the number of moves applied
+     * @return The move count
+     */
+    long getMoves();
+
+    /**
+     * Gets the number of games finished
+     * @return The game count
+     */
+    long getGames();
+
+    /**
+     * Gets the distribution of cells travelled by all sliding objects in one move
+     * @return The histogram summary
+     */
+    Map<String, Double> getSlideStepsPerMove();
+
+    /**
+     * Gets the distribution of the deepest chain reaction in one move
+     * @return The histogram summary
+     */
+    Map<String, Double> getCascadeDepth();
+
+    /**
+     * Gets the number of collisions by the kind of object that was hit
+     * @return Kind name -> count
+     */
+    Map<String, Long> getCollisions();
+
+    /**
+     * Gets the number of eliminated penguins by cause
+     * @return Cause name -> count
+     */
+    Map<String, Long> getEliminations();
+
+    /**
+     * Gets the number of special abilities used by penguin type
+     * @return Penguin type -> count
+     */
+    Map<String, Long> getAbilityUses();
+
+    /**
+     * Gets the distribution of the wall time of one penguin's turn
+     * @return The histogram summary, in microseconds
+     */
+    Map<String, Double> getTurnMicros();
+
+    /**
+     * Gets the distribution of the wall time of one game
+     * @return The histogram summary, in microseconds
+     */
+    Map<String, Double> getGameMicros();
+
+    /**
+     * Clears all metrics
+     */
+    void reset();
+}
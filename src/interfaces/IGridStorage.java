@@ -0,0 +1,59 @@
+package interfaces;
+
+import enums.Direction;
+
+/**
+ * IGridStorage is the storage engine behind the icy terrain grid.
+ * Cells are addressed by a flat index (row * size + col) so that lookups
+ * avoid nested collections.
+ *
+ * Alongside each object the storage keeps its one-byte kind code (ITerrainObject.getKind,
+ * EMPTY for an empty cell), which lets callers classify a cell without touching the object itself.
+ * It also answers "where is the next occupied cell along this ray", which
+ * lets slides across empty ice resolve in one jump.
+ */
+public interface IGridStorage {
+    /**
+     * Returns the number of rows (and columns) of the square grid.
+     * @return The grid size
+     */
+    int getSize();
+
+    /**
+     * Gets the object stored in a cell.
+     * @param cell The flat cell index
+     * @return The object, or null if the cell is empty
+     */
+    ITerrainObject get(int cell);
+
+    /**
+     * Gets the kind code of a cell.
+     * @param cell The flat cell index
+     * @return The kind code of the stored object, or ITerrainObject.EMPTY
+     */
+    byte getKind(int cell);
+
+    /**
+     * Stores an object in a cell, replacing whatever was there.
+     * @param cell The flat cell index
+     * @param obj The object to store (null clears the cell)
+     * @return The object previously stored in the cell, or null
+     */
+    ITerrainObject set(int cell, ITerrainObject obj);
+
+    /**
+     * Empties a cell.
+     * @param cell The flat cell index
+     * @return The object previously stored in the cell, or null
+     */
+    ITerrainObject clear(int cell);
+
+    /**
+     * Finds the nearest occupied cell strictly beyond (row, col) in a direction.
+     * @param row The starting row
+     * @param col The starting column
+     * @param dir The direction to look in
+     * @return The flat index of the nearest occupied cell, or -1 if the ray reaches the edge
+     */
+    int nextOccupied(int row, int col, Direction dir);
+}
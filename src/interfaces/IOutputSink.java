@@ -0,0 +1,26 @@
+package interfaces;
+
+/**
+ * IOutputSink receives all text produced by the game engine.
+ * Console front-ends print it, headless runs simply discard it.
+ */
+public interface IOutputSink {
+    /**
+     * Writes text without a line break.
+     * @param text The text to write
+     */
+    void print(String text);
+
+    /**
+     * Writes text followed by a line break.
+     * @param text The text to write
+     */
+    void println(String text);
+
+    /**
+     * Writes an empty line.
+     */
+    default void println() {
+        println("");
+    }
+}
@@ -0,0 +1,40 @@
+package interfaces;
+
+import game.IcyTerrain;
+import game.Move;
+import java.util.SplittableRandom;
+import objects.Penguin;
+
+/**
+ * IPenguinController decides the moves of one penguin.
+ * The game engine asks the controller for a move each time the penguin's turn comes up.
+ * Implementations include the console player and the AI.
+ */
+public interface IPenguinController {
+    /**
+     * Chooses the next move for a penguin.
+     * @param terrain The current terrain (read-only use expected)
+     * @param penguin The penguin whose turn it is
+     * @param random The game's random source
+     * @return The chosen move
+     */
+    Move chooseMove(IcyTerrain terrain, Penguin penguin, SplittableRandom random);
+
+    /**
+     * Tells the controller which turn is about to be played, before chooseMove is called.
+     * Search-based controllers use it to know how many turns remain.
+     * @param turn The turn number (1-based)
+     * @param maxTurns The number of turns in the game
+     */
+    default void beginTurn(int turn, int maxTurns) {
+    }
+
+    /**
+     * Indicates whether this controller is driven by a human player.
+     * Human-controlled penguins are labelled "Your Penguin" in the output.
+     * @return true for human players, false for AI
+     */
+    default boolean isHuman() {
+        return false;
+    }
+}
@@ -0,0 +1,22 @@
+package interfaces;
+
+import objects.Penguin;
+
+/**
+ * IPenguinListener is told when a move changes a penguin's turn status.
+ * Schedulers use it to keep their turn order up to date without polling every penguin.
+ * Changes rolled back by IcyTerrain.unmakeMove are not reported.
+ */
+public interface IPenguinListener {
+    /**
+     * Called when a penguin becomes stunned and will skip its next turn.
+     * @param p The stunned penguin
+     */
+    void penguinStunned(Penguin p);
+
+    /**
+     * Called when a penguin is eliminated from the game.
+     * @param p The eliminated penguin
+     */
+    void penguinEliminated(Penguin p);
+}
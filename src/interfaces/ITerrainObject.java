@@ -7,8 +7,32 @@ package interfaces;
  * All terrain objects must provide a symbol for display on the grid.
  * This interface enables polymorphism, allowing different object types to be stored
  * in the same grid structure.
+ *
+ * Every object also reports a one-byte kind code. The engine classifies objects by kind
+ * (one virtual call or a byte read from the grid) instead of instanceof chains, and resolves
+ * collisions through a moving-kind x stationary-kind table (see game.CollisionTable).
+ * Codes FIRST_CUSTOM_KIND and up are free for new object types.
  */
 public interface ITerrainObject {
+    /** Kind code of an empty cell */
+    byte EMPTY = 0;
+    /** Kind code of any penguin */
+    byte PENGUIN = 1;
+    /** Kind code of a food item */
+    byte FOOD = 2;
+    /** Kind code of a LightIceBlock */
+    byte LIGHT_ICE = 3;
+    /** Kind code of a HeavyIceBlock */
+    byte HEAVY_ICE = 4;
+    /** Kind code of a SeaLion */
+    byte SEA_LION = 5;
+    /** Kind code of a HoleInIce (plugged or not) */
+    byte HOLE = 6;
+    /** First kind code available to new object types */
+    byte FIRST_CUSTOM_KIND = 7;
+    /** Number of kind codes (valid codes are 0 to KIND_COUNT - 1) */
+    int KIND_COUNT = 16;
+
     /**
      * Returns the symbol representing this object on the grid display.
      * Symbols are typically 2-3 characters (e.g., "P1", "Kr", "LB", "HI").
@@ -16,4 +40,10 @@ public interface ITerrainObject {
      * @return A string symbol for grid display
      */
     String getSymbol();
+
+    /**
+     * Returns the kind code of this object.
+     * @return One of the kind constants of this interface, or a registered custom kind
+     */
+    byte getKind();
 }
@@ -2,7 +2,7 @@ package objects;
 
 import enums.FoodType;
 import interfaces.ITerrainObject;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Represents a food item on the icy terrain.
@@ -18,13 +18,23 @@ public class Food implements ITerrainObject {
      * Creates a new Food item with random type and weight.
      * Weight is randomly assigned between 1-5 units.
      * Type is randomly chosen from: KRILL, CRUSTACEAN, ANCHOVY, SQUID, MACKEREL
+     * @param random The game's random source
      */
-    public Food() {
-        Random rand = new Random();
-        this.weight = rand.nextInt(5) + 1; // Random weight: 1-5
+    public Food(SplittableRandom random) {
+        this.weight = random.nextInt(5) + 1; // Random weight: 1-5
 
         FoodType[] types = FoodType.values();
-        this.type = types[rand.nextInt(types.length)]; // Random type
+        this.type = types[random.nextInt(types.length)]; // Random type
+    }
+
+    /**
+     * Creates a Food item with a known type and weight (e.g. when restoring a saved layout).
+     * @param type The food type
+     * @param weight The weight (1-5)
+     */
+    public Food(FoodType type, int weight) {
+        this.type = type;
+        this.weight = weight;
     }
 
     /**
@@ -43,6 +53,15 @@ public class Food implements ITerrainObject {
         return type;
     }
 
+    /**
+     * Returns the kind code of this object
+     * @return ITerrainObject.FOOD
+     */
+    @Override
+    public byte getKind() {
+        return FOOD;
+    }
+
     /**
      * Returns the two-character symbol representation of the food type.
      * Kr = Krill, Cr = Crustacean, An = Anchovy, Sq = Squid, Ma = Mackerel
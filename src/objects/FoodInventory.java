@@ -0,0 +1,287 @@
+package objects;
+
+import enums.FoodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * FoodInventory holds the food a penguin has collected.
+ * Items are kept in pickup order for the scoreboard, and are also indexed by weight so that
+ * the common queries cost O(1) whatever the inventory size:
+ * - the total weight is a running sum
+ * - the lightest item (the first picked up among the lowest weight) is the head of a per-weight queue
+ * - item counts by weight and by FoodType are kept in a small histogram
+ *
+ * Each item gets a slot in an append-only array. Removing the lightest item leaves its slot
+ * empty, which keeps every other slot stable so that removals can be undone exactly.
+ * Once no removal will be undone any more, compact drops the empty slots if they make up
+ * more than half of the array, so a long game never leaves the inventory mostly empty slots.
+ */
+public class FoodInventory implements Iterable<Food> {
+
+    // ============================================================================
+    // CONSTANTS
+    // ============================================================================
+    public static final int MAX_WEIGHT = 5; // Food weights are 1 to MAX_WEIGHT
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int TYPE_COUNT = FoodType.values().length;
+
+    // ============================================================================
+    // INSTANCE VARIABLES
+    // ============================================================================
+    private Food[] slots = new Food[INITIAL_CAPACITY]; // Items in pickup order, null where one was removed
+    private int slotCount; // Number of slots used so far
+    private int size; // Number of items held
+    private int totalWeight; // Sum of the weights of the items held
+    private final int[][] slotsByWeight = new int[MAX_WEIGHT + 1][]; // Slots of each weight, in pickup order
+    private final int[] head = new int[MAX_WEIGHT + 1]; // First slot of each weight still held
+    private final int[] tail = new int[MAX_WEIGHT + 1]; // End of the used part of slotsByWeight[w]
+    private final int[] counts = new int[TYPE_COUNT * (MAX_WEIGHT + 1)]; // counts[type * 6 + w]: items of that type and weight
+
+    // ============================================================================
+    // CONSTRUCTOR
+    // ============================================================================
+
+    /**
+     * Creates an empty inventory
+     */
+    public FoodInventory() {
+        for (int w = 1; w <= MAX_WEIGHT; w++) {
+            slotsByWeight[w] = new int[INITIAL_CAPACITY];
+        }
+    }
+
+    // ============================================================================
+    // UPDATES
+    // ============================================================================
+
+    /**
+     * Adds a food item after all the others
+     * @param food The food item
+     * @throws IllegalArgumentException if its weight is not between 1 and MAX_WEIGHT
+     */
+    public void add(Food food) {
+        int w = food.getWeight();
+        if (w < 1 || w > MAX_WEIGHT) {
+            throw new IllegalArgumentException("Food weight out of range: " + w);
+        }
+        if (slotCount == slots.length) {
+            slots = Arrays.copyOf(slots, slotCount * 2);
+        }
+        if (tail[w] == slotsByWeight[w].length) {
+            slotsByWeight[w] = Arrays.copyOf(slotsByWeight[w], tail[w] * 2);
+        }
+        slotsByWeight[w][tail[w]++] = slotCount;
+        slots[slotCount++] = food;
+        count(food, 1);
+    }
+
+    /**
+     * Removes the lightest item: the first one picked up among those of the lowest weight
+     * @return The removed item, or null if the inventory is empty
+     */
+    public Food removeLightest() {
+        for (int w = 1; w <= MAX_WEIGHT; w++) {
+            if (head[w] < tail[w]) {
+                int slot = slotsByWeight[w][head[w]++];
+                Food food = slots[slot];
+                slots[slot] = null;
+                count(food, -1);
+                return food;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the item removeLightest would remove, without removing it
+     * @return The lightest item, or null if the inventory is empty
+     */
+    public Food peekLightest() {
+        for (int w = 1; w <= MAX_WEIGHT; w++) {
+            if (head[w] < tail[w]) {
+                return slots[slotsByWeight[w][head[w]]];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Puts back the item removed by the last removeLightest, undoing it.
+     * Changes made since that removal must have been undone first.
+     * @param food The item that was removed
+     */
+    public void restoreLightest(Food food) {
+        int w = food.getWeight();
+        slots[slotsByWeight[w][--head[w]]] = food;
+        count(food, 1);
+    }
+
+    /**
+     * Removes the item added last, undoing add.
+     * Changes made since that add must have been undone first.
+     * @throws IllegalStateException if the item added last is no longer held
+     */
+    public void removeLast() {
+        Food food = slotCount == 0 ? null : slots[slotCount - 1];
+        if (food == null) {
+            throw new IllegalStateException("The last food item added is not in the inventory");
+        }
+        tail[food.getWeight()]--;
+        slots[--slotCount] = null;
+        count(food, -1);
+    }
+
+    /**
+     * Drops the empty slots left by removeLightest if they outnumber the items held.
+     * Items keep their pickup order; removals made before can no longer be undone.
+     */
+    public void compact() {
+        if (slotCount - size <= slotCount / 2) {
+            return;
+        }
+        for (int w = 1; w <= MAX_WEIGHT; w++) {
+            head[w] = 0;
+            tail[w] = 0;
+        }
+        int used = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            Food food = slots[slot];
+            if (food != null) {
+                slots[slot] = null;
+                slots[used] = food;
+                slotsByWeight[food.getWeight()][tail[food.getWeight()]++] = used;
+                used++;
+            }
+        }
+        slotCount = used;
+    }
+
+    // ============================================================================
+    // QUERIES
+    // ============================================================================
+
+    /**
+     * Gets the number of items held
+     * @return The item count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether no item is held
+     * @return true if the inventory is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the sum of the weights of all items held
+     * @return The total weight
+     */
+    public int getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Counts the items of a weight
+     * @param weight The weight (1 to MAX_WEIGHT)
+     * @return The number of items of that weight
+     */
+    public int countByWeight(int weight) {
+        return tail[weight] - head[weight];
+    }
+
+    /**
+     * Counts the items of a type
+     * @param type The food type
+     * @return The number of items of that type
+     */
+    public int countByType(FoodType type) {
+        int total = 0;
+        for (int w = 1; w <= MAX_WEIGHT; w++) {
+            total += counts[type.ordinal() * (MAX_WEIGHT + 1) + w];
+        }
+        return total;
+    }
+
+    /**
+     * Counts the items of a type and weight
+     * @param type The food type
+     * @param weight The weight (1 to MAX_WEIGHT)
+     * @return The number of matching items
+     */
+    public int count(FoodType type, int weight) {
+        return counts[type.ordinal() * (MAX_WEIGHT + 1) + weight];
+    }
+
+    /**
+     * Copies the items held into a list
+     * @return The items in pickup order
+     */
+    public List<Food> toList() {
+        List<Food> list = new ArrayList<>(size);
+        for (Food food : this) {
+            list.add(food);
+        }
+        return list;
+    }
+
+    /**
+     * Iterates over the items held in pickup order
+     * @return The iterator
+     */
+    @Override
+    public Iterator<Food> iterator() {
+        return new Iterator<Food>() {
+            private int slot = nextSlot(0);
+
+            @Override
+            public boolean hasNext() {
+                return slot < slotCount;
+            }
+
+            @Override
+            public Food next() {
+                if (slot >= slotCount) {
+                    throw new NoSuchElementException();
+                }
+                Food food = slots[slot];
+                slot = nextSlot(slot + 1);
+                return food;
+            }
+        };
+    }
+
+    // ============================================================================
+    // HELPERS
+    // ============================================================================
+
+    /**
+     * Finds the first used slot at or after a position
+     * @param from The position to start from
+     * @return The slot, or slotCount if there is none
+     */
+    private int nextSlot(int from) {
+        while (from < slotCount && slots[from] == null) {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * Updates the size, total weight and histogram for an item added or removed
+     * @param food The item
+     * @param delta 1 if it was added, -1 if it was removed
+     */
+    private void count(Food food, int delta) {
+        size += delta;
+        totalWeight += delta * food.getWeight();
+        counts[food.getType().ordinal() * (MAX_WEIGHT + 1) + food.getWeight()] += delta;
+    }
+}
@@ -12,6 +12,15 @@ import interfaces.IHazard;
  */
 public class HeavyIceBlock implements IHazard {
 
+    /**
+     * Returns the kind code of this object
+     * @return ITerrainObject.HEAVY_ICE
+     */
+    @Override
+    public byte getKind() {
+        return HEAVY_ICE;
+    }
+
     /**
      * Returns the symbol representing this hazard on the grid
      * @return "HB" for HeavyIceBlock
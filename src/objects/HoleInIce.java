@@ -38,6 +38,15 @@ public class HoleInIce implements IHazard {
         return isPlugged;
     }
 
+    /**
+     * Returns the kind code of this object
+     * @return ITerrainObject.HOLE
+     */
+    @Override
+    public byte getKind() {
+        return HOLE;
+    }
+
     /**
      * Returns the symbol representing this hazard on the grid
      * @return "PH" if plugged, "HI" if unplugged
@@ -12,6 +12,15 @@ import interfaces.IHazard;
  */
 public class LightIceBlock implements IHazard {
 
+    /**
+     * Returns the kind code of this object
+     * @return ITerrainObject.LIGHT_ICE
+     */
+    @Override
+    public byte getKind() {
+        return LIGHT_ICE;
+    }
+
     /**
      * Returns the symbol representing this hazard on the grid
      * @return "LB" for LightIceBlock
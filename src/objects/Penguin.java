@@ -1,20 +1,21 @@
 package objects;
 
+import enums.EliminationCause;
 import interfaces.ITerrainObject;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Abstract base class for all penguin types.
  * Penguins can slide on ice, collect food, and have special abilities.
- * Each penguin maintains an inventory of collected food items.
+ * Each penguin maintains an inventory of collected food items (see FoodInventory).
  */
 public abstract class Penguin implements ITerrainObject {
     protected String name;
-    protected List<Food> inventory;
+    protected FoodInventory inventory;
     protected boolean isActive;
     protected boolean isStunned; // True if penguin is stunned and should skip next turn
     protected boolean hasUsedSpecialAbility; // Track if special ability has been used
+    protected EliminationCause eliminationCause; // How the penguin was eliminated, null while active
 
     /**
      * Creates a new penguin with the given name.
@@ -22,12 +23,21 @@ public abstract class Penguin implements ITerrainObject {
      */
     public Penguin(String name){
         this.name = name;
-        this.inventory = new ArrayList<>();
+        this.inventory = new FoodInventory();
         this.isActive = true;
         this.isStunned = false;
         this.hasUsedSpecialAbility = false;
     }
 
+    /**
+     * Returns the kind code of this object
+     * @return ITerrainObject.PENGUIN
+     */
+    @Override
+    public byte getKind() {
+        return PENGUIN;
+    }
+
     /**
      * Returns the symbol/name displayed on the grid
      * @return The penguin's name
@@ -40,10 +50,19 @@ public abstract class Penguin implements ITerrainObject {
     /**
      * Eliminates this penguin from the game (fell into water/hole).
      * The penguin's collected food still counts for final scoring.
+     * @param cause Whether the penguin fell into the water or into a hole
      */
-    public void eliminate() {
+    public void eliminate(EliminationCause cause) {
         this.isActive = false;
-        System.out.println(this.name + " has been removed from the game!");
+        this.eliminationCause = cause;
+    }
+
+    /**
+     * Gets how this penguin was eliminated
+     * @return The elimination cause, or null if the penguin is still active
+     */
+    public EliminationCause getEliminationCause() {
+        return eliminationCause;
     }
 
     /**
@@ -52,19 +71,14 @@ public abstract class Penguin implements ITerrainObject {
      */
     public void eatFood(Food food) {
         this.inventory.add(food);
-        System.out.println(this.name + " takes the " + food.getType() + " on the ground. (Weight=" + food.getWeight() + " units)");
     }
 
     /**
-     * Calculates the total weight of all collected food items.
+     * Gets the total weight of all collected food items (a running total).
      * @return The sum of weights of all food in inventory
      */
     public int getTotalWeight() {
-        int total = 0;
-        for (Food f : inventory) {
-            total += f.getWeight();
-        }
-        return total;
+        return inventory.getTotalWeight();
     }
 
     /**
@@ -76,34 +90,63 @@ public abstract class Penguin implements ITerrainObject {
     }
 
     /**
-     * Gets the list of food items collected by this penguin.
-     * @return The inventory list
+     * Gets the food items collected by this penguin.
+     * @return A copy of the inventory, in pickup order
      */
     public List<Food> getInventory() {
+        return inventory.toList();
+    }
+
+    /**
+     * Gets the inventory itself, for counts by weight or type without copying.
+     * @return The live inventory
+     */
+    public FoodInventory getFoodInventory() {
         return inventory;
     }
 
     /**
-     * Removes the lightest food item from inventory as a penalty.
+     * Removes the lightest food item from inventory as a penalty:
+     * the first one collected among those of the lowest weight.
      * Used when penguin hits a HeavyIceBlock.
-     * @return true if a food item was removed, false if inventory was empty
+     * @return The removed food item, or null if inventory was empty
+     */
+    public Food removeLightestFood() {
+        return inventory.removeLightest();
+    }
+
+    // ============================================================================
+    // UNDO SUPPORT (used by IcyTerrain.unmakeMove)
+    // ============================================================================
+
+    /**
+     * Removes the most recently eaten food item, undoing eatFood
      */
-    public boolean removeLightestFood() {
-        if (inventory.isEmpty()) {
-            return false;
-        }
+    public void removeLastFood() {
+        inventory.removeLast();
+    }
 
-        // Find the lightest food item
-        Food lightest = inventory.get(0);
-        for (Food f : inventory) {
-            if (f.getWeight() < lightest.getWeight()) {
-                lightest = f;
-            }
-        }
+    /**
+     * Puts a food item back at its old inventory position, undoing removeLightestFood
+     * @param food The food item that was removed
+     */
+    public void restoreFood(Food food) {
+        inventory.restoreLightest(food);
+    }
 
-        inventory.remove(lightest);
-        System.out.println(this.name + " lost " + lightest.getType() + " (" + lightest.getWeight() + " units) as penalty!");
-        return true;
+    /**
+     * Brings an eliminated penguin back into the game, undoing eliminate
+     */
+    public void revive() {
+        this.isActive = true;
+        this.eliminationCause = null;
+    }
+
+    /**
+     * Marks the special ability as unused again, undoing useSpecialAbility
+     */
+    public void resetSpecialAbility() {
+        this.hasUsedSpecialAbility = false;
     }
 
     /**
@@ -112,7 +155,6 @@ public abstract class Penguin implements ITerrainObject {
      */
     public void stun() {
         this.isStunned = true;
-        System.out.println(this.name + " is stunned and will skip the next turn!");
     }
 
     /**
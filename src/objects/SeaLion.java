@@ -15,6 +15,15 @@ import interfaces.IHazard;
  */
 public class SeaLion implements IHazard {
 
+    /**
+     * Returns the kind code of this object
+     * @return ITerrainObject.SEA_LION
+     */
+    @Override
+    public byte getKind() {
+        return SEA_LION;
+    }
+
     /**
      * Returns the symbol representing this hazard on the grid
      * @return "SL" for SeaLion
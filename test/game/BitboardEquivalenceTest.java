@@ -0,0 +1,145 @@
+package game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import enums.Direction;
+import interfaces.ITerrainObject;
+import java.util.List;
+import java.util.SplittableRandom;
+import objects.Food;
+import objects.HeavyIceBlock;
+import objects.HoleInIce;
+import objects.LightIceBlock;
+import objects.Penguin;
+import objects.SeaLion;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Plays random games on IcyTerrain and BitboardTerrain side by side and checks that every
+ * cell, penguin and hash agrees after every move.
+ */
+class BitboardEquivalenceTest {
+
+    private static final int GAMES = 300;
+    private static final int TURNS = 12;
+
+    @Test
+    void randomGamesMatchIcyTerrain() {
+        for (long seed = 0; seed < GAMES; seed++) {
+            playSideBySide(seed, 0);
+        }
+    }
+
+    @Test
+    void randomGamesMatchWithCascadeCutOff() {
+        for (long seed = 0; seed < GAMES; seed++) {
+            playSideBySide(seed, 1 + (int) (seed % 3));
+        }
+    }
+
+    @Test
+    void customKindsAreNotSupported() {
+        IcyTerrain terrain = Boards.random(new SplittableRandom(1));
+        int[] free = freeCell(terrain);
+        terrain.placeObject(free[0], free[1], new CustomObject());
+
+        assertFalse(BitboardTerrain.supports(terrain));
+        assertThrows(IllegalArgumentException.class, () -> new BitboardTerrain(terrain));
+        Penguin p = terrain.getPenguins().get(0);
+        assertNotNull(new ExpectimaxController(50, 2).chooseMove(terrain, p, new SplittableRandom(2)));
+    }
+
+    // ============================================================================
+    // HELPERS
+    // ============================================================================
+
+    private static void playSideBySide(long seed, int cascadeLimit) {
+        SplittableRandom random = new SplittableRandom(seed);
+        IcyTerrain terrain = Boards.random(random);
+        if (cascadeLimit > 0) terrain.setCascadeLimit(cascadeLimit);
+        BitboardTerrain board = new BitboardTerrain(terrain);
+        String where = "seed " + seed + " limit " + cascadeLimit;
+        assertSame(terrain, board, where);
+
+        for (int turn = 0; turn < TURNS; turn++) {
+            for (int i = 0; i < 3; i++) {
+                Penguin p = terrain.getPenguins().get(i);
+                if (!p.isActive()) continue;
+                terrain.setTurnIndex(turn * 3 + i);
+                String move = where + " turn " + turn + " penguin " + i;
+                if (p.isStunned()) {
+                    terrain.clearStun(p);
+                    board.clearStun(i);
+                } else {
+                    Direction dir = Boards.direction(random);
+                    boolean useAbility = random.nextInt(3) == 0;
+                    terrain.applyMove(p, dir, useAbility);
+                    board.applyMove(i, dir, useAbility);
+                }
+                BitboardTerrain copy = new BitboardTerrain(board);
+                assertSame(terrain, copy, move);
+                assertEquals(terrain.computeHash(), terrain.getHash(), move);
+                assertEquals(terrain.getHash(), copy.getHash() ^ ZobristKeys.turn(terrain.getTurnIndex()), move);
+                assertEquals(new BitboardTerrain(terrain).getHash(), copy.getHash(), move);
+            }
+        }
+    }
+
+    private static void assertSame(IcyTerrain terrain, BitboardTerrain board, String where) {
+        for (int c = 0; c < 100; c++) {
+            ITerrainObject obj = terrain.getObjectAt(c / 10, c % 10);
+            assertEquals(kindOf(obj), board.kindAt(c), where + " cell " + c);
+            if (obj instanceof Food food) {
+                assertEquals(food.getWeight(), board.getFoodWeight(c), where + " food at " + c);
+            }
+        }
+        List<Penguin> penguins = terrain.getPenguins();
+        for (int i = 0; i < penguins.size(); i++) {
+            Penguin p = penguins.get(i);
+            int[] pos = terrain.getPosition(p);
+            String which = where + " penguin " + i;
+            assertEquals(pos == null ? -1 : pos[0] * 10 + pos[1], board.getPenguinCell(i), which);
+            assertEquals(p.isActive(), board.isActive(i), which);
+            assertEquals(p.isStunned(), board.isStunned(i), which);
+            assertEquals(p.hasUsedSpecialAbility(), board.hasUsedAbility(i), which);
+            assertEquals(p.getTotalWeight(), board.getScore(i), which);
+        }
+    }
+
+    private static int kindOf(ITerrainObject obj) {
+        if (obj == null) return BitboardTerrain.EMPTY;
+        if (obj instanceof Penguin) return BitboardTerrain.PENGUIN;
+        if (obj instanceof Food) return BitboardTerrain.FOOD;
+        if (obj instanceof LightIceBlock) return BitboardTerrain.LIGHT_ICE;
+        if (obj instanceof HeavyIceBlock) return BitboardTerrain.HEAVY_ICE;
+        if (obj instanceof SeaLion) return BitboardTerrain.SEA_LION;
+        return ((HoleInIce) obj).isPlugged() ? BitboardTerrain.PLUGGED_HOLE : BitboardTerrain.HOLE;
+    }
+
+    private static int[] freeCell(IcyTerrain terrain) {
+        for (int r = 0; r < 10; r++) {
+            for (int c = 0; c < 10; c++) {
+                if (terrain.getObjectAt(r, c) == null) return new int[] {r, c};
+            }
+        }
+        throw new AssertionError("Board is full");
+    }
+
+    /**
+     * An object of a kind no collision rule was registered for; hitting it just stops
+     */
+    private static final class CustomObject implements ITerrainObject {
+        @Override
+        public String getSymbol() {
+            return "X";
+        }
+
+        @Override
+        public byte getKind() {
+            return ITerrainObject.FIRST_CUSTOM_KIND;
+        }
+    }
+}
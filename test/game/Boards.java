@@ -0,0 +1,98 @@
+package game;
+
+import enums.Direction;
+import interfaces.ITerrainObject;
+import java.util.SplittableRandom;
+import objects.Food;
+import objects.HoleInIce;
+import objects.Penguin;
+
+/**
+ * Boards holds the random boards and state descriptions shared by the tests.
+ */
+final class Boards {
+
+    private Boards() {
+    }
+
+    /**
+     * Creates a populated 10x10 board
+     * @param random The generator
+     * @return The board, writing to NullOutput
+     */
+    static IcyTerrain random(SplittableRandom random) {
+        IcyTerrain terrain = new IcyTerrain(10, NullOutput.INSTANCE);
+        terrain.populate(random);
+        return terrain;
+    }
+
+    /**
+     * Picks a random direction
+     * @param random The generator
+     * @return The direction
+     */
+    static Direction direction(SplittableRandom random) {
+        return Direction.values()[random.nextInt(4)];
+    }
+
+    /**
+     * Describes the exact state of a board: object identities, penguin flags and inventories,
+     * the hash, and the answers of the direction scans. Also checks that the position index
+     * and the incremental hash agree with the grid.
+     * @param terrain A 10x10 board
+     * @return The description
+     */
+    static String snapshot(IcyTerrain terrain) {
+        StringBuilder sb = new StringBuilder();
+        for (int c = 0; c < 100; c++) {
+            ITerrainObject obj = terrain.getObjectAt(c / 10, c % 10);
+            sb.append(System.identityHashCode(obj)).append(',');
+            if (obj != null) {
+                int[] pos = terrain.getPosition(obj);
+                if (pos[0] * 10 + pos[1] != c) throw new AssertionError("Position index disagrees at cell " + c);
+            }
+        }
+        for (Penguin p : terrain.getPenguins()) {
+            sb.append(p.isActive()).append(p.isStunned()).append(p.hasUsedSpecialAbility()).append(p.getEliminationCause());
+            for (Food food : p.getInventory()) {
+                sb.append(System.identityHashCode(food)).append(';');
+            }
+            if (!p.isActive() && terrain.getPosition(p) != null) throw new AssertionError("Eliminated penguin still placed");
+        }
+        if (terrain.getHash() != terrain.computeHash()) throw new AssertionError("Incremental hash drifted");
+        sb.append(terrain.getHash());
+        for (int r = 0; r < 10; r++) {
+            for (Direction dir : Direction.values()) {
+                sb.append(System.identityHashCode(terrain.findNextObject(r, r, dir))).append(',');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Describes a board by its object types, so boards built separately can be compared
+     * @param terrain The board
+     * @return One entry per cell, then the penguin types in turn order
+     */
+    static String layout(IcyTerrain terrain) {
+        StringBuilder sb = new StringBuilder();
+        int size = terrain.getGridSize();
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                ITerrainObject obj = terrain.getObjectAt(r, c);
+                if (obj == null) {
+                    sb.append('.');
+                } else {
+                    sb.append(obj.getClass().getSimpleName()).append(obj.getSymbol());
+                    if (obj instanceof HoleInIce hole) sb.append(hole.isPlugged());
+                    if (obj instanceof Food food) sb.append(food.getType()).append(food.getWeight());
+                }
+                sb.append(',');
+            }
+        }
+        for (Penguin p : terrain.getPenguins()) {
+            sb.append(p.getClass().getSimpleName()).append(p.getSymbol());
+        }
+        return sb.toString();
+    }
+}
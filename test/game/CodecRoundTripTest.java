@@ -0,0 +1,104 @@
+package game;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import objects.HoleInIce;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Round-trips boards through BoardCodec and BoardCorpus, and checks the varints and corpus
+ * strides they share.
+ */
+class CodecRoundTripTest {
+
+    private static final int BOARDS = 1000;
+
+    @Test
+    void codecRoundTripsRandomBoards() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < BOARDS; i++) {
+            int size = i % 3 == 0 ? 10 : 5 + random.nextInt(40);
+            IcyTerrain terrain = new IcyTerrain(size, NullOutput.INSTANCE);
+            if (size == 10) {
+                terrain.populate(random.split());
+            } else {
+                terrain.populateArena(random.split(), 1 + random.nextInt(5), random.nextInt(size), random.nextInt(size * 2));
+            }
+            plugSomeHoles(terrain, random);
+
+            byte[] layout = BoardCodec.encode(terrain);
+            IcyTerrain decoded = BoardCodec.decode(layout, size, NullOutput.INSTANCE);
+            assertEquals(Boards.layout(terrain), Boards.layout(decoded), "board " + i);
+            assertEquals(terrain.computeHash(), decoded.computeHash(), "board " + i);
+            assertArrayEquals(layout, BoardCodec.encode(decoded), "board " + i);
+        }
+    }
+
+    @Test
+    void corpusRoundTripsBoards(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("boards.pbc");
+        SplittableRandom random = new SplittableRandom(7);
+        IcyTerrain[] boards = new IcyTerrain[BOARDS];
+        int stride = BoardCorpus.strideFor(BoardCodec.maxEncodedSize(10, 38));
+        try (BoardCorpus.Writer writer = new BoardCorpus.Writer(file, 10, stride)) {
+            for (int i = 0; i < boards.length; i++) {
+                boards[i] = Boards.random(random.split());
+                writer.add(boards[i]);
+            }
+        }
+        try (BoardCorpus corpus = new BoardCorpus(file)) {
+            assertEquals(BOARDS, corpus.size());
+            assertEquals(stride, corpus.getStride());
+            for (int i = 0; i < BOARDS; i++) {
+                assertEquals(Boards.layout(boards[i]), Boards.layout(corpus.load(i, NullOutput.INSTANCE)), "board " + i);
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> corpus.load(BOARDS, NullOutput.INSTANCE));
+        }
+    }
+
+    @Test
+    void strideLargerThanPageIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> BoardCorpus.strideFor(BoardCorpus.PAGE_SIZE + 1));
+    }
+
+    @Test
+    void varintRoundTripsAndRejectsLongEncodings() {
+        SplittableRandom random = new SplittableRandom(11);
+        ByteBuffer buffer = ByteBuffer.allocate(Varint.MAX_BYTES);
+        for (int i = 0; i < 10_000; i++) {
+            int value = i < 64 ? (i < 32 ? 1 << i : (1 << (i - 32)) - 1) : random.nextInt();
+            buffer.clear();
+            Varint.write(buffer, value);
+            assertEquals(Varint.size(value), buffer.position());
+            assertEquals(value, Varint.read(buffer, new int[] {0}));
+        }
+
+        byte[] tooLong = {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0};
+        assertThrows(IllegalArgumentException.class, () -> Varint.read(ByteBuffer.wrap(tooLong), new int[] {0}));
+        assertThrows(IOException.class, () -> Varint.read(new DataInputStream(new ByteArrayInputStream(tooLong))));
+    }
+
+    // ============================================================================
+    // HELPERS
+    // ============================================================================
+
+    private static void plugSomeHoles(IcyTerrain terrain, SplittableRandom random) {
+        int size = terrain.getGridSize();
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                if (terrain.getObjectAt(r, c) instanceof HoleInIce hole && random.nextBoolean()) {
+                    hole.setPlugged(true);
+                }
+            }
+        }
+    }
+}
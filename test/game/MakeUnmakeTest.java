@@ -0,0 +1,83 @@
+package game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import objects.Penguin;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that unmakeMove restores the exact state makeMove started from: the same objects in
+ * the same cells, penguin flags, inventories and hash, also for nested moves.
+ */
+class MakeUnmakeTest {
+
+    private static final int GAMES = 200;
+    private static final int TURNS = 12;
+
+    @Test
+    void unmakeRestoresExactState() {
+        for (long seed = 0; seed < GAMES; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            IcyTerrain terrain = Boards.random(random);
+            for (int turn = 0; turn < TURNS; turn++) {
+                for (int i = 0; i < 3; i++) {
+                    Penguin p = terrain.getPenguins().get(i);
+                    if (!p.isActive()) continue;
+                    String where = "seed " + seed + " turn " + turn + " penguin " + i;
+
+                    String before = Boards.snapshot(terrain);
+                    int outer = p.isStunned()
+                            ? terrain.makeSkip(p)
+                            : terrain.makeMove(p, Boards.direction(random), random.nextInt(3) == 0);
+                    String afterOuter = Boards.snapshot(terrain);
+                    Penguin other = terrain.getPenguins().get(random.nextInt(3));
+                    if (other.isActive()) {
+                        int inner = terrain.makeMove(other, Boards.direction(random), random.nextBoolean());
+                        terrain.unmakeMove(inner);
+                        assertEquals(afterOuter, Boards.snapshot(terrain), where + " inner move");
+                    }
+                    terrain.unmakeMove(outer);
+                    assertEquals(before, Boards.snapshot(terrain), where);
+
+                    if (p.isStunned()) {
+                        terrain.clearStun(p);
+                    } else {
+                        terrain.applyMove(p, Boards.direction(random), random.nextInt(3) == 0);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void unmakeUndoesMovesMadeInsideIt() {
+        for (long seed = 0; seed < GAMES; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            IcyTerrain terrain = Boards.random(random);
+            List<Penguin> penguins = terrain.getPenguins();
+
+            String before = Boards.snapshot(terrain);
+            int outer = terrain.makeSkip(penguins.get(0));
+            terrain.applyMove(penguins.get(2), Boards.direction(random), random.nextBoolean());
+            terrain.makeMove(penguins.get(0), Boards.direction(random), false);
+            terrain.unmakeMove(outer);
+            assertEquals(before, Boards.snapshot(terrain), "seed " + seed);
+            assertThrows(IllegalArgumentException.class, () -> terrain.unmakeMove(outer));
+        }
+    }
+
+    @Test
+    void commitKeepsState() {
+        for (long seed = 0; seed < GAMES; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            IcyTerrain terrain = Boards.random(random);
+            terrain.makeMove(terrain.getPenguins().get(1), Boards.direction(random), random.nextBoolean());
+            String kept = Boards.snapshot(terrain);
+            terrain.commitMoves();
+            assertEquals(kept, Boards.snapshot(terrain), "seed " + seed);
+        }
+    }
+}
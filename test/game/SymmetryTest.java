@@ -0,0 +1,84 @@
+package game;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import enums.Direction;
+import java.util.List;
+import java.util.SplittableRandom;
+import objects.Penguin;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the eight board symmetries map boards, canonical forms and whole games onto
+ * each other.
+ */
+class SymmetryTest {
+
+    private static final int BOARDS = 400;
+    private static final int TURNS = 4;
+
+    @Test
+    void inverseUndoesTransform() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int b = 0; b < BOARDS; b++) {
+            int transform = b % BoardSymmetry.TRANSFORM_COUNT;
+            IcyTerrain board = Boards.random(random.split());
+            IcyTerrain turned = BoardSymmetry.transform(board, transform, NullOutput.INSTANCE);
+            IcyTerrain back = BoardSymmetry.transform(turned, BoardSymmetry.inverse(transform), NullOutput.INSTANCE);
+
+            assertEquals(transform, BoardSymmetry.inverse(BoardSymmetry.inverse(transform)));
+            assertArrayEquals(BoardCodec.encode(board), BoardCodec.encode(back), "board " + b);
+        }
+    }
+
+    @Test
+    void symmetricBoardsShareCanonicalForm() {
+        SplittableRandom random = new SplittableRandom(4);
+        for (int b = 0; b < BOARDS; b++) {
+            IcyTerrain board = Boards.random(random.split());
+            IcyTerrain turned = BoardSymmetry.transform(board, b % BoardSymmetry.TRANSFORM_COUNT, NullOutput.INSTANCE);
+            BoardSymmetry.Canonical canonical = BoardSymmetry.canonicalize(board);
+
+            assertEquals(canonical, BoardSymmetry.canonicalize(turned), "board " + b);
+            IcyTerrain expected = BoardSymmetry.transform(board, canonical.getTransform(), NullOutput.INSTANCE);
+            assertArrayEquals(BoardCodec.encode(expected), canonical.getLayout(), "board " + b);
+        }
+    }
+
+    @Test
+    void playIsInvariantUnderSymmetry() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int b = 0; b < BOARDS; b++) {
+            int transform = b % BoardSymmetry.TRANSFORM_COUNT;
+            IcyTerrain board = Boards.random(random.split());
+            IcyTerrain turned = BoardSymmetry.transform(board, transform, NullOutput.INSTANCE);
+            List<Penguin> original = board.getPenguins();
+            List<Penguin> mirrored = turned.getPenguins();
+
+            for (int turn = 0; turn < TURNS; turn++) {
+                for (int i = 0; i < original.size(); i++) {
+                    Penguin p = original.get(i);
+                    Penguin q = mirrored.get(i);
+                    String where = "board " + b + " transform " + transform + " turn " + turn + " penguin " + i;
+                    assertEquals(p.isActive(), q.isActive(), where);
+                    assertEquals(p.isStunned(), q.isStunned(), where);
+                    if (!p.isActive()) continue;
+                    if (p.isStunned()) {
+                        board.clearStun(p);
+                        turned.clearStun(q);
+                        continue;
+                    }
+                    Direction dir = Boards.direction(random);
+                    boolean useAbility = random.nextInt(3) == 0;
+                    board.applyMove(p, dir, useAbility);
+                    turned.applyMove(q, BoardSymmetry.mapDirection(transform, dir), useAbility);
+
+                    IcyTerrain expected = BoardSymmetry.transform(board, transform, NullOutput.INSTANCE);
+                    assertArrayEquals(BoardCodec.encode(expected), BoardCodec.encode(turned), where);
+                    assertEquals(p.getTotalWeight(), q.getTotalWeight(), where);
+                }
+            }
+        }
+    }
+}